@@ -27,6 +27,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * @author JoeAlisson
@@ -58,7 +59,18 @@ public class DatabaseFactory {
         return instance;
     }
 
+    /**
+     * @return the connection bound to the current {@link UnitOfWork} if any, otherwise a pooled connection
+     */
     public Connection getConnection() {
+        var connection = UnitOfWork.currentConnection();
+        if(nonNull(connection)) {
+            return connection;
+        }
+        return getPooledConnection();
+    }
+
+    Connection getPooledConnection() {
         try {
             return dataSource.getConnection();
         } catch (SQLException e) {
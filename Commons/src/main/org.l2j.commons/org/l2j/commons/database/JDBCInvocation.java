@@ -40,6 +40,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -63,6 +64,9 @@ class JDBCInvocation implements InvocationHandler {
     private static final Cache<Method, QueryDescriptor> descriptors = CacheFactory.getInstance().getCache("sql-descriptors");
     private static final Cache<Class<?>, QueryDescriptor> saveDescriptors = CacheFactory.getInstance().getCache("sql-save-descriptors");
 
+    @SuppressWarnings("rawtypes")
+    private final Map<Method, TypeHandler> returnHandlers = new ConcurrentHashMap<>();
+
     JDBCInvocation() {
         for (TypeHandler<?> typeHandler : ServiceLoader.load(TypeHandler.class)) {
             TypeHandler.MAP.put(typeHandler.type(), typeHandler);
@@ -75,7 +79,7 @@ class JDBCInvocation implements InvocationHandler {
             return save(method, args);
         }
 
-        var handler = TypeHandler.MAP.getOrDefault(method.getReturnType().isEnum() ? "enum" : method.getReturnType().getName(), TypeHandler.MAP.get(Object.class.getName()));
+        var handler = returnHandlers.computeIfAbsent(method, this::returnHandlerOf);
 
         if(isNull(handler)) {
             throw new IllegalStateException("There is no TypeHandler Service for type " + method.getReturnType().getName());
@@ -102,6 +106,11 @@ class JDBCInvocation implements InvocationHandler {
         }
     }
 
+    @SuppressWarnings("rawtypes")
+    private TypeHandler returnHandlerOf(Method method) {
+        return TypeHandler.MAP.getOrDefault(method.getReturnType().isEnum() ? "enum" : method.getReturnType().getName(), TypeHandler.MAP.get(Object.class.getName()));
+    }
+
     @SuppressWarnings("unchecked")
     private Consumer<ResultSet> resultSetConsumer(Object[] args) {
         var consumer = args[args.length-1];
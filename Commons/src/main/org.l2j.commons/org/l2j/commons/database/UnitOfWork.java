@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.commons.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Binds a single transactional connection to the current thread.
+ *
+ * While a unit of work is active every connection requested from {@link DatabaseFactory} on the same thread
+ * shares the same transaction, so DAO calls and plain JDBC code are committed or rolled back together.
+ * Any statement failing inside the unit marks it rollback only, even when the caller catches the exception.
+ *
+ * Writes done by other threads, like the write-behind store of items, are not part of the unit.
+ *
+ * @author JoeAlisson
+ */
+public final class UnitOfWork implements InvocationHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnitOfWork.class);
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final Connection connection;
+    private final Connection proxy;
+    private boolean rollbackOnly;
+
+    private UnitOfWork(Connection connection) {
+        this.connection = connection;
+        this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class[] { Connection.class }, this);
+    }
+
+    /**
+     * Runs the work inside a single transaction. Nested calls join the outer unit of work.
+     *
+     * @param work the work to be executed
+     * @return true if the work was committed (or joined an outer unit), false if it was rolled back
+     */
+    public static boolean execute(Runnable work) {
+        if(isActive()) {
+            work.run();
+            return true;
+        }
+
+        final Connection connection;
+        try {
+            connection = DatabaseFactory.getInstance().getPooledConnection();
+        } catch (SQLException e) {
+            LOGGER.error(e.getMessage(), e);
+            return false;
+        }
+
+        if(isNull(connection)) {
+            return false;
+        }
+
+        var unit = new UnitOfWork(connection);
+        try {
+            connection.setAutoCommit(false);
+            CURRENT.set(unit);
+            work.run();
+            return unit.complete();
+        } catch (RuntimeException | SQLException e) {
+            unit.rollback();
+            LOGGER.error("Unit of work rolled back", e);
+            return false;
+        } finally {
+            CURRENT.remove();
+            unit.release();
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static Connection currentConnection() {
+        var unit = CURRENT.get();
+        return isNull(unit) ? null : unit.proxy;
+    }
+
+    private boolean complete() throws SQLException {
+        if(rollbackOnly) {
+            connection.rollback();
+            LOGGER.warn("Unit of work rolled back, a statement failed");
+            return false;
+        }
+        connection.commit();
+        return true;
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    private void release() {
+        try (connection) {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close", "commit", "setAutoCommit" -> {
+                return null;
+            }
+            case "rollback" -> {
+                if(method.getParameterCount() == 0) {
+                    rollbackOnly = true;
+                    return null;
+                }
+            }
+            case "getAutoCommit" -> {
+                return false;
+            }
+            case "isClosed" -> {
+                return connection.isClosed();
+            }
+            case "createStatement", "prepareStatement", "prepareCall" -> {
+                final Object statement = invokeOn(connection, method, args);
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class[] { method.getReturnType() }, new StatementHandler(statement));
+            }
+        }
+        return invokeOn(connection, method, args);
+    }
+
+    private Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if(e.getCause() instanceof SQLException) {
+                rollbackOnly = true;
+            }
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Marks the unit of work rollback only when a statement fails, so a failure swallowed by the caller is not committed.
+     */
+    private final class StatementHandler implements InvocationHandler {
+        private final Object statement;
+
+        private StatementHandler(Object statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if(method.getName().equals("getConnection")) {
+                return UnitOfWork.this.proxy;
+            }
+            return invokeOn(statement, method, args);
+        }
+    }
+}
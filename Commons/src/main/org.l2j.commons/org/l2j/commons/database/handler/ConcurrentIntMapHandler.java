@@ -51,8 +51,9 @@ public class ConcurrentIntMapHandler implements TypeHandler<IntMap<?>> {
         }
         ConcurrentIntMap<Object> result = new CHashIntMap<>();
         var resultSet = queryDescriptor.getResultSet();
+        var mapper = handler.rowMapper(resultSet, genericType);
         while (resultSet.next()) {
-            result.put(resultSet.getInt(1), handler.handleType(resultSet, genericType));
+            result.put(resultSet.getInt(1), mapper.map(resultSet));
         }
         return result;
     }
@@ -18,18 +18,14 @@
  */
 package org.l2j.commons.database.handler;
 
-import org.l2j.commons.database.annotation.Column;
 import org.l2j.commons.database.helpers.QueryDescriptor;
-import org.l2j.commons.util.Util;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -39,7 +35,7 @@ import static java.util.Objects.nonNull;
  */
 public class EntityHandler implements TypeHandler<Object> {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(EntityHandler.class);
+    private final Map<Class<?>, Map<String, EntityMapper>> mappers = new ConcurrentHashMap<>();
 
     @Override
     public Object defaultValue() {
@@ -56,32 +52,32 @@ public class EntityHandler implements TypeHandler<Object> {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Object handleType(ResultSet resultSet, Class<?> type) throws SQLException {
-        try {
-            var instance = type.getDeclaredConstructor().newInstance();
-            var fields = Util.fieldsOf(type);
+        return rowMapper(resultSet, type).map(resultSet);
+    }
 
-            var metaData = resultSet.getMetaData();
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                var columnName = metaData.getColumnLabel(i);
+    /**
+     * The mappers are compiled once by entity type and column layout.
+     */
+    @Override
+    public RowMapper<Object> rowMapper(ResultSet resultSet, Class<?> type) throws SQLException {
+        var metaData = resultSet.getMetaData();
+        var layout = columnLayout(metaData);
+        var typeMappers = mappers.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        var mapper = typeMappers.get(layout);
+        if(isNull(mapper)) {
+            mapper = EntityMapper.compile(type, metaData);
+            typeMappers.putIfAbsent(layout, mapper);
+        }
+        return mapper;
+    }
 
-                Field f = findField(fields, columnName);
-                if(isNull(f)) {
-                    LOGGER.debug("There is no field with name {} on Type {}",  columnName, type.getName());
-                    continue;
-                }
-                if(f.trySetAccessible()) {
-                    var handler = TypeHandler.MAP.getOrDefault(f.getType().isEnum() ? "enum" : f.getType().getName(), TypeHandler.MAP.get(Object.class.getName()));
-                    f.set(instance, handler.handleColumn(resultSet, i, f.getType()));
-                } else {
-                    throw new SQLException("No accessible field " + f.getName() + " On type " + type );
-                }
-            }
-            return instance;
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            throw new SQLException(e);
+    private String columnLayout(ResultSetMetaData metaData) throws SQLException {
+        var layout = new StringBuilder();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            layout.append(metaData.getColumnLabel(i)).append(',');
         }
+        return layout.toString();
     }
 
     @Override
@@ -89,19 +85,6 @@ public class EntityHandler implements TypeHandler<Object> {
         return null;
     }
 
-    private Field findField(List<Field> fields, String columnName) {
-        for (Field field : fields) {
-            if(field.isAnnotationPresent(Column.class)) {
-                if(field.getAnnotation(Column.class).value().equalsIgnoreCase(columnName)) {
-                    return field;
-                }
-            } else if(field.getName().equalsIgnoreCase(columnName)) {
-                return field;
-            }
-        }
-        return  null;
-    }
-
     @Override
     public void setParameter(PreparedStatement statement, int parameterIndex, Object arg) {
         throw new UnsupportedOperationException();
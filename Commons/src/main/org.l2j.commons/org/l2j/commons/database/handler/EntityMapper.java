@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.commons.database.handler;
+
+import org.l2j.commons.database.annotation.Column;
+import org.l2j.commons.util.Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Maps the rows of a ResultSet with a known column layout into an entity.
+ *
+ * The constructor, field setters and column handlers are resolved once when the mapper is compiled,
+ * so mapping a row doesn't need any reflective lookup.
+ *
+ * @author JoeAlisson
+ */
+final class EntityMapper implements TypeHandler.RowMapper<Object> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityMapper.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final MethodHandle constructor;
+    private final ColumnMapper[] columns;
+
+    private EntityMapper(MethodHandle constructor, ColumnMapper[] columns) {
+        this.constructor = constructor;
+        this.columns = columns;
+    }
+
+    @Override
+    public Object map(ResultSet resultSet) throws SQLException {
+        try {
+            final var instance = constructor.invokeExact();
+            for (var column : columns) {
+                column.setter.invokeExact(instance, column.handler.handleColumn(resultSet, column.index, column.type));
+            }
+            return instance;
+        } catch (SQLException | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SQLException(e);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    static EntityMapper compile(Class<?> type, ResultSetMetaData metaData) throws SQLException {
+        try {
+            final var lookup = MethodHandles.lookup();
+            final var declaredConstructor = type.getDeclaredConstructor();
+            if(!declaredConstructor.trySetAccessible()) {
+                throw new SQLException("No accessible constructor on type " + type);
+            }
+            final var constructor = lookup.unreflectConstructor(declaredConstructor).asType(CONSTRUCTOR_TYPE);
+            final var fields = fieldsByColumn(type);
+            final var defaultHandler = TypeHandler.MAP.get(Object.class.getName());
+
+            final var columns = new ArrayList<ColumnMapper>(metaData.getColumnCount());
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                final var columnName = metaData.getColumnLabel(i);
+                final var field = fields.get(columnName.toLowerCase());
+                if(isNull(field)) {
+                    LOGGER.debug("There is no field with name {} on Type {}",  columnName, type.getName());
+                    continue;
+                }
+
+                if(!field.trySetAccessible()) {
+                    throw new SQLException("No accessible field " + field.getName() + " On type " + type );
+                }
+
+                final var fieldType = field.getType();
+                TypeHandler handler = TypeHandler.MAP.getOrDefault(fieldType.isEnum() ? "enum" : fieldType.getName(), defaultHandler);
+                columns.add(new ColumnMapper(i, fieldType, handler, lookup.unreflectSetter(field).asType(SETTER_TYPE)));
+            }
+            return new EntityMapper(constructor, columns.toArray(ColumnMapper[]::new));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    /**
+     * Keeps the same precedence of the field lookup by column: the first field declared through the hierarchy wins.
+     */
+    private static Map<String, Field> fieldsByColumn(Class<?> type) {
+        final var fields = Util.fieldsOf(type);
+        final Map<String, Field> byColumn = new HashMap<>(fields.size());
+        for (Field field : fields) {
+            if(Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            final var column = field.isAnnotationPresent(Column.class) ? field.getAnnotation(Column.class).value() : field.getName();
+            byColumn.putIfAbsent(column.toLowerCase(), field);
+        }
+        return byColumn;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class ColumnMapper {
+        private final int index;
+        private final Class<?> type;
+        private final TypeHandler handler;
+        private final MethodHandle setter;
+
+        private ColumnMapper(int index, Class<?> type, TypeHandler handler, MethodHandle setter) {
+            this.index = index;
+            this.type = type;
+            this.handler = handler;
+            this.setter = setter;
+        }
+    }
+}
@@ -50,8 +50,9 @@ public class ListHandler implements TypeHandler<List<?>> {
         }
         List<Object> result = new ArrayList<>();
         var resultSet = queryDescriptor.getResultSet();
+        var mapper = handler.rowMapper(resultSet, genericType);
         while (resultSet.next()) {
-            result.add(handler.handleType(resultSet, genericType));
+            result.add(mapper.map(resultSet));
         }
         return result;
     }
@@ -46,5 +46,17 @@ public interface TypeHandler<T> {
     default T handleColumn(ResultSet resultSet, int column, Class<?> type) throws SQLException {
         return handleColumn(resultSet, column);
     }
+
+    /**
+     * Resolves a mapper to the rows of the resultSet once, before iterating over them.
+     */
+    default RowMapper<T> rowMapper(ResultSet resultSet, Class<?> type) throws SQLException {
+        return rs -> handleType(rs, type);
+    }
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
 }
 
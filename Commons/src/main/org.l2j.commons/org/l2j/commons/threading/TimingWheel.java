@@ -0,0 +1,346 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.commons.threading;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Hierarchical timing wheel.
+ *
+ * The timers are stored in slots of a set of wheels, each level having slots {@code wheelSize} times wider than the level below.
+ * Inserting and cancelling a timer are O(1) operations and each tick only touches the slot being expired,
+ * the timers on the upper levels are cascaded to the lower levels when their slot is reached.
+ *
+ * The expired tasks are executed on the thread advancing the wheel, so they must be short.
+ * Long tasks should be dispatched to the {@link ThreadPool}.
+ *
+ * @author JoeAlisson
+ */
+public final class TimingWheel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingWheel.class);
+
+    private static final long DEFAULT_TICK_DURATION = 100;
+    private static final int DEFAULT_WHEEL_BITS = 8;
+    private static final int LEVELS = 4;
+
+    private final String name;
+    private final long tickDuration;
+    private final int wheelBits;
+    private final int mask;
+    private final Slot[][] wheels;
+    private final long startTime;
+
+    private final AtomicLong lateFires = new AtomicLong();
+    private final AtomicLong fires = new AtomicLong();
+
+    private long currentTick;
+    private int pending;
+    private ScheduledFuture<?> ticker;
+
+    /**
+     * Creates a timing wheel
+     *
+     * @param name the name of the wheel
+     * @param tickDuration the duration of one tick in milliseconds
+     * @param wheelBits the amount of bits of the slots of each level, each level will have 2^wheelBits slots
+     */
+    public TimingWheel(String name, long tickDuration, int wheelBits) {
+        if(tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0");
+        }
+
+        if(wheelBits <= 0 || wheelBits * LEVELS >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("wheelBits must be between 1 and " + ((Long.SIZE - 2) / LEVELS));
+        }
+
+        this.name = name;
+        this.tickDuration = tickDuration;
+        this.wheelBits = wheelBits;
+        this.mask = (1 << wheelBits) - 1;
+        this.startTime = System.currentTimeMillis();
+
+        wheels = new Slot[LEVELS][1 << wheelBits];
+        for (Slot[] wheel : wheels) {
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = new Slot();
+            }
+        }
+    }
+
+    /**
+     * Starts advancing the wheel on the scheduled thread pool.
+     */
+    public synchronized void start() {
+        if(isNull(ticker)) {
+            ticker = ThreadPool.scheduleAtFixedRate(this::advance, tickDuration, tickDuration);
+        }
+    }
+
+    public synchronized void stop() {
+        if(nonNull(ticker)) {
+            ticker.cancel(false);
+            ticker = null;
+        }
+    }
+
+    /**
+     * Schedules a task to be executed after the delay.
+     *
+     * @param task the task to be executed
+     * @param delay the delay in milliseconds
+     * @return the timeout which can be used to cancel the task
+     */
+    public Timeout schedule(Runnable task, long delay) {
+        final var timeout = new Timeout(task, tickOf(System.currentTimeMillis() + Math.max(0, delay)));
+        synchronized (this) {
+            insert(timeout, false);
+            pending++;
+        }
+        return timeout;
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return schedule(task, unit.toMillis(delay));
+    }
+
+    private long tickOf(long time) {
+        return Math.max(0, (time - startTime) / tickDuration);
+    }
+
+    private void insert(Timeout timeout, boolean cascading) {
+        final long deadline = cascading ? Math.max(timeout.deadline, currentTick) : Math.max(timeout.deadline, currentTick + 1);
+
+        int level = 0;
+        while (level < LEVELS - 1 && (deadline >> ((level + 1) * wheelBits)) != (currentTick >> ((level + 1) * wheelBits))) {
+            level++;
+        }
+
+        wheels[level][(int) ((deadline >> (level * wheelBits)) & mask)].add(timeout);
+    }
+
+    /**
+     * Advances the wheel until the current time, executing the expired tasks.
+     */
+    public void advance() {
+        final long now = tickOf(System.currentTimeMillis());
+        List<Timeout> expired = null;
+
+        synchronized (this) {
+            while (currentTick < now) {
+                currentTick++;
+                cascade();
+
+                final var slot = wheels[0][(int) (currentTick & mask)];
+                if(slot.isEmpty()) {
+                    continue;
+                }
+
+                if(isNull(expired)) {
+                    expired = new ArrayList<>();
+                }
+                pending -= slot.drainTo(expired);
+            }
+        }
+
+        if(nonNull(expired)) {
+            for (Timeout timeout : expired) {
+                fire(timeout, now);
+            }
+        }
+    }
+
+    private void cascade() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if((currentTick & ((1L << (level * wheelBits)) - 1)) != 0) {
+                continue;
+            }
+
+            final var slot = wheels[level][(int) ((currentTick >> (level * wheelBits)) & mask)];
+            if(slot.isEmpty()) {
+                continue;
+            }
+
+            final List<Timeout> timeouts = new ArrayList<>();
+            slot.drainTo(timeouts);
+            for (Timeout timeout : timeouts) {
+                insert(timeout, true);
+            }
+        }
+    }
+
+    private void fire(Timeout timeout, long now) {
+        if(timeout.cancelled) {
+            return;
+        }
+
+        fires.incrementAndGet();
+        if(now - timeout.deadline > 1) {
+            lateFires.incrementAndGet();
+        }
+
+        try {
+            timeout.task.run();
+        } catch (Exception e) {
+            LOGGER.error("Error executing timer task {} on {}", timeout.task, name, e);
+        }
+    }
+
+    private synchronized boolean cancel(Timeout timeout) {
+        if(isNull(timeout.slot)) {
+            return false;
+        }
+        timeout.slot.remove(timeout);
+        pending--;
+        return true;
+    }
+
+    public synchronized int getPendingTimers() {
+        return pending;
+    }
+
+    public long getLateFires() {
+        return lateFires.get();
+    }
+
+    public long getFires() {
+        return fires.get();
+    }
+
+    public CharSequence getStats() {
+        return new StringBuilder(name).append("\n")
+                .append("=================================================\n")
+                .append("\tTick Duration: ....... ").append(tickDuration).append(" ms\n")
+                .append("\tPending Timers: ...... ").append(getPendingTimers()).append("\n")
+                .append("\tFired Timers: ........ ").append(getFires()).append("\n")
+                .append("\tLate Fires: .......... ").append(getLateFires()).append("\n");
+    }
+
+    public static TimingWheel getInstance() {
+        return Singleton.INSTANCE;
+    }
+
+    private static class Singleton {
+        private static final TimingWheel INSTANCE = new TimingWheel("Timing Wheel", DEFAULT_TICK_DURATION, DEFAULT_WHEEL_BITS);
+
+        static {
+            INSTANCE.start();
+        }
+    }
+
+    /**
+     * A timer scheduled on the wheel
+     */
+    public final class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private Slot slot;
+        private Timeout previous;
+        private Timeout next;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timer.
+         *
+         * @return true if the timer was pending and has been cancelled
+         */
+        public boolean cancel() {
+            cancelled = true;
+            return TimingWheel.this.cancel(this);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @return the remaining time in milliseconds to the execution of the task
+         */
+        public long getRemainingTime() {
+            return startTime + (deadline * tickDuration) - System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * A doubly linked list of timers, all operations are executed holding the wheel lock.
+     */
+    private static final class Slot {
+        private Timeout head;
+
+        private void add(Timeout timeout) {
+            timeout.slot = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if(nonNull(head)) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        private void remove(Timeout timeout) {
+            if(nonNull(timeout.previous)) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+
+            if(nonNull(timeout.next)) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.slot = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        private int drainTo(List<Timeout> timeouts) {
+            int count = 0;
+            var timeout = head;
+            while (nonNull(timeout)) {
+                final var next = timeout.next;
+                timeout.slot = null;
+                timeout.previous = null;
+                timeout.next = null;
+                timeouts.add(timeout);
+                timeout = next;
+                count++;
+            }
+            head = null;
+            return count;
+        }
+
+        private boolean isEmpty() {
+            return isNull(head);
+        }
+    }
+}
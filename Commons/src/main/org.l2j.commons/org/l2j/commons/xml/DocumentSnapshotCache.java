@@ -0,0 +1,299 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.commons.xml;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32C;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Keeps binary snapshots of the validated xml documents.
+ *
+ * Each xml file has its own snapshot, keyed by the hash of the file and of its schema.
+ * When both are unchanged the document is rebuilt from the memory mapped snapshot,
+ * skipping the xml parsing and the schema validation.
+ *
+ * @author JoeAlisson
+ */
+public final class DocumentSnapshotCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentSnapshotCache.class);
+
+    private static final int MAGIC = 0x4C32584D;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte ELEMENT = 1;
+    private static final byte TEXT = 2;
+    private static final byte CDATA = 3;
+
+    private static final ThreadLocal<DocumentBuilder> BUILDER = ThreadLocal.withInitial(DocumentSnapshotCache::newDocumentBuilder);
+    private static final Map<Path, Long> SCHEMA_HASHES = new ConcurrentHashMap<>();
+
+    private static volatile Path directory;
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private DocumentSnapshotCache() {
+    }
+
+    /**
+     * Enables the snapshots, stored in the given directory.
+     *
+     * @param snapshotDirectory the directory of the snapshots
+     */
+    public static void enable(Path snapshotDirectory) {
+        try {
+            Files.createDirectories(snapshotDirectory);
+            directory = snapshotDirectory;
+        } catch (IOException e) {
+            LOGGER.warn("Could not create the xml snapshot directory {}, the snapshots are disabled", snapshotDirectory, e);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return nonNull(directory);
+    }
+
+    /**
+     * @param file the xml file
+     * @param schema the schema used to validate the file
+     * @return the key of the current content of the file and schema
+     * @throws IOException if the file could not be read
+     */
+    static long keyOf(File file, Path schema) throws IOException {
+        return hash(Files.readAllBytes(file.toPath())) * 31 + schemaHash(schema);
+    }
+
+    /**
+     * Loads the snapshot of the file.
+     *
+     * @param file the xml file
+     * @param key the key of the current file content
+     * @return the document of the snapshot or null if there is no valid snapshot
+     */
+    static Document load(File file, long key) {
+        final Path snapshot = snapshotOf(file);
+        if (!Files.isRegularFile(snapshot)) {
+            MISSES.increment();
+            return null;
+        }
+
+        try {
+            // read into the heap, a mapping would keep the file locked on some platforms until it's collected, failing the replacement of the snapshot
+            final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getLong() != key) {
+                MISSES.increment();
+                return null;
+            }
+
+            final String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                final byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            final Document document = BUILDER.get().newDocument();
+            readChildren(buffer, strings, document, document);
+            HITS.increment();
+            return document;
+        } catch (Exception e) {
+            LOGGER.warn("Could not load the xml snapshot of {}", file, e);
+            MISSES.increment();
+            return null;
+        }
+    }
+
+    private static void readChildren(ByteBuffer buffer, String[] strings, Document document, Node parent) {
+        final int children = buffer.getInt();
+        for (int i = 0; i < children; i++) {
+            final byte type = buffer.get();
+            switch (type) {
+                case ELEMENT -> {
+                    final Element element = document.createElementNS(stringOf(buffer, strings), strings[buffer.getInt()]);
+                    final int attributes = buffer.getInt();
+                    for (int j = 0; j < attributes; j++) {
+                        element.setAttributeNS(stringOf(buffer, strings), strings[buffer.getInt()], strings[buffer.getInt()]);
+                    }
+                    parent.appendChild(element);
+                    readChildren(buffer, strings, document, element);
+                }
+                case TEXT -> parent.appendChild(document.createTextNode(strings[buffer.getInt()]));
+                case CDATA -> parent.appendChild(document.createCDATASection(strings[buffer.getInt()]));
+                default -> throw new IllegalStateException("Unknown node type " + type);
+            }
+        }
+    }
+
+    private static String stringOf(ByteBuffer buffer, String[] strings) {
+        final int index = buffer.getInt();
+        return index < 0 ? null : strings[index];
+    }
+
+    /**
+     * Stores the snapshot of the document parsed from the file.
+     *
+     * @param file the xml file
+     * @param key the key of the file content
+     * @param document the validated document
+     */
+    static void store(File file, long key, Document document) {
+        final Path snapshot = snapshotOf(file);
+        try {
+            final Map<String, Integer> strings = new LinkedHashMap<>();
+            final var tree = new ByteArrayOutputStream(Math.max(1024, (int) file.length()));
+            writeChildren(new DataOutputStream(tree), strings, document);
+
+            final var output = new ByteArrayOutputStream(tree.size() + strings.size() * 16);
+            final var data = new DataOutputStream(output);
+            data.writeInt(MAGIC);
+            data.writeInt(FORMAT_VERSION);
+            data.writeLong(key);
+            data.writeInt(strings.size());
+            for (String string : strings.keySet()) {
+                final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                data.writeInt(bytes.length);
+                data.write(bytes);
+            }
+            tree.writeTo(data);
+            data.flush();
+
+            final Path temp = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+            Files.write(temp, output.toByteArray());
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            LOGGER.warn("Could not store the xml snapshot of {}", file, e);
+        }
+    }
+
+    private static void writeChildren(DataOutputStream output, Map<String, Integer> strings, Node parent) throws IOException {
+        int children = 0;
+        for (Node node = parent.getFirstChild(); nonNull(node); node = node.getNextSibling()) {
+            if (isSupported(node)) {
+                children++;
+            }
+        }
+
+        output.writeInt(children);
+        for (Node node = parent.getFirstChild(); nonNull(node); node = node.getNextSibling()) {
+            switch (node.getNodeType()) {
+                case Node.ELEMENT_NODE -> {
+                    output.writeByte(ELEMENT);
+                    output.writeInt(indexOf(strings, node.getNamespaceURI()));
+                    output.writeInt(indexOf(strings, node.getNodeName()));
+                    final NamedNodeMap attributes = node.getAttributes();
+                    output.writeInt(attributes.getLength());
+                    for (int i = 0; i < attributes.getLength(); i++) {
+                        final Attr attribute = (Attr) attributes.item(i);
+                        output.writeInt(indexOf(strings, attribute.getNamespaceURI()));
+                        output.writeInt(indexOf(strings, attribute.getName()));
+                        output.writeInt(indexOf(strings, attribute.getValue()));
+                    }
+                    writeChildren(output, strings, node);
+                }
+                case Node.TEXT_NODE -> {
+                    output.writeByte(TEXT);
+                    output.writeInt(indexOf(strings, node.getNodeValue()));
+                }
+                case Node.CDATA_SECTION_NODE -> {
+                    output.writeByte(CDATA);
+                    output.writeInt(indexOf(strings, node.getNodeValue()));
+                }
+            }
+        }
+    }
+
+    private static boolean isSupported(Node node) {
+        final short type = node.getNodeType();
+        return type == Node.ELEMENT_NODE || type == Node.TEXT_NODE || type == Node.CDATA_SECTION_NODE;
+    }
+
+    private static int indexOf(Map<String, Integer> strings, String string) {
+        return isNull(string) ? -1 : strings.computeIfAbsent(string, s -> strings.size());
+    }
+
+    private static Path snapshotOf(File file) {
+        final String path = file.getAbsoluteFile().toPath().normalize().toString();
+        return directory.resolve(file.getName() + "-" + Long.toHexString(hash(path.getBytes(StandardCharsets.UTF_8))) + ".bin");
+    }
+
+    private static long schemaHash(Path schema) {
+        if (isNull(schema)) {
+            return 0;
+        }
+        return SCHEMA_HASHES.computeIfAbsent(schema, path -> {
+            try {
+                return Files.isRegularFile(path) ? hash(Files.readAllBytes(path)) : 0L;
+            } catch (IOException e) {
+                LOGGER.warn("Could not read the schema {}", path, e);
+                return 0L;
+            }
+        });
+    }
+
+    private static long hash(byte[] bytes) {
+        final CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return (crc.getValue() << 32) | bytes.length;
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        try {
+            final var factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            return factory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static CharSequence getStats() {
+        return new StringBuilder("Xml Snapshot Cache\n")
+                .append("=================================================\n")
+                .append("\tEnabled: ............... ").append(isEnabled()).append("\n")
+                .append("\tSnapshot Hits: ......... ").append(HITS.sum()).append("\n")
+                .append("\tSnapshot Misses: ....... ").append(MISSES.sum()).append("\n");
+    }
+}
@@ -54,7 +54,6 @@ public abstract class XmlReader extends XmlParser {
     private DocumentBuilder documentBuilder;
 
     protected XmlReader() {
-        createDocumentBuilder();
     }
 
     private void createDocumentBuilder() {
@@ -100,6 +99,7 @@ public abstract class XmlReader extends XmlParser {
     /**
      * Parses a single XML file.<br>
      * If the file was successfully parsed, call {@link #parseDocument(Document, File)} for the parsed document.<br>
+     * When the {@link DocumentSnapshotCache} is enabled and the file is unchanged, the document is loaded from its snapshot.<br>
      * <b>Validation is enforced.</b>
      * @param file the XML file to parse.
      */
@@ -110,10 +110,7 @@ public abstract class XmlReader extends XmlParser {
         }
 
         try {
-            if(isNull(documentBuilder)){
-                createDocumentBuilder();
-            }
-            parseDocument(documentBuilder.parse(file), file);
+            parseDocument(loadDocument(file), file);
         }
         catch (SAXParseException e) {
             LOGGER.warn("Could not parse file: " + file.getName()+ " at line: " + e.getLineNumber() + ", column: " + e.getColumnNumber() + " :", e);
@@ -125,6 +122,27 @@ public abstract class XmlReader extends XmlParser {
     }
 
 
+    private Document loadDocument(File file) throws Exception {
+        if (!DocumentSnapshotCache.isEnabled()) {
+            return parse(file);
+        }
+
+        final long key = DocumentSnapshotCache.keyOf(file, getSchemaFilePath());
+        var document = DocumentSnapshotCache.load(file, key);
+        if (isNull(document)) {
+            document = parse(file);
+            DocumentSnapshotCache.store(file, key, document);
+        }
+        return document;
+    }
+
+    private Document parse(File file) throws Exception {
+        if(isNull(documentBuilder)){
+            createDocumentBuilder();
+        }
+        return documentBuilder.parse(file);
+    }
+
     boolean parseDirectory(File file) {
         return parseDirectory(file, false);
     }
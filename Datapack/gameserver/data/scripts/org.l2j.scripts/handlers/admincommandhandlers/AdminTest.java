@@ -19,14 +19,25 @@
 package handlers.admincommandhandlers;
 
 import org.l2j.commons.threading.ThreadPool;
+import org.l2j.commons.threading.TimingWheel;
+import org.l2j.commons.xml.DocumentSnapshotCache;
+import org.l2j.gameserver.data.database.ItemWriteBehindStore;
+import org.l2j.gameserver.engine.geo.GeoEngine;
 import org.l2j.gameserver.engine.skill.api.Skill;
 import org.l2j.gameserver.engine.skill.api.SkillEngine;
 import org.l2j.gameserver.handler.IAdminCommandHandler;
 import org.l2j.gameserver.model.WorldObject;
 import org.l2j.gameserver.model.actor.Creature;
 import org.l2j.gameserver.model.actor.instance.Player;
+import org.l2j.gameserver.model.quest.QuestState;
 import org.l2j.gameserver.network.serverpackets.MagicSkillUse;
+import org.l2j.gameserver.taskmanager.AttackableThinkTaskManager;
+import org.l2j.gameserver.taskmanager.EffectTickTaskManager;
+import org.l2j.gameserver.taskmanager.RegenerationTaskManager;
+import org.l2j.gameserver.taskmanager.UserInfoTaskManager;
 import org.l2j.gameserver.util.BuilderUtil;
+import org.l2j.gameserver.world.ChatChannelManager;
+import org.l2j.gameserver.world.WorldTimeController;
 
 import java.util.NoSuchElementException;
 import java.util.StringTokenizer;
@@ -50,6 +61,18 @@ public class AdminTest implements IAdminCommandHandler
 		if (command.equals("admin_stats"))
 		{
 			activeChar.sendMessage(ThreadPool.getInstance().getStats().toString());
+			activeChar.sendMessage(WorldTimeController.getInstance().getStats().toString());
+			activeChar.sendMessage(TimingWheel.getInstance().getStats().toString());
+			activeChar.sendMessage(ItemWriteBehindStore.getInstance().getStats().toString());
+			activeChar.sendMessage(GeoEngine.getInstance().getPathFindingStats().toString());
+			activeChar.sendMessage(GeoEngine.getInstance().getLineOfSightStats().toString());
+			activeChar.sendMessage(QuestState.getStoreStats().toString());
+			activeChar.sendMessage(RegenerationTaskManager.getInstance().getStats().toString());
+			activeChar.sendMessage(EffectTickTaskManager.getInstance().getStats().toString());
+			activeChar.sendMessage(AttackableThinkTaskManager.getInstance().getStats().toString());
+			activeChar.sendMessage(UserInfoTaskManager.getInstance().getStats().toString());
+			activeChar.sendMessage(ChatChannelManager.getInstance().getStats().toString());
+			activeChar.sendMessage(DocumentSnapshotCache.getStats().toString());
 		}
 		else if (command.startsWith("admin_skill_test"))
 		{
@@ -20,15 +20,13 @@ package handlers.chathandlers;
 
 import org.l2j.gameserver.enums.ChatType;
 import org.l2j.gameserver.handler.IChatHandler;
-import org.l2j.gameserver.model.BlockList;
 import org.l2j.gameserver.model.PcCondOverride;
 import org.l2j.gameserver.model.actor.instance.Player;
 import org.l2j.gameserver.network.SystemMessageId;
 import org.l2j.gameserver.network.serverpackets.CreatureSay;
 import org.l2j.gameserver.network.serverpackets.SystemMessage;
 import org.l2j.gameserver.settings.ChatSettings;
-import org.l2j.gameserver.world.MapRegionManager;
-import org.l2j.gameserver.world.World;
+import org.l2j.gameserver.world.ChatChannelManager;
 
 import static org.l2j.commons.configuration.Configurator.getSettings;
 
@@ -56,12 +54,7 @@ public final class ChatTrade implements IChatHandler {
 		final CreatureSay cs = new CreatureSay(player, type, text);
 
 		if (chatSettings.defaultTradeChat().equalsIgnoreCase("on") || (chatSettings.defaultTradeChat().equalsIgnoreCase("gm") && player.canOverrideCond(PcCondOverride.CHAT_CONDITIONS))) {
-			final int region = MapRegionManager.getInstance().getMapRegionLocId(player);
-			World.getInstance().forEachPlayer(receiver -> {
-				if ((region == MapRegionManager.getInstance().getMapRegionLocId(receiver)) && !BlockList.isBlocked(receiver, player) && (receiver.getInstanceId() == player.getInstanceId())) {
-					receiver.sendPacket(cs);
-				}
-			});
+			ChatChannelManager.getInstance().broadcastToRegion(player, cs);
 		}
 		else if (chatSettings.defaultTradeChat().equalsIgnoreCase("global")) {
 			if (!player.canOverrideCond(PcCondOverride.CHAT_CONDITIONS) && !player.getFloodProtectors().getGlobalChat().tryPerformAction("global chat")) {
@@ -69,11 +62,7 @@ public final class ChatTrade implements IChatHandler {
 				return;
 			}
 
-			World.getInstance().forEachPlayer(receiver -> {
-				if (!BlockList.isBlocked(receiver, player)) {
-					receiver.sendPacket(cs);
-				}
-			});
+			ChatChannelManager.getInstance().broadcastToAll(player, cs);
 		}
 	}
 	
@@ -27,7 +27,7 @@ import org.l2j.gameserver.network.SystemMessageId;
 import org.l2j.gameserver.network.serverpackets.CreatureSay;
 import org.l2j.gameserver.network.serverpackets.ExWorldChatCnt;
 import org.l2j.gameserver.settings.ChatSettings;
-import org.l2j.gameserver.world.World;
+import org.l2j.gameserver.world.ChatChannelManager;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -80,7 +80,7 @@ public final class ChatWorld implements IChatHandler {
 			}
 			
 			final CreatureSay cs = new CreatureSay(player, type, text);
-			World.getInstance().getPlayers().stream().filter(player::isNotBlocked).forEach(cs::sendTo);
+			ChatChannelManager.getInstance().broadcastToAll(player, cs);
 			
 			player.setWorldChatUsed(player.getWorldChatUsed() + 1);
 			player.sendPacket(new ExWorldChatCnt(player));
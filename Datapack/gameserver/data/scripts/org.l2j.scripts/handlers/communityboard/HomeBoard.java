@@ -22,6 +22,7 @@ import org.l2j.commons.threading.ThreadPool;
 import org.l2j.commons.util.Util;
 import org.l2j.gameserver.Config;
 import org.l2j.gameserver.cache.HtmCache;
+import org.l2j.gameserver.cache.HtmlTemplate;
 import org.l2j.gameserver.data.database.dao.CommunityDAO;
 import org.l2j.gameserver.data.database.dao.ReportDAO;
 import org.l2j.gameserver.data.database.data.ReportData;
@@ -231,16 +232,7 @@ public final class HomeBoard implements IParseBoardHandler {
                 returnHtml = returnHtml.replaceAll("%clan_count%", Integer.toString(ClanTable.getInstance().getClanCount()));
             }
             if (Config.CUSTOM_CB_ENABLED) {
-                returnHtml = returnHtml.replaceAll("%name%", activeChar.getName());
-                returnHtml = returnHtml.replaceAll("%premium%", "Could not find acount setup");
-                returnHtml = returnHtml.replaceAll("%clan%", (activeChar.getClan() != null) ? activeChar.getClan().getName() : "No clan");
-                returnHtml = returnHtml.replaceAll("%alliance%", "Could not find it");
-                returnHtml = returnHtml.replaceAll("%country%", "Could not found it");
-                returnHtml = returnHtml.replaceAll("%class%", activeChar.getBaseTemplate().getClassId().name().replace("_", " "));
-                returnHtml = returnHtml.replaceAll("%exp%", String.valueOf(activeChar.getExp()));
-                returnHtml = returnHtml.replaceAll("%adena%", String.valueOf(activeChar.getAdena()));
-                returnHtml = returnHtml.replaceAll("%online%", String.valueOf(activeChar.getUptime()));
-                returnHtml = returnHtml.replaceAll("%onlinePlayers%", String.valueOf(World.getInstance().getPlayers().size()));
+                returnHtml = HtmlTemplate.fill(returnHtml, playerInfoOf(activeChar, "Could not find acount setup"));
             }
         } else if (command.startsWith("_bbstop")) {
             final String customPath = Config.CUSTOM_CB_ENABLED ? "Custom/" : "";
@@ -554,19 +546,11 @@ public final class HomeBoard implements IParseBoardHandler {
             if (Config.CUSTOM_CB_ENABLED) {
                 final Map<String, ArrayList<Integer>> schemes = SchemeBufferTable.getInstance().getPlayerSchemes(activeChar.getObjectId());
 
-                returnHtml = returnHtml.replace("%schemes%", getSchemesListAsHtml(schemes));
-                returnHtml = returnHtml.replace("%max_schemes%", Integer.toString(Config.BUFFER_MAX_SCHEMES));
-                returnHtml = returnHtml.replace("%navigation%", navigation);
-                returnHtml = returnHtml.replaceAll("%name%", activeChar.getName());
-                returnHtml = returnHtml.replaceAll("%premium%", "Could not find account setup");
-                returnHtml = returnHtml.replaceAll("%clan%", (activeChar.getClan() != null) ? activeChar.getClan().getName() : "No clan");
-                returnHtml = returnHtml.replaceAll("%alliance%", "Could not find it");
-                returnHtml = returnHtml.replaceAll("%country%", "Could not found it");
-                returnHtml = returnHtml.replaceAll("%class%", activeChar.getBaseTemplate().getClassId().name().replace("_", " "));
-                returnHtml = returnHtml.replaceAll("%exp%", String.valueOf(activeChar.getExp()));
-                returnHtml = returnHtml.replaceAll("%adena%", String.valueOf(activeChar.getAdena()));
-                returnHtml = returnHtml.replaceAll("%online%", String.valueOf(activeChar.getUptime()));
-                returnHtml = returnHtml.replaceAll("%onlinePlayers%", String.valueOf(World.getInstance().getPlayers().size()));
+                final Map<String, Object> values = playerInfoOf(activeChar, "Could not find account setup");
+                values.put("%schemes%", getSchemesListAsHtml(schemes));
+                values.put("%max_schemes%", Config.BUFFER_MAX_SCHEMES);
+                values.put("%navigation%", navigation);
+                returnHtml = HtmlTemplate.fill(returnHtml, values);
             }
             CommunityBoardHandler.separateAndSend(returnHtml, activeChar);
         }
@@ -574,6 +558,21 @@ public final class HomeBoard implements IParseBoardHandler {
         return false;
     }
 
+    private Map<String, Object> playerInfoOf(Player player, String premium) {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("%name%", player.getName());
+        values.put("%premium%", premium);
+        values.put("%clan%", (player.getClan() != null) ? player.getClan().getName() : "No clan");
+        values.put("%alliance%", "Could not find it");
+        values.put("%country%", "Could not found it");
+        values.put("%class%", player.getBaseTemplate().getClassId().name().replace("_", " "));
+        values.put("%exp%", player.getExp());
+        values.put("%adena%", player.getAdena());
+        values.put("%online%", player.getUptime());
+        values.put("%onlinePlayers%", World.getInstance().getPlayers().size());
+        return values;
+    }
+
     private String setHtmlSchemeBuffList(Player player, String groupType, String schemeName, List<Integer> skills, int page,  String returnHtml) {
         int skillCount = 0;
         int buffCount = 1;
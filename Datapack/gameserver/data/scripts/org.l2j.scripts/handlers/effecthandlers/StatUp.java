@@ -43,6 +43,11 @@ public class StatUp extends AbstractEffect {
         effected.getStats().mergeAdd(stat.getStat(), power);
     }
 
+    @Override
+    public boolean isStaticPump() {
+        return true;
+    }
+
     public static class Factory implements SkillEffectFactory {
 
         @Override
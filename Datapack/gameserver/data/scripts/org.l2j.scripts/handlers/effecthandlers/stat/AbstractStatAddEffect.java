@@ -41,4 +41,9 @@ public class AbstractStatAddEffect extends AbstractEffect {
     public void pump(Creature effected, Skill skill) {
         effected.getStats().mergeAdd(stat, amount);
     }
+
+    @Override
+    public boolean isStaticPump() {
+        return true;
+    }
 }
@@ -77,4 +77,9 @@ public abstract class AbstractStatEffect extends AbstractEffect {
             }
         }
     }
+
+    @Override
+    public boolean isStaticPump() {
+        return conditions.isEmpty();
+    }
 }
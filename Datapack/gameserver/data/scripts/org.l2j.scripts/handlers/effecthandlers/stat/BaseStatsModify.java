@@ -45,6 +45,11 @@ public class BaseStatsModify extends AbstractEffect {
         stats.forEach(stat -> effected.getStats().mergeAdd(stat.getStat(), power));
     }
 
+    @Override
+    public boolean isStaticPump() {
+        return true;
+    }
+
     public static class Factory implements SkillEffectFactory {
 
         @Override
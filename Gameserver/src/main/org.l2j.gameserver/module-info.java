@@ -93,6 +93,7 @@ module org.l2j.gameserver {
     exports org.l2j.gameserver.model.variables;
     exports org.l2j.gameserver.model.events.timers;
     exports org.l2j.gameserver.settings;
+    exports org.l2j.gameserver.data.database;
     exports org.l2j.gameserver.data.database.data;
     exports org.l2j.gameserver.data.database.dao;
     exports org.l2j.gameserver.world;
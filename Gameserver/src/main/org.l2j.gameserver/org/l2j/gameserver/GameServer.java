@@ -24,6 +24,7 @@ import org.l2j.commons.cache.CacheFactory;
 import org.l2j.commons.database.DatabaseAccess;
 import org.l2j.commons.threading.ThreadPool;
 import org.l2j.commons.util.DeadLockDetector;
+import org.l2j.commons.xml.DocumentSnapshotCache;
 import org.l2j.gameserver.cache.HtmCache;
 import org.l2j.gameserver.data.database.RankManager;
 import org.l2j.gameserver.data.database.announce.manager.AnnouncementsManager;
@@ -64,6 +65,7 @@ import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
 
@@ -93,112 +95,105 @@ public class GameServer {
             throw new Exception("Could not initialize the Identity factory!");
         }
 
-        printSection("World");
-        World.init();
-
-        printSection("Skills");
-        SkillEngine.init();
-
-        printSection("Items");
-        ItemEngine.init();
-
-        printSection("NPCs");
-        NpcData.init();
-
-        printSection("Castle Data");
-        CastleManager.init();
-
-        printSection("Class Categories");
-        CategoryManager.init();
-
-        printSection("Scripts");
-        ScriptEngineManager.getInstance().executeScriptLoader();
-
-        printSection("Spawns");
-        SpawnsData.init();
-        DBSpawnManager.init();
-        ThreadPool.executeForked(SpawnsData.getInstance()::spawnAll);
-
-        printSection("Server Data");
-        GlobalVariablesManager.init();
-        ActionManager.init();
-        BuyListData.init();
-        MultisellData.getInstance();
-        RecipeData.getInstance();
-        ArmorSetsData.getInstance();
-        FishingData.getInstance();
-        HennaData.getInstance();
-        ShuttleData.getInstance();
-        GraciaSeedsManager.getInstance();
-
-        printSection("Features");
-        AnnouncementsManager.init();
-        SecondaryAuthManager.init();
-        ClanRewardManager.init();
-        MissionEngine.init();
-        VipEngine.init();
-        ElementalSpiritEngine.init();
-        TeleportEngine.init();
-        PrimeShopData.getInstance();
-        LCoinShopData.getInstance();
-        CommissionManager.getInstance();
-        LuckyGameData.getInstance();
-        AttendanceRewardData.getInstance();
-        CostumeEngine.init();
-        UpgradeItemEngine.init();
-        CombinationItemsManager.init();
-        RankManager.init();
-        BeautyShopData.getInstance();
-        ExtendDropData.getInstance();
-        ItemAuctionManager.getInstance();
-        SchemeBufferTable.getInstance();
-        GrandBossManager.getInstance();
-
-        printSection("Characters");
-        ClassListData.getInstance();
-        InitialEquipmentData.getInstance();
-        InitialShortcutData.getInstance();
-        LevelData.init();
-        KarmaData.getInstance();
-        HitConditionBonusData.getInstance();
-        PlayerTemplateData.getInstance();
-        PlayerNameTable.getInstance();
-        AdminData.getInstance();
-        PetDataTable.getInstance();
-        CubicData.getInstance();
-        PlayerSummonTable.getInstance().init();
-        MentorManager.getInstance();
-
-        printSection("Clans");
-        ClanTable.init();
-        ResidenceFunctionsData.getInstance();
-        ClanHallManager.init();
-        ClanHallAuctionManager.getInstance();
-        ClanEntryManager.getInstance();
-        WalkingManager.getInstance();
-        StaticObjectData.getInstance();
-
-        printSection("Instance");
-        InstanceManager.getInstance();
-
-        printSection("Olympiad");
-        Olympiad.getInstance();
-        Hero.getInstance();
-
-        // Call to load caches
-        printSection("Cache");
-        HtmCache.getInstance();
-        CrestTable.getInstance();
-        TeleportersData.getInstance();
-        TransformData.getInstance();
-        ReportTable.getInstance();
+        printSection("Server Components");
+        final var startup = new StartupGraph();
+        final var world = startup.add("World", World::init);
+        final var skills = startup.add("Skills", SkillEngine::init, world);
+        final var items = startup.add("Items", ItemEngine::init, skills);
+        final var npcs = startup.add("NPCs", NpcData::init, skills, items);
+        final var castles = startup.add("Castle Data", CastleManager::init, npcs);
+        final var categories = startup.add("Class Categories", CategoryManager::init);
+        final var scripts = startup.add("Scripts", () -> ScriptEngineManager.getInstance().executeScriptLoader(), npcs, castles, categories);
+
+        startup.add("Spawns", () -> {
+            SpawnsData.init();
+            DBSpawnManager.init();
+            ThreadPool.executeForked(SpawnsData.getInstance()::spawnAll);
+        }, scripts);
+
+        // Server Data
+        final var globalVariables = startup.add("Global Variables", GlobalVariablesManager::init);
+        startup.add("Actions", ActionManager::init);
+        startup.add("Buy Lists", BuyListData::init, items, npcs);
+        startup.add("Multisells", MultisellData::getInstance, items, npcs);
+        startup.add("Recipes", RecipeData::getInstance, items);
+        startup.add("Armor Sets", ArmorSetsData::getInstance, items, skills);
+        startup.add("Fishing", FishingData::getInstance, items);
+        startup.add("Henna", HennaData::getInstance, items, skills);
+        startup.add("Shuttles", ShuttleData::getInstance, world);
+        startup.add("Gracia Seeds", GraciaSeedsManager::getInstance, globalVariables, scripts);
+
+        // Features
+        startup.add("Announcements", AnnouncementsManager::init);
+        startup.add("Secondary Auth", SecondaryAuthManager::init);
+        startup.add("Clan Rewards", ClanRewardManager::init, skills);
+        startup.add("Missions", MissionEngine::init, items);
+        final var primeShop = startup.add("Prime Shop", PrimeShopData::getInstance, items);
+        startup.add("Vip", VipEngine::init, primeShop, skills);
+        startup.add("Elemental Spirits", ElementalSpiritEngine::init, items, skills);
+        startup.add("Teleports", TeleportEngine::init, world);
+        startup.add("LCoin Shop", LCoinShopData::getInstance, items);
+        startup.add("Commission", CommissionManager::getInstance, items);
+        startup.add("Lucky Game", LuckyGameData::getInstance, items);
+        startup.add("Attendance Rewards", AttendanceRewardData::getInstance, items);
+        startup.add("Costumes", CostumeEngine::init, skills);
+        startup.add("Item Upgrades", UpgradeItemEngine::init, items);
+        startup.add("Item Combinations", CombinationItemsManager::init, items);
+        startup.add("Ranking", RankManager::init, items, skills);
+        startup.add("Beauty Shop", BeautyShopData::getInstance);
+        startup.add("Extend Drops", ExtendDropData::getInstance, items);
+        startup.add("Item Auctions", ItemAuctionManager::getInstance, items, npcs);
+        startup.add("Scheme Buffer", SchemeBufferTable::getInstance, skills);
+        startup.add("Grand Bosses", GrandBossManager::getInstance, npcs, scripts);
+
+        // Characters
+        final var classes = startup.add("Classes", ClassListData::getInstance);
+        startup.add("Initial Equipment", InitialEquipmentData::getInstance, items);
+        startup.add("Initial Shortcuts", InitialShortcutData::getInstance);
+        final var levels = startup.add("Levels", LevelData::init);
+        startup.add("Karma", KarmaData::getInstance);
+        startup.add("Hit Condition Bonus", HitConditionBonusData::getInstance);
+        final var playerTemplates = startup.add("Player Templates", PlayerTemplateData::getInstance, levels);
+        final var playerNames = startup.add("Player Names", PlayerNameTable::getInstance);
+        final var admins = startup.add("Admin Data", AdminData::getInstance);
+        final var pets = startup.add("Pets", PetDataTable::getInstance, items, skills, npcs);
+        startup.add("Cubics", CubicData::getInstance, skills);
+        startup.add("Player Summons", () -> PlayerSummonTable.getInstance().init(), npcs, pets, skills);
+        final var mentors = startup.add("Mentors", MentorManager::getInstance);
+        final var characters = new StartupGraph.Component[] { classes, levels, playerTemplates, playerNames, admins, mentors, scripts };
+
+        final var clans = startup.add("Clans", () -> {
+            ClanTable.init();
+            ResidenceFunctionsData.getInstance();
+            ClanHallManager.init();
+            ClanHallAuctionManager.getInstance();
+            ClanEntryManager.getInstance();
+            WalkingManager.getInstance();
+            StaticObjectData.getInstance();
+        }, castles, scripts, playerNames);
+
+        startup.add("Instances", InstanceManager::getInstance, npcs, scripts, clans);
+        startup.add("Olympiad", () -> {
+            Olympiad.getInstance();
+            Hero.getInstance();
+        }, dependingOn(characters, clans));
+
+        // Caches
+        startup.add("Html Cache", HtmCache::getInstance);
+        startup.add("Crests", CrestTable::getInstance);
+        startup.add("Teleporters", TeleportersData::getInstance, npcs);
+        startup.add("Transformations", TransformData::getInstance, skills, npcs);
+        startup.add("Reports", ReportTable::getInstance, skills);
         if (Config.SELLBUFF_ENABLED) {
-            SellBuffsManager.getInstance();
+            startup.add("Sell Buffs", SellBuffsManager::getInstance, skills);
         }
 
-        printSection("Event Engine");
-        EventEngineData.getInstance();
-        VoteSystem.initialize();
+        startup.add("Event Engine", () -> {
+            EventEngineData.getInstance();
+            VoteSystem.initialize();
+        }, scripts, npcs, items);
+
+        startup.load(getSettings(ServerSettings.class).startupThreadPoolSize());
 
         printSection("Siege");
         SiegeManager.getInstance().getSieges();
@@ -256,6 +251,7 @@ public class GameServer {
         logVersionInfo();
         configureDatabase();
         configureNetworkPackets();
+        configureDatapackSnapshots();
 
         printSection("Server Configuration");
         Config.load(); // TODO remove this
@@ -285,6 +281,13 @@ public class GameServer {
         CacheFactory.getInstance().initialize("config/ehcache.xml");
     }
 
+    private static void configureDatapackSnapshots() {
+        var settings = getSettings(ServerSettings.class);
+        if (settings.useDatapackSnapshots()) {
+            DocumentSnapshotCache.enable(settings.datapackSnapshotDirectory());
+        }
+    }
+
     private static void configureNetworkPackets() {
         System.setProperty("async-mmocore.configurationFile", "config/async-mmocore.properties");
     }
@@ -328,6 +331,12 @@ public class GameServer {
         }
     }
 
+    private static StartupGraph.Component[] dependingOn(StartupGraph.Component[] components, StartupGraph.Component... others) {
+        final var dependencies = Arrays.copyOf(components, components.length + others.length);
+        System.arraycopy(others, 0, dependencies, components.length, others.length);
+        return dependencies;
+    }
+
     private static void printSection(String s) {
         LOGGER.info("{}=[ {} ]", "-".repeat(64 - s.length()), s);
     }
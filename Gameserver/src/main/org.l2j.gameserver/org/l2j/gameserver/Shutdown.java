@@ -21,6 +21,7 @@ package org.l2j.gameserver;
 import org.l2j.commons.database.DatabaseAccess;
 import org.l2j.commons.threading.ThreadPool;
 import org.l2j.commons.util.Util;
+import org.l2j.gameserver.data.database.ItemWriteBehindStore;
 import org.l2j.gameserver.data.sql.impl.ClanTable;
 import org.l2j.gameserver.data.sql.impl.OfflineTradersTable;
 import org.l2j.gameserver.datatables.ReportTable;
@@ -304,6 +305,10 @@ public class Shutdown extends Thread {
             ReportTable.getInstance().saveReportedCharData();
             LOGGER.info("Bot Report Table: Successfully saved reports to database!");
         }
+
+        // Flush pending item writes after everything that may still change items
+        ItemWriteBehindStore.getInstance().shutdown();
+        LOGGER.info("Item Write Behind Store: Pending items flushed.");
     }
 
     /**
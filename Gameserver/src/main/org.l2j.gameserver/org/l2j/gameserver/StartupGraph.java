@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver;
+
+import org.l2j.commons.threading.PriorityThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Loads the server components respecting the dependencies declared among them.
+ *
+ * The components without pending dependencies are loaded concurrently on a bounded pool.
+ * A component is only loaded after all its dependencies were loaded successfully.
+ *
+ * @author JoeAlisson
+ */
+final class StartupGraph {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupGraph.class);
+
+    private final List<Component> components = new ArrayList<>();
+
+    /**
+     * Adds a component to the graph, the dependencies must be added before the component.
+     *
+     * @param name the component name used on the reports
+     * @param loader the action that loads the component
+     * @param dependencies the components that must be loaded before
+     * @return the added component
+     */
+    Component add(String name, Loader loader, Component... dependencies) {
+        final Component component = new Component(name, loader, dependencies);
+        components.add(component);
+        return component;
+    }
+
+    /**
+     * Loads all the components and waits them to finish.
+     *
+     * @param threads the amount of threads used to load the components
+     * @throws Exception if any component fails to load
+     */
+    void load(int threads) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new PriorityThreadFactory("StartupPool", Thread.NORM_PRIORITY));
+        final long start = nanoTime();
+        try {
+            for (Component component : components) {
+                component.schedule(executor);
+            }
+            CompletableFuture.allOf(components.stream().map(c -> c.future).toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        report(start, nanoTime());
+
+        Throwable failure = null;
+        for (Component component : components) {
+            if (component.failure != null) {
+                LOGGER.error("Could not load {}", component.name, component.failure);
+                if (failure == null) {
+                    failure = component.failure;
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw new Exception("Could not load the server components", failure);
+        }
+    }
+
+    private void report(long start, long end) {
+        long loadTime = 0;
+        LOGGER.info("Component                          Start (ms)   Time (ms)");
+        final List<Component> loaded = new ArrayList<>(components);
+        loaded.sort(Comparator.comparingLong(c -> c.start));
+        for (Component component : loaded) {
+            if (component.end == 0) {
+                LOGGER.info("{} {}", padded(component.name), "not loaded");
+                continue;
+            }
+            final long duration = component.end - component.start;
+            loadTime += duration;
+            LOGGER.info("{} {} {}", padded(component.name), String.format("%10d", NANOSECONDS.toMillis(component.start - start)), String.format("%11d", NANOSECONDS.toMillis(duration)));
+        }
+        LOGGER.info("Loaded {} components in {} ms, {} ms of load time", components.size(), NANOSECONDS.toMillis(end - start), NANOSECONDS.toMillis(loadTime));
+    }
+
+    private static String padded(String name) {
+        return name.length() >= 34 ? name : name + " " + ".".repeat(33 - name.length());
+    }
+
+    @FunctionalInterface
+    interface Loader {
+        void load() throws Exception;
+    }
+
+    static final class Component {
+        private final String name;
+        private final Loader loader;
+        private final Component[] dependencies;
+        private CompletableFuture<Void> future;
+        private volatile long start;
+        private volatile long end;
+        private volatile Throwable failure;
+
+        private Component(String name, Loader loader, Component[] dependencies) {
+            this.name = name;
+            this.loader = loader;
+            this.dependencies = dependencies;
+        }
+
+        private void schedule(ExecutorService executor) {
+            if (dependencies.length == 0) {
+                future = CompletableFuture.runAsync(this::load, executor);
+            } else {
+                final CompletableFuture<?>[] required = new CompletableFuture[dependencies.length];
+                for (int i = 0; i < dependencies.length; i++) {
+                    required[i] = dependencies[i].future;
+                }
+                future = CompletableFuture.allOf(required).thenRunAsync(this::load, executor);
+            }
+        }
+
+        private void load() {
+            start = nanoTime();
+            try {
+                loader.load();
+            } catch (Throwable e) {
+                failure = e;
+                throw new CompletionException(e);
+            } finally {
+                end = nanoTime();
+            }
+        }
+    }
+}
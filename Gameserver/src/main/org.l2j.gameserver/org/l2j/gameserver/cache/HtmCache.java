@@ -35,6 +35,7 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static java.util.Objects.isNull;
 import static org.l2j.commons.configuration.Configurator.getSettings;
 
 /**
@@ -49,6 +50,7 @@ public class HtmCache {
     private static final Pattern BLOCK_PATTERN = Pattern.compile("<block name=\"([a-zA-Z0-9-_. ]*)\">(.*?)</block>", Pattern.DOTALL);
 
     private static final Cache<String, String> CACHE = CacheFactory.getInstance().getCache("html", String.class, String.class);
+    private static final Cache<String, HtmlTemplate> TEMPLATES = CacheFactory.getInstance().getCache("html-templates", String.class, HtmlTemplate.class);
 
     private HtmCache() {
         reload();
@@ -56,10 +58,12 @@ public class HtmCache {
 
     public void reload() {
         CACHE.clear();
+        TEMPLATES.clear();
         LOGGER.info("Cache[HTML]: Running lazy cache");
     }
 
     public boolean purge(String path) {
+        TEMPLATES.remove(path);
         return CACHE.remove(path);
     }
 
@@ -99,6 +103,28 @@ public class HtmCache {
         return content;
     }
 
+    /**
+     * Gets the html compiled into a template, the template is compiled on the first use of the html
+     * and again whenever the cached html is reloaded with a different content.
+     *
+     * @param player the player requesting the html
+     * @param path the html path
+     * @return the compiled html or null if the html doesn't exist
+     */
+    public HtmlTemplate getTemplate(Player player, String path) {
+        final var content = getHtm(player, path);
+        if (isNull(content)) {
+            return null;
+        }
+
+        var template = TEMPLATES.get(path);
+        if (isNull(template) || !template.isCompiledFrom(content)) {
+            template = HtmlTemplate.compile(content);
+            TEMPLATES.put(path, template);
+        }
+        return template;
+    }
+
     private String getHtm(String path) {
         return Util.isNullOrEmpty(path) ? "" : CACHE.containsKey(path) ? CACHE.get(path) : loadFile(path);
     }
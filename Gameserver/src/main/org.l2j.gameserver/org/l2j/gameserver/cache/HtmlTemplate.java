@@ -0,0 +1,301 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver.cache;
+
+import org.l2j.gameserver.util.GameUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A html page compiled into literal segments and named %slot% positions.
+ *
+ * The bypasses and links of the page are extracted on compilation, only the ones depending on slots
+ * and the ones inside the slot values are resolved when the page is rendered.
+ *
+ * @author JoeAlisson
+ */
+public final class HtmlTemplate {
+
+    private static final int INITIAL_BUILDER_CAPACITY = 8192;
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUILDER_CAPACITY));
+
+    private final Map<String, Integer> slots;
+    private final String[] slotNames;
+    private final boolean[] attributeSlots;
+    private final Fragment page;
+    private final List<String> bypasses = new ArrayList<>();
+    private final List<String> links = new ArrayList<>();
+    private final List<Fragment> dynamicBypasses = new ArrayList<>();
+    private final List<Fragment> dynamicLinks = new ArrayList<>();
+    private final String source;
+
+    private HtmlTemplate(String html) {
+        source = html;
+        slots = new HashMap<>();
+        page = parse(html, true);
+        slotNames = new String[slots.size()];
+        slots.forEach((name, id) -> slotNames[id] = name);
+        attributeSlots = new boolean[slotNames.length];
+
+        GameUtils.forEachHtmlBypass(html, bypass -> addAction(bypass, bypasses, dynamicBypasses));
+        GameUtils.forEachHtmlLink(html, link -> addAction(link, links, dynamicLinks));
+    }
+
+    private void addAction(String action, List<String> staticActions, List<Fragment> dynamicActions) {
+        final Fragment fragment = parse(action, false);
+        if (fragment.slots.length == 0) {
+            staticActions.add(action);
+        } else {
+            for (int slot : fragment.slots) {
+                attributeSlots[slot] = true;
+            }
+            dynamicActions.add(fragment);
+        }
+    }
+
+    public static HtmlTemplate compile(String html) {
+        return new HtmlTemplate(html);
+    }
+
+    /**
+     * @param html the html content
+     * @return {@code true} if this template was compiled from the given html
+     */
+    public boolean isCompiledFrom(String html) {
+        return source == html || source.equals(html);
+    }
+
+    /**
+     * @param slot the slot name including the % delimiters, e.g. %objectId%
+     * @return the slot id or -1 if the template doesn't have the slot
+     */
+    public int slotOf(String slot) {
+        final Integer id = slots.get(slot);
+        return isNull(id) ? -1 : id;
+    }
+
+    public int slotCount() {
+        return slotNames.length;
+    }
+
+    /**
+     * Checks if the value can fill the slot without changing the html structure the template was compiled from.
+     *
+     * A value can't introduce new slots and must not break the attribute quotes,
+     * otherwise the page must be rendered and handled as plain text.
+     *
+     * @param slot the slot id
+     * @param value the value
+     * @return true if the value can be filled in the slot
+     */
+    public boolean canFill(int slot, String value) {
+        if (value.indexOf('%') >= 0) {
+            return false;
+        }
+
+        int quotes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return attributeSlots[slot] ? quotes == 0 : (quotes & 1) == 0;
+    }
+
+    /**
+     * Renders the page filling the slots with the values, the slots without value are kept untouched.
+     *
+     * @param values the slot values indexed by slot id, may be null
+     * @return the rendered page
+     */
+    public String render(String[] values) {
+        return page.render(values);
+    }
+
+    /**
+     * Resolves the bypasses and links of the page rendered with the given values.
+     *
+     * @param values the slot values indexed by slot id, may be null
+     * @param bypassAction action called for each bypass
+     * @param linkAction action called for each link
+     */
+    public void forEachAction(String[] values, Consumer<String> bypassAction, Consumer<String> linkAction) {
+        bypasses.forEach(bypassAction);
+        links.forEach(linkAction);
+
+        for (Fragment bypass : dynamicBypasses) {
+            bypassAction.accept(GameUtils.trimBypassParameters(bypass.render(values)));
+        }
+
+        for (Fragment link : dynamicLinks) {
+            linkAction.accept(link.render(values).trim());
+        }
+
+        if (isNull(values)) {
+            return;
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            final String value = values[i];
+            if (attributeSlots[i] || isNull(value) || value.indexOf('"') < 0) {
+                continue;
+            }
+            GameUtils.forEachHtmlBypass(value, bypassAction);
+            GameUtils.forEachHtmlLink(value, linkAction);
+        }
+    }
+
+    /**
+     * Fills the slots of the html in a single pass.
+     *
+     * The values holding slots are filled too, so the result is the same of chained replacements of the slots.
+     *
+     * @param html the html
+     * @param values the values by slot name, including the % delimiters
+     * @return the filled html
+     */
+    public static String fill(String html, Map<String, ?> values) {
+        final StringBuilder builder = new StringBuilder(html.length() + (html.length() >> 2));
+        fill(builder, html, values, true);
+        return builder.toString();
+    }
+
+    private static void fill(StringBuilder builder, String html, Map<String, ?> values, boolean nested) {
+        int literalStart = 0;
+        int start = html.indexOf('%');
+        while (start >= 0) {
+            final int end = slotEnd(html, start);
+            if (end < 0) {
+                start = html.indexOf('%', start + 1);
+                continue;
+            }
+
+            final Object value = values.get(html.substring(start, end));
+            if (nonNull(value)) {
+                builder.append(html, literalStart, start);
+                final String text = String.valueOf(value);
+                if (nested && text.indexOf('%') >= 0) {
+                    fill(builder, text, values, false);
+                } else {
+                    builder.append(text);
+                }
+                literalStart = end;
+                start = html.indexOf('%', end);
+            } else {
+                start = html.indexOf('%', end - 1);
+            }
+        }
+        builder.append(html, literalStart, html.length());
+    }
+
+    public static boolean isSlot(String text) {
+        return text.length() > 2 && text.charAt(0) == '%' && slotEnd(text, 0) == text.length();
+    }
+
+    /**
+     * @return the index after the closing % of the slot starting at start or -1 if there is no slot.
+     */
+    private static int slotEnd(String html, int start) {
+        int i = start + 1;
+        while (i < html.length() && isSlotChar(html.charAt(i))) {
+            i++;
+        }
+        return i > start + 1 && i < html.length() && html.charAt(i) == '%' ? i + 1 : -1;
+    }
+
+    private static boolean isSlotChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * @param register whether the unknown slots are registered, otherwise they are kept as literal text
+     */
+    private Fragment parse(String html, boolean register) {
+        final List<String> literals = new ArrayList<>();
+        final List<Integer> slotIds = new ArrayList<>();
+
+        int literalStart = 0;
+        int start = html.indexOf('%');
+        while (start >= 0) {
+            final int end = slotEnd(html, start);
+            if (end < 0) {
+                start = html.indexOf('%', start + 1);
+                continue;
+            }
+            final String name = html.substring(start, end);
+            final Integer id = register ? slots.computeIfAbsent(name, n -> slots.size()) : slots.get(name);
+            if (isNull(id)) {
+                start = html.indexOf('%', end - 1);
+                continue;
+            }
+            literals.add(html.substring(literalStart, start));
+            slotIds.add(id);
+            literalStart = end;
+            start = html.indexOf('%', end);
+        }
+        literals.add(html.substring(literalStart));
+        return new Fragment(literals.toArray(String[]::new), slotIds.stream().mapToInt(Integer::intValue).toArray(), html.length());
+    }
+
+    @Override
+    public String toString() {
+        return page.render(null);
+    }
+
+    private final class Fragment {
+        private final String[] literals;
+        private final int[] slots;
+        private final int length;
+
+        private Fragment(String[] literals, int[] slots, int length) {
+            this.literals = literals;
+            this.slots = slots;
+            this.length = length;
+        }
+
+        private String render(String[] values) {
+            if (slots.length == 0) {
+                return literals[0];
+            }
+
+            final StringBuilder builder = BUILDER.get();
+            builder.setLength(0);
+            builder.ensureCapacity(length);
+            for (int i = 0; i < slots.length; i++) {
+                builder.append(literals[i]);
+                final String value = isNull(values) ? null : values[slots[i]];
+                builder.append(isNull(value) ? slotNames[slots[i]] : value);
+            }
+            builder.append(literals[slots.length]);
+
+            final String result = builder.toString();
+            if (builder.capacity() > INITIAL_BUILDER_CAPACITY * 4) {
+                BUILDER.remove();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver.data.database;
+
+import io.github.joealisson.primitive.HashIntSet;
+import io.github.joealisson.primitive.IntSet;
+import org.l2j.commons.database.DatabaseFactory;
+import org.l2j.commons.threading.PriorityThreadFactory;
+import org.l2j.gameserver.data.database.dao.ItemDAO;
+import org.l2j.gameserver.data.database.data.ItemData;
+import org.l2j.gameserver.model.item.instance.Item;
+import org.l2j.gameserver.settings.GeneralSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.l2j.commons.configuration.Configurator.getSettings;
+import static org.l2j.commons.database.DatabaseAccess.getDAO;
+
+/**
+ * Write-behind store of {@link Item} rows.
+ *
+ * Items are queued by object id, so repeated updates between two flushes are written once.
+ * A dedicated thread flushes the queue periodically: deletions first, then JDBC batched upserts.
+ * When a flush fails, its items are queued again with their previous database state, so the next flush retries them.
+ *
+ * @author JoeAlisson
+ */
+public final class ItemWriteBehindStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemWriteBehindStore.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final Map<Integer, Item> pending = new ConcurrentHashMap<>();
+    private final Queue<Item> displaced = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService writer;
+    private final boolean enabled;
+    private volatile boolean shutdown;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong savedItems = new AtomicLong();
+    private final AtomicLong deletedItems = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile long lastFlushDuration;
+    private volatile long maxFlushDuration;
+
+    private ItemWriteBehindStore() {
+        final var settings = getSettings(GeneralSettings.class);
+        enabled = settings.itemWriteBehind();
+        if (enabled) {
+            final long interval = Math.max(100, settings.itemWriteBehindInterval());
+            writer = Executors.newSingleThreadScheduledExecutor(new PriorityThreadFactory("ItemWriteBehind", Thread.NORM_PRIORITY));
+            writer.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            writer = null;
+        }
+    }
+
+    /**
+     * @return {@code true} if item writes must be queued, {@code false} if they must be done synchronously
+     */
+    public boolean isEnabled() {
+        return enabled && !shutdown;
+    }
+
+    /**
+     * Queues the item to be written on the next flush, replacing any pending write of the same item.
+     *
+     * @param item the item to be written
+     */
+    public void store(Item item) {
+        final Item previous = pending.put(item.getObjectId(), item);
+        if (isNull(previous)) {
+            queued.incrementAndGet();
+        } else if (previous != item) {
+            // the object id was released and reused, the old item must still be written
+            displaced.add(previous);
+            queued.incrementAndGet();
+        } else {
+            coalesced.incrementAndGet();
+        }
+
+        if (shutdown) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all the pending items, blocking until they are stored.
+     */
+    public void flush() {
+        if (pending.isEmpty() && displaced.isEmpty()) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            final var batch = new Batch();
+            Item item;
+            while (nonNull(item = displaced.poll())) {
+                item.storeIn(batch);
+            }
+
+            for (Integer objectId : pending.keySet()) {
+                item = pending.remove(objectId);
+                if (nonNull(item)) {
+                    item.storeIn(batch);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the pending items owned by the given owner, now or in the database, blocking until they are stored.
+     * Must be called before reading the owner's items from the database.
+     *
+     * @param ownerId the object id of the owner
+     */
+    public void flush(int ownerId) {
+        if (pending.isEmpty() && displaced.isEmpty()) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            final var batch = new Batch();
+            for (var iterator = displaced.iterator(); iterator.hasNext(); ) {
+                final Item item = iterator.next();
+                if (isOwnedBy(item, ownerId)) {
+                    iterator.remove();
+                    item.storeIn(batch);
+                }
+            }
+
+            for (Item item : pending.values()) {
+                if (isOwnedBy(item, ownerId) && pending.remove(item.getObjectId(), item)) {
+                    item.storeIn(batch);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static boolean isOwnedBy(Item item, int ownerId) {
+        return item.getOwnerId() == ownerId || item.getStoredOwnerId() == ownerId;
+    }
+
+    private void write(Batch batch) {
+        final long start = System.currentTimeMillis();
+        try {
+            final var itemDAO = getDAO(ItemDAO.class);
+            if (!batch.deletes.isEmpty()) {
+                itemDAO.deleteItems(batch.deletes);
+                itemDAO.deleteVariations(batch.deletes);
+                itemDAO.deleteElementals(batch.deletes);
+                itemDAO.deleteSpecialAbilities(batch.deletes);
+            }
+
+            for (int i = 0; i < batch.saves.size(); i += BATCH_SIZE) {
+                itemDAO.save(batch.saves.subList(i, Math.min(i + BATCH_SIZE, batch.saves.size())));
+            }
+
+            if (!batch.withAttributes.isEmpty()) {
+                try (var con = DatabaseFactory.getInstance().getConnection()) {
+                    for (Item item : batch.withAttributes) {
+                        item.storeAttributes(con);
+                    }
+                }
+            }
+
+            batch.onStored();
+            savedItems.addAndGet(batch.saves.size());
+            deletedItems.addAndGet(batch.deletes.size());
+        } catch (Exception e) {
+            failedFlushes.incrementAndGet();
+            LOGGER.error("Could not flush {} items to the database, they will be retried on the next flush", batch.saves.size() + batch.deletes.size(), e);
+            batch.onFailed();
+            batch.removed.forEach(this::requeue);
+            batch.savedItems.forEach(this::requeue);
+        } finally {
+            flushes.incrementAndGet();
+            lastFlushDuration = System.currentTimeMillis() - start;
+            maxFlushDuration = Math.max(maxFlushDuration, lastFlushDuration);
+        }
+    }
+
+    private void requeue(Item item) {
+        final Item newer = pending.putIfAbsent(item.getObjectId(), item);
+        if (nonNull(newer) && newer != item) {
+            displaced.add(item);
+        }
+    }
+
+    /**
+     * Stops the writer thread and flushes everything pending. Any later write is done synchronously.
+     */
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+
+        shutdown = true;
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public int getQueueDepth() {
+        return pending.size() + displaced.size();
+    }
+
+    public CharSequence getStats() {
+        return new StringBuilder("Item Write Behind Store\n")
+                .append("=================================================\n")
+                .append("\tEnabled: ............... ").append(isEnabled()).append("\n")
+                .append("\tQueue Depth: ........... ").append(getQueueDepth()).append("\n")
+                .append("\tQueued: ................ ").append(queued.get()).append("\n")
+                .append("\tCoalesced: ............. ").append(coalesced.get()).append("\n")
+                .append("\tFlushes: ............... ").append(flushes.get()).append("\n")
+                .append("\tFailed Flushes: ........ ").append(failedFlushes.get()).append("\n")
+                .append("\tSaved Items: ........... ").append(savedItems.get()).append("\n")
+                .append("\tDeleted Items: ......... ").append(deletedItems.get()).append("\n")
+                .append("\tLast Flush Duration: ... ").append(lastFlushDuration).append(" ms\n")
+                .append("\tMax Flush Duration: .... ").append(maxFlushDuration).append(" ms\n");
+    }
+
+    public static ItemWriteBehindStore getInstance() {
+        return Singleton.INSTANCE;
+    }
+
+    private static final class Singleton {
+        private static final ItemWriteBehindStore INSTANCE = new ItemWriteBehindStore();
+    }
+
+    /**
+     * The rows of a single flush, filled by {@link Item#storeIn(Batch)} while holding the item's database lock.
+     */
+    public static final class Batch {
+        private final List<ItemData> saves = new ArrayList<>();
+        private final List<Item> savedItems = new ArrayList<>();
+        private final Set<Item> inserted = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final List<Item> withAttributes = new ArrayList<>();
+        private final List<Item> removed = new ArrayList<>();
+        private final IntSet deletes = new HashIntSet();
+
+        private Batch() {
+        }
+
+        public void save(Item item, boolean existsInDb, boolean hasAttributes) {
+            saves.add(ItemData.of(item));
+            savedItems.add(item);
+            if (!existsInDb) {
+                inserted.add(item);
+            }
+            if (hasAttributes) {
+                withAttributes.add(item);
+            }
+        }
+
+        public void delete(Item item) {
+            removed.add(item);
+            deletes.add(item.getObjectId());
+        }
+
+        private boolean isEmpty() {
+            return saves.isEmpty() && deletes.isEmpty();
+        }
+
+        private void onStored() {
+            removed.forEach(item -> item.setStoredOwnerId(0));
+            for (int i = 0; i < saves.size(); i++) {
+                savedItems.get(i).setStoredOwnerId(saves.get(i).getOwnerId());
+            }
+        }
+
+        private void onFailed() {
+            removed.forEach(item -> item.onStoreFailed(true));
+            for (Item item : savedItems) {
+                item.onStoreFailed(!inserted.contains(item));
+            }
+        }
+    }
+}
@@ -18,8 +18,10 @@
  */
 package org.l2j.gameserver.data.database.dao;
 
+import io.github.joealisson.primitive.IntSet;
 import org.l2j.commons.database.DAO;
 import org.l2j.commons.database.annotation.Query;
+import org.l2j.gameserver.data.database.data.ItemData;
 import org.l2j.gameserver.data.database.data.ItemOnGroundData;
 
 import java.util.Collection;
@@ -59,6 +61,20 @@ public interface ItemDAO extends DAO<Object> {
 
     void save(Collection<ItemOnGroundData> datas);
 
+    void save(List<ItemData> items);
+
+    @Query(value = "DELETE FROM items WHERE object_id = :objectIds:", batchIndex = 0)
+    void deleteItems(IntSet objectIds);
+
+    @Query(value = "DELETE FROM item_variations WHERE itemId = :objectIds:", batchIndex = 0)
+    void deleteVariations(IntSet objectIds);
+
+    @Query(value = "DELETE FROM item_elementals WHERE itemId = :objectIds:", batchIndex = 0)
+    void deleteElementals(IntSet objectIds);
+
+    @Query(value = "DELETE FROM item_special_abilities WHERE objectId = :objectIds:", batchIndex = 0)
+    void deleteSpecialAbilities(IntSet objectIds);
+
     @Query("DELETE FROM item_variations WHERE itemId IN (SELECT object_id FROM items WHERE items.owner_id=:playerId:)")
     void deleteVariationsByOwner(int playerId);
 
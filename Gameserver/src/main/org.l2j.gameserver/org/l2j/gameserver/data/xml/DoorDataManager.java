@@ -26,7 +26,7 @@ import org.l2j.gameserver.model.actor.templates.DoorTemplate;
 import org.l2j.gameserver.model.instancezone.Instance;
 import org.l2j.gameserver.settings.ServerSettings;
 import org.l2j.gameserver.util.GameXmlReader;
-import org.l2j.gameserver.world.MapRegionManager;
+import org.l2j.gameserver.world.CollisionGrid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -52,7 +52,7 @@ public final class DoorDataManager extends GameXmlReader {
     private final Map<String, IntSet> groups = new HashMap<>();
     private final IntMap<Door> doors = new HashIntMap<>();
     private final IntMap<StatsSet> templates = new HashIntMap<>();
-    private final IntMap<List<Door>> regions = new HashIntMap<>();
+    private final CollisionGrid<Door> collisionGrid = new CollisionGrid<>();
 
     private DoorDataManager() {
     }
@@ -66,7 +66,7 @@ public final class DoorDataManager extends GameXmlReader {
     public void load() {
         doors.clear();
         groups.clear();
-        regions.clear();
+        collisionGrid.clear();
         parseDatapackFile("data/doors.xml");
         releaseResources();
     }
@@ -74,7 +74,7 @@ public final class DoorDataManager extends GameXmlReader {
     @Override
     public void parseDocument(Document doc, File f) {
         forEach(doc, "list", listNode -> forEach(listNode, "door", doorNode -> spawnDoor(parseDoor(doorNode))));
-        LOGGER.info("Loaded {} Door Templates for {} regions.", doors.size(), regions.size());
+        LOGGER.info("Loaded {} Door Templates.", doors.size());
     }
 
     public StatsSet parseDoor(Node doorNode) {
@@ -130,7 +130,13 @@ public final class DoorDataManager extends GameXmlReader {
 
         templates.put(door.getId(), set);
         doors.put(door.getId(), door);
-        regions.computeIfAbsent(MapRegionManager.getInstance().getMapRegionLocId(door), key -> new ArrayList<>()).add(door);
+        addToCollisionGrid(door);
+    }
+
+    private void addToCollisionGrid(Door door) {
+        final var nodeX = door.getTemplate().getNodeX();
+        final var nodeY = door.getTemplate().getNodeY();
+        collisionGrid.add(door, min(nodeX), min(nodeY), max(nodeX), max(nodeY));
     }
 
     /**
@@ -176,44 +182,65 @@ public final class DoorDataManager extends GameXmlReader {
      * GodKratos: TODO: remove GeoData checks from door table and convert door nodes to Geo zones
      */
     public boolean checkIfDoorsBetween(int x, int y, int z, int tx, int ty, int tz, Instance instance, boolean doubleFaceCheck) {
-        final Collection<Door> allDoors = (instance != null) ? instance.getDoors() : regions.get(MapRegionManager.getInstance().getMapRegionLocId(x, y));
-        if (allDoors == null) {
+        if (instance != null) {
+            for (Door door : instance.getDoors()) {
+                if (isDoorBetween(door, x, y, z, tx, ty, tz, doubleFaceCheck)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return collisionGrid.anyMatch(x, y, tx, ty, door -> isDoorBetween(door, x, y, z, tx, ty, tz, doubleFaceCheck));
+    }
+
+    private boolean isDoorBetween(Door doorInst, int x, int y, int z, int tx, int ty, int tz, boolean doubleFaceCheck) {
+        // check dead and open
+        if (doorInst.isDead() || doorInst.isOpen() || !doorInst.checkCollision() || (doorInst.getX(0) == 0)) {
             return false;
         }
 
-        for (Door doorInst : allDoors) {
-            // check dead and open
-            if (doorInst.isDead() || doorInst.isOpen() || !doorInst.checkCollision() || (doorInst.getX(0) == 0)) {
+        boolean intersectFace = false;
+        for (int i = 0; i < 4; i++) {
+            final int j = (i + 1) < 4 ? i + 1 : 0;
+            // lower part of the multiplier fraction, if it is 0 we avoid an error and also know that the lines are parallel
+            final int denominator = ((ty - y) * (doorInst.getX(i) - doorInst.getX(j))) - ((tx - x) * (doorInst.getY(i) - doorInst.getY(j)));
+            if (denominator == 0) {
                 continue;
             }
 
-            boolean intersectFace = false;
-            for (int i = 0; i < 4; i++) {
-                final int j = (i + 1) < 4 ? i + 1 : 0;
-                // lower part of the multiplier fraction, if it is 0 we avoid an error and also know that the lines are parallel
-                final int denominator = ((ty - y) * (doorInst.getX(i) - doorInst.getX(j))) - ((tx - x) * (doorInst.getY(i) - doorInst.getY(j)));
-                if (denominator == 0) {
-                    continue;
-                }
-
-                // multipliers to the equations of the lines. If they are lower than 0 or bigger than 1, we know that segments don't intersect
-                final float multiplier1 = (float) (((doorInst.getX(j) - doorInst.getX(i)) * (y - doorInst.getY(i))) - ((doorInst.getY(j) - doorInst.getY(i)) * (x - doorInst.getX(i)))) / denominator;
-                final float multiplier2 = (float) (((tx - x) * (y - doorInst.getY(i))) - ((ty - y) * (x - doorInst.getX(i)))) / denominator;
-                if ((multiplier1 >= 0) && (multiplier1 <= 1) && (multiplier2 >= 0) && (multiplier2 <= 1)) {
-                    final int intersectZ = Math.round(z + (multiplier1 * (tz - z)));
-                    // now checking if the resulting point is between door's min and max z
-                    if ((intersectZ > doorInst.getZMin()) && (intersectZ < doorInst.getZMax())) {
-                        if (!doubleFaceCheck || intersectFace) {
-                            return true;
-                        }
-                        intersectFace = true;
+            // multipliers to the equations of the lines. If they are lower than 0 or bigger than 1, we know that segments don't intersect
+            final float multiplier1 = (float) (((doorInst.getX(j) - doorInst.getX(i)) * (y - doorInst.getY(i))) - ((doorInst.getY(j) - doorInst.getY(i)) * (x - doorInst.getX(i)))) / denominator;
+            final float multiplier2 = (float) (((tx - x) * (y - doorInst.getY(i))) - ((ty - y) * (x - doorInst.getX(i)))) / denominator;
+            if ((multiplier1 >= 0) && (multiplier1 <= 1) && (multiplier2 >= 0) && (multiplier2 <= 1)) {
+                final int intersectZ = Math.round(z + (multiplier1 * (tz - z)));
+                // now checking if the resulting point is between door's min and max z
+                if ((intersectZ > doorInst.getZMin()) && (intersectZ < doorInst.getZMax())) {
+                    if (!doubleFaceCheck || intersectFace) {
+                        return true;
                     }
+                    intersectFace = true;
                 }
             }
         }
         return false;
     }
 
+    private static int min(int[] values) {
+        int min = values[0];
+        for (int value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static int max(int[] values) {
+        int max = values[0];
+        for (int value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
     public static void init() {
         getInstance().load();
     }
@@ -26,8 +26,7 @@ import org.l2j.gameserver.model.actor.instance.Fence;
 import org.l2j.gameserver.model.instancezone.Instance;
 import org.l2j.gameserver.settings.ServerSettings;
 import org.l2j.gameserver.util.GameXmlReader;
-import org.l2j.gameserver.world.World;
-import org.l2j.gameserver.world.WorldRegion;
+import org.l2j.gameserver.world.CollisionGrid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -35,11 +34,6 @@ import org.w3c.dom.Node;
 
 import java.io.File;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import static org.l2j.commons.configuration.Configurator.getSettings;
@@ -53,7 +47,7 @@ public final class FenceDataManager extends GameXmlReader {
 
     private static final int MAX_Z_DIFF = 100;
 
-    private final Map<WorldRegion, List<Fence>> regions = new ConcurrentHashMap<>();
+    private final CollisionGrid<Fence> collisionGrid = new CollisionGrid<>();
     private final IntMap<Fence> fences = new CHashIntMap<>();
 
     private FenceDataManager() {
@@ -102,16 +96,12 @@ public final class FenceDataManager extends GameXmlReader {
 
     private void addFence(Fence fence) {
         fences.put(fence.getObjectId(), fence);
-        regions.computeIfAbsent(World.getInstance().getRegion(fence), key -> new ArrayList<>()).add(fence);
+        collisionGrid.add(fence, fence.getXMin(), fence.getYMin(), fence.getXMax(), fence.getYMax());
     }
 
     public void removeFence(Fence fence) {
         fences.remove(fence.getObjectId());
-
-        final List<Fence> fencesInRegion = regions.get(World.getInstance().getRegion(fence));
-        if (fencesInRegion != null) {
-            fencesInRegion.remove(fence);
-        }
+        collisionGrid.remove(fence, fence.getXMin(), fence.getYMin(), fence.getXMax(), fence.getYMax());
     }
 
     public IntMap<Fence> getFences() {
@@ -161,8 +151,7 @@ public final class FenceDataManager extends GameXmlReader {
             return false;
         };
 
-        final WorldRegion region = World.getInstance().getRegion(x, y); // Should never be null.
-        return region != null && regions.getOrDefault(region, Collections.emptyList()).stream().anyMatch(filter);
+        return collisionGrid.anyMatch(x, y, tx, ty, filter);
     }
 
     private boolean crossLinePart(double x1, double y1, double x2, double y2, double x3, double y3, double x4, double y4, double xMin, double yMin, double xMax, double yMax) {
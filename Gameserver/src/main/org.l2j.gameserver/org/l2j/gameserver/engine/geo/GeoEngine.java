@@ -33,12 +33,10 @@ import org.l2j.gameserver.world.World;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.RandomAccessFile;
-import java.nio.ByteOrder;
-import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 import static org.l2j.commons.configuration.Configurator.getSettings;
@@ -55,17 +53,16 @@ public class GeoEngine {
     private static final double SIGHT_LINE_PERCENT = 0.75;
     private static final int MAX_OBSTACLE_HEIGHT = 32;
 
-    private final ABlock[][] blocks = new ABlock[GeoStructure.GEO_BLOCKS_X][GeoStructure.GEO_BLOCKS_Y];
-    private final BlockNull nullBlock = new BlockNull();
+    private final GeoRegion[][] regions = new GeoRegion[GeoStructure.GEO_REGIONS_X][GeoStructure.GEO_REGIONS_Y];
+    private final LineOfSightCache lineOfSightCache;
 
     protected GeoEngine() {
-
+        final int cacheSize = getSettings(GeoEngineSettings.class).lineOfSightCacheSize();
+        lineOfSightCache = cacheSize > 0 ? new LineOfSightCache(cacheSize) : null;
     }
 
     protected void load() {
-        BlockMultilayer.initialize();
         loadGeodataFiles();
-        BlockMultilayer.release();
     }
 
     private void loadGeodataFiles() {
@@ -165,8 +162,9 @@ public class GeoEngine {
     }
 
     /**
-     * Loads geodata from a file. When file does not exist, is corrupted or not consistent, loads none geodata.
+     * Maps geodata from a file. When file does not exist, is corrupted or not consistent, loads none geodata.
      *
+     * The region data is kept on the memory-mapped file, so it stays out of the heap and is shared with the OS page cache.
      *
      * @param filePath : The Geodata File Path
      * @param regionX : Geodata file region X coordinate.
@@ -174,40 +172,15 @@ public class GeoEngine {
      * @return boolean : True, when geodata file was loaded without problem.
      */
     private boolean loadGeoBlocks(Path filePath, int regionX, int regionY) {
-
-        // standard load
-        try (RandomAccessFile raf = new RandomAccessFile(filePath.toAbsolutePath().toString(), "r");
-             FileChannel fc = raf.getChannel()) {
-            // initialize file buffer
-            MappedByteBuffer buffer = fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size()).load();
-            buffer.order(ByteOrder.LITTLE_ENDIAN);
-
-            // get block indexes
-            final int blockX = (regionX - World.TILE_X_MIN) * GeoStructure.REGION_BLOCKS_X;
-            final int blockY = (regionY - World.TILE_Y_MIN) * GeoStructure.REGION_BLOCKS_Y;
-
-            // loop over region blocks
-            for (int ix = 0; ix < GeoStructure.REGION_BLOCKS_X; ix++) {
-                for (int iy = 0; iy < GeoStructure.REGION_BLOCKS_Y; iy++) {
-                    // get block type
-                    final byte type = buffer.get();
-
-                    // load block according to block type
-                    blocks[blockX + ix][blockY + iy] = switch (type) {
-                        case GeoStructure.TYPE_FLAT_L2D -> new BlockFlat(buffer, GeoFormat.L2D);
-                        case GeoStructure.TYPE_COMPLEX_L2D -> new BlockComplex(buffer, GeoFormat.L2D);
-                        case GeoStructure.TYPE_MULTILAYER_L2D -> new BlockMultilayer(buffer, GeoFormat.L2D);
-                        default -> throw new IllegalArgumentException("Unknown block type: " + type);
-                    };
-                }
-            }
+        try (FileChannel fc = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            final var region = GeoRegion.of(fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size()));
 
             // check data consistency
-            if (buffer.remaining() > 0) {
-                LOGGER.warn("GeoEngine: Region file {} can be corrupted, remaining {} bytes to read.", filePath, buffer.remaining());
+            if (region.remaining() > 0) {
+                LOGGER.warn("GeoEngine: Region file {} can be corrupted, remaining {} bytes to read.", filePath, region.remaining());
             }
 
-            // loading was successful
+            regions[regionX - World.TILE_X_MIN][regionY - World.TILE_Y_MIN] = region;
             return true;
         } catch (Exception e) {
             LOGGER.error("Error while loading {} region file.", filePath);
@@ -228,32 +201,23 @@ public class GeoEngine {
      * @param regionY : Geodata file region Y coordinate.
      */
     private void loadNullBlocks(int regionX, int regionY) {
-        // get block indexes
-        final int blockX = (regionX - World.TILE_X_MIN) * GeoStructure.REGION_BLOCKS_X;
-        final int blockY = (regionY - World.TILE_Y_MIN) * GeoStructure.REGION_BLOCKS_Y;
-
-        // load all null blocks
-        for (int ix = 0; ix < GeoStructure.REGION_BLOCKS_X; ix++) {
-            for (int iy = 0; iy < GeoStructure.REGION_BLOCKS_Y; iy++) {
-                blocks[blockX + ix][blockY + iy] = nullBlock;
-            }
-        }
+        regions[regionX - World.TILE_X_MIN][regionY - World.TILE_Y_MIN] = GeoRegion.NULL;
     }
 
     /**
-     * Returns block of geodata on given coordinates.
+     * Returns region of geodata on given coordinates.
      *
      * @param geoX : Geodata X
      * @param geoY : Geodata Y
-     * @return {@link ABlock} : Block of geodata.
+     * @return {@link GeoRegion} : Region of geodata.
      */
-    private ABlock getBlock(int geoX, int geoY) {
-        final int x = geoX / GeoStructure.BLOCK_CELLS_X;
-        final int y = geoY / GeoStructure.BLOCK_CELLS_Y;
+    private GeoRegion getRegion(int geoX, int geoY) {
+        final int x = geoX / GeoStructure.REGION_CELLS_X;
+        final int y = geoY / GeoStructure.REGION_CELLS_Y;
 
         // if x or y is out of array return null
-        if ((x > -1) && (y > -1) && (x < GeoStructure.GEO_BLOCKS_X) && (y < GeoStructure.GEO_BLOCKS_Y)) {
-            return blocks[x][y];
+        if ((geoX > -1) && (geoY > -1) && (x < GeoStructure.GEO_REGIONS_X) && (y < GeoStructure.GEO_REGIONS_Y)) {
+            return regions[x][y];
         }
         return null;
     }
@@ -266,14 +230,14 @@ public class GeoEngine {
      * @return boolean : True, if given geo coordinates have geodata
      */
     public final boolean hasGeoPos(int geoX, int geoY) {
-        final ABlock block = getBlock(geoX, geoY);
-        if (block == null) // null block check
+        final GeoRegion region = getRegion(geoX, geoY);
+        if (region == null) // null region check
         {
             // TODO: Find when this can be null. (Bad geodata? Check World getRegion method.)
             // LOGGER.warn("Could not find geodata block at " + getWorldX(geoX) + ", " + getWorldY(geoY) + ".");
             return false;
         }
-        return block.hasGeoPos();
+        return region.hasGeoPos();
     }
 
     /**
@@ -285,8 +249,8 @@ public class GeoEngine {
      * @return short : Cell geodata Z coordinate, closest to given coordinates.
      */
     public final short getHeightNearest(int geoX, int geoY, int worldZ) {
-        final ABlock block = getBlock(geoX, geoY);
-        return block != null ? block.getHeightNearest(geoX, geoY, worldZ) : (short) worldZ;
+        final GeoRegion region = getRegion(geoX, geoY);
+        return region != null ? region.getHeightNearest(geoX, geoY, worldZ) : (short) worldZ;
     }
 
     /**
@@ -298,8 +262,8 @@ public class GeoEngine {
      * @return short : Cell NSWE flag byte coordinate, closest to given coordinates.
      */
     public final byte getNsweNearest(int geoX, int geoY, int worldZ) {
-        final ABlock block = getBlock(geoX, geoY);
-        return block != null ? block.getNsweNearest(geoX, geoY, worldZ) : (byte) 0xFF;
+        final GeoRegion region = getRegion(geoX, geoY);
+        return region != null ? region.getNsweNearest(geoX, geoY, worldZ) : (byte) 0xFF;
     }
 
     /**
@@ -397,7 +361,21 @@ public class GeoEngine {
             oheight = ((Creature) origin).getTemplate().getCollisionHeight();
         }
 
-        return checkSee(gox, goy, goz, oheight, gtx, gty, gtz, tHeight, origin.getInstanceWorld());
+        if (lineOfSightCache == null) {
+            return checkSee(gox, goy, goz, oheight, gtx, gty, gtz, tHeight, origin.getInstanceWorld());
+        }
+
+        // the geodata is static, so the result of a cells pair never changes. Doors and fences are checked above.
+        final long originKey = LineOfSightCache.key(gox, goy, goz, oheight);
+        final long targetKey = LineOfSightCache.key(gtx, gty, gtz, tHeight);
+        final byte cached = lineOfSightCache.get(originKey, targetKey);
+        if (cached != 0) {
+            return LineOfSightCache.isVisible(cached);
+        }
+
+        final boolean canSee = checkSee(gox, goy, goz, oheight, gtx, gty, gtz, tHeight, origin.getInstanceWorld());
+        lineOfSightCache.put(originKey, targetKey, canSee);
+        return canSee;
     }
 
     /**
@@ -456,7 +434,7 @@ public class GeoEngine {
         byte nswet = getNsweNearest(gtx, gty, gtz);
 
         // loop
-        ABlock block;
+        GeoRegion region;
         int index;
         for (int i = 0; i < ((dm + 1) / 2); i++) {
             // reset direction flag
@@ -493,13 +471,13 @@ public class GeoEngine {
 
             {
                 // get block of the next cell
-                block = getBlock(nox, noy);
+                region = getRegion(nox, noy);
 
                 // get index of particular layer, based on movement conditions
                 if ((nsweo & diro) == 0) {
-                    index = block.getIndexAbove(nox, noy, goz - GeoStructure.CELL_IGNORE_HEIGHT);
+                    index = region.getIndexAbove(nox, noy, goz - GeoStructure.CELL_IGNORE_HEIGHT);
                 } else {
-                    index = block.getIndexBelow(nox, noy, goz + GeoStructure.CELL_IGNORE_HEIGHT);
+                    index = region.getIndexBelow(nox, noy, goz + GeoStructure.CELL_IGNORE_HEIGHT);
                 }
 
                 // layer does not exist, return
@@ -508,7 +486,7 @@ public class GeoEngine {
                 }
 
                 // get layer and next line of sight Z coordinate
-                goz = block.getHeight(index);
+                goz = region.getHeight(nox, noy, index);
                 losoz += dz;
 
                 // perform line of sight check, return when fails
@@ -517,17 +495,17 @@ public class GeoEngine {
                 }
 
                 // get layer nswe
-                nsweo = block.getNswe(index);
+                nsweo = region.getNswe(nox, noy, index);
             }
             {
                 // get block of the next cell
-                block = getBlock(ntx, nty);
+                region = getRegion(ntx, nty);
 
                 // get index of particular layer, based on movement conditions
                 if ((nswet & dirt) == 0) {
-                    index = block.getIndexAbove(ntx, nty, gtz - GeoStructure.CELL_IGNORE_HEIGHT);
+                    index = region.getIndexAbove(ntx, nty, gtz - GeoStructure.CELL_IGNORE_HEIGHT);
                 } else {
-                    index = block.getIndexBelow(ntx, nty, gtz + GeoStructure.CELL_IGNORE_HEIGHT);
+                    index = region.getIndexBelow(ntx, nty, gtz + GeoStructure.CELL_IGNORE_HEIGHT);
                 }
 
                 // layer does not exist, return
@@ -536,7 +514,7 @@ public class GeoEngine {
                 }
 
                 // get layer and next line of sight Z coordinate
-                gtz = block.getHeight(index);
+                gtz = region.getHeight(ntx, nty, index);
                 lostz -= dz;
 
                 // perform line of sight check, return when fails
@@ -545,7 +523,7 @@ public class GeoEngine {
                 }
 
                 // get layer nswe
-                nswet = block.getNswe(index);
+                nswet = region.getNswe(ntx, nty, index);
             }
 
             // update coords
@@ -775,6 +753,14 @@ public class GeoEngine {
         return null;
     }
 
+    public CharSequence getLineOfSightStats() {
+        return lineOfSightCache != null ? lineOfSightCache.getStats() : "Line of Sight Cache is disabled\n";
+    }
+
+    public CharSequence getPathFindingStats() {
+        return "Path Finding is disabled\n";
+    }
+
     public static void init() {
         getInstance().load();
     }
@@ -18,8 +18,6 @@
  */
 package org.l2j.gameserver.engine.geo;
 
-import org.l2j.gameserver.engine.geo.geodata.GeoLocation;
-import org.l2j.gameserver.engine.geo.pathfinding.Node;
 import org.l2j.gameserver.engine.geo.pathfinding.NodeBuffer;
 import org.l2j.gameserver.model.Location;
 import org.l2j.gameserver.model.instancezone.Instance;
@@ -27,9 +25,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author Hasha
@@ -39,64 +37,39 @@ final class GeoEnginePathFinding extends GeoEngine {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GeoEnginePathFinding.class);
 
-    private final BufferHolder[] buffers = {
-        new BufferHolder(100, 6),
-        new BufferHolder(128, 6),
-        new BufferHolder(192, 6),
-        new BufferHolder(256, 4),
-        new BufferHolder(320, 4),
-        new BufferHolder(384, 4),
-        new BufferHolder(500, 2)
-    };
-
-    GeoEnginePathFinding() {
-        LOGGER.info("Loaded {} path node buffers.", buffers.length);
-    }
+    private static final int[] BUFFER_SIZES = { 100, 128, 192, 256, 320, 384, 500 };
+    private static final int[] BUFFER_COUNTS = { 6, 6, 6, 4, 4, 4, 2 };
 
     /**
-     * Create list of node locations as result of calculated buffer node tree.
-     *
-     * @param target : the entry point
-     * @return List<NodeLoc> : list of node location
+     * The idle buffers shared by all threads, created on demand and retained up to the count of its size class.
+     * When all of them are in use a temporary buffer is created and discarded after the search.
      */
-    private static List<Location> constructPath(Node target) {
-        // create empty list
-        LinkedList<Location> list = new LinkedList<>();
-
-        // set direction X/Y
-        int dx = 0;
-        int dy = 0;
-
-        // get target parent
-        Node parent = target.getParent();
-
-        // while parent exists
-        while (parent != null) {
-            // get parent <> target direction X/Y
-            final int nx = parent.getLoc().getGeoX() - target.getLoc().getGeoX();
-            final int ny = parent.getLoc().getGeoY() - target.getLoc().getGeoY();
-
-            // direction has changed?
-            if ((dx != nx) || (dy != ny)) {
-                // add node to the beginning of the list
-                list.addFirst(target.getLoc());
-
-                // update direction X/Y
-                dx = nx;
-                dy = ny;
-            }
-
-            // move to next node, set target and get its parent
-            target = parent;
-            parent = target.getParent();
+    private final ArrayBlockingQueue<NodeBuffer>[] buffers;
+
+    private final LongAdder requestedPaths = new LongAdder();
+    private final LongAdder foundPaths = new LongAdder();
+    private final LongAdder iterations = new LongAdder();
+    private final LongAdder iterationLimitFallbacks = new LongAdder();
+    private final LongAdder distanceFallbacks = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder createdBuffers = new LongAdder();
+    private final long startTime = System.currentTimeMillis();
+
+    @SuppressWarnings("unchecked")
+    GeoEnginePathFinding() {
+        buffers = new ArrayBlockingQueue[BUFFER_SIZES.length];
+        int count = 0;
+        for (int i = 0; i < BUFFER_SIZES.length; i++) {
+            buffers[i] = new ArrayBlockingQueue<>(BUFFER_COUNTS[i]);
+            count += BUFFER_COUNTS[i];
         }
-
-        // return list
-        return list;
+        LOGGER.info("Using up to {} shared path node buffers.", count);
     }
 
     @Override
     public List<Location> findPath(int ox, int oy, int oz, int tx, int ty, int tz, Instance instance) {
+        requestedPaths.increment();
+
         // get origin and check existing geo coords
         int gox = getGeoX(ox);
         int goy = getGeoY(oy);
@@ -116,117 +89,125 @@ final class GeoEnginePathFinding extends GeoEngine {
         short gtz = getHeightNearest(gtx, gty, tz);
 
         // Prepare buffer for pathfinding calculations
-        final NodeBuffer buffer = getBuffer(64 + (2 * Math.max(Math.abs(gox - gtx), Math.abs(goy - gty))));
-        if (buffer == null) {
+        final int sizeClass = sizeClassOf(64 + (2 * Math.max(Math.abs(gox - gtx), Math.abs(goy - gty))));
+        if (sizeClass < 0) {
+            distanceFallbacks.increment();
             return null;
         }
 
-        // find path
-        List<Location> path = null;
+        final NodeBuffer buffer = acquireBuffer(sizeClass);
         try {
-            Node result = buffer.findPath(gox, goy, goz, gtx, gty, gtz);
+            final int size;
+            try {
+                size = buffer.findPath(gox, goy, goz, gtx, gty, gtz);
+            } catch (Exception e) {
+                failures.increment();
+                LOGGER.warn(e.getMessage());
+                return null;
+            } finally {
+                iterations.add(buffer.getIterations());
+            }
 
-            if (result == null) {
+            if (size < 0) {
+                if (buffer.getIterations() >= NodeBuffer.MAX_ITERATIONS) {
+                    iterationLimitFallbacks.increment();
+                } else {
+                    failures.increment();
+                }
                 return null;
             }
 
-            path = constructPath(result);
-        } catch (Exception e) {
-            LOGGER.warn(e.getMessage());
-            return null;
+            foundPaths.increment();
+            return toLocations(buffer, optimizePath(buffer, size, gox, goy, goz, instance));
         } finally {
-            buffer.free();
+            // the buffer is discarded when the size class already retains its count of idle buffers
+            buffers[sizeClass].offer(buffer);
         }
+    }
 
-        // check path
-        if (path.size() < 3) {
-            return path;
+    /**
+     * Remove the points of the path that can be skipped by moving directly to the next one.
+     *
+     * @return the size of the optimized path
+     */
+    private int optimizePath(NodeBuffer buffer, int size, int gox, int goy, short goz, Instance instance) {
+        if (size < 3) {
+            return size;
         }
 
-        // get path list iterator
-        ListIterator<Location> point = path.listIterator();
-
-        // get node A (origin)
+        // node A (origin)
         int nodeAx = gox;
         int nodeAy = goy;
-        short nodeAz = goz;
-
-        // get node B
-        GeoLocation nodeB = (GeoLocation) point.next();
-
-        // iterate thought the path to optimize it
-        while (point.hasNext()) {
-            // get node C
-            GeoLocation nodeC = (GeoLocation) path.get(point.nextIndex());
-
-            // check movement from node A to node C
-            GeoLocation loc = checkMove(nodeAx, nodeAy, nodeAz, nodeC.getGeoX(), nodeC.getGeoY(), nodeC.getZ(), instance);
-            if ((loc.getGeoX() == nodeC.getGeoX()) && (loc.getGeoY() == nodeC.getGeoY())) {
-                // can move from node A to node C
-
-                // remove node B
-                point.remove();
-            } else {
-                // can not move from node A to node C
-
-                // set node A (node B is part of path, update A coordinates)
-                nodeAx = nodeB.getGeoX();
-                nodeAy = nodeB.getGeoY();
-                nodeAz = (short) nodeB.getZ();
+        int nodeAz = goz;
+
+        int kept = 0;
+        int nodeB = 0;
+        for (int nodeC = 1; nodeC < size; nodeC++) {
+            final int cx = buffer.getPathX(nodeC);
+            final int cy = buffer.getPathY(nodeC);
+
+            final var loc = checkMove(nodeAx, nodeAy, nodeAz, cx, cy, buffer.getPathZ(nodeC), instance);
+            if (loc.getGeoX() != cx || loc.getGeoY() != cy) {
+                // can not move from node A to node C, node B is part of path
+                buffer.keepPathPoint(nodeB, kept++);
+                nodeAx = buffer.getPathX(nodeB);
+                nodeAy = buffer.getPathY(nodeB);
+                nodeAz = buffer.getPathZ(nodeB);
             }
-
-            // set node B
-            nodeB = (GeoLocation) point.next();
+            nodeB = nodeC;
         }
+        buffer.keepPathPoint(nodeB, kept++);
+        return kept;
+    }
 
+    private List<Location> toLocations(NodeBuffer buffer, int size) {
+        final List<Location> path = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            path.add(new Location(getWorldX(buffer.getPathX(i)), getWorldY(buffer.getPathY(i)), buffer.getPathZ(i)));
+        }
         return path;
     }
 
     /**
-     * Provides optimize selection of the buffer. When all pre-initialized buffer are locked, creates new buffer.
-     *
      * @param size : pre-calculated minimal required size
-     * @return NodeBuffer : buffer
+     * @return the index of the smallest buffer size able to hold the path or -1 if the path is too long
      */
-    private final NodeBuffer getBuffer(int size) {
-        NodeBuffer current = null;
-        for (BufferHolder holder : buffers) {
-            // Find proper size of buffer
-            if (holder._size < size) {
-                continue;
-            }
-
-            // Find unlocked NodeBuffer
-            for (NodeBuffer buffer : holder._buffer) {
-                if (!buffer.isLocked()) {
-                    continue;
-                }
-
-                return buffer;
+    private int sizeClassOf(int size) {
+        for (int i = 0; i < BUFFER_SIZES.length; i++) {
+            if (BUFFER_SIZES[i] >= size) {
+                return i;
             }
-
-            // NodeBuffer not found, allocate temporary buffer
-            current = new NodeBuffer(holder._size);
-            current.isLocked();
         }
-
-        return current;
+        return -1;
     }
 
     /**
-     * NodeBuffer container with specified size and count of separate buffers.
+     * Takes an idle shared buffer of the size class or creates a new one when all of them are in use.
      */
-    private static final class BufferHolder {
-        final int _size;
-        List<NodeBuffer> _buffer;
-
-        public BufferHolder(int size, int count) {
-            _size = size;
-            _buffer = new ArrayList<>(count);
-
-            for (int i = 0; i < count; i++) {
-                _buffer.add(new NodeBuffer(size));
-            }
+    private NodeBuffer acquireBuffer(int sizeClass) {
+        final NodeBuffer buffer = buffers[sizeClass].poll();
+        if (buffer != null) {
+            return buffer;
         }
+        createdBuffers.increment();
+        return new NodeBuffer(this, BUFFER_SIZES[sizeClass]);
+    }
+
+    @Override
+    public CharSequence getPathFindingStats() {
+        final var requested = requestedPaths.sum();
+        final var found = foundPaths.sum();
+        final var elapsedSeconds = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+        return new StringBuilder("Path Finding\n")
+                .append("=================================================\n")
+                .append("\tRequested Paths: ....... ").append(requested).append("\n")
+                .append("\tFound Paths: ........... ").append(found).append("\n")
+                .append("\tPaths per Second: ...... ").append(found / elapsedSeconds).append("\n")
+                .append("\tIterations: ............ ").append(iterations.sum()).append("\n")
+                .append("\tAvg Iterations: ........ ").append(requested > 0 ? iterations.sum() / requested : 0).append("\n")
+                .append("\tIteration Fallbacks: ... ").append(iterationLimitFallbacks.sum()).append("\n")
+                .append("\tDistance Fallbacks: .... ").append(distanceFallbacks.sum()).append("\n")
+                .append("\tFailures: .............. ").append(failures.sum()).append("\n")
+                .append("\tCreated Buffers: ....... ").append(createdBuffers.sum()).append("\n");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver.engine.geo;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of the geodata line of sight results, keyed by the origin and target geo cells and heights.
+ *
+ * The cache is split in stripes, each one a direct-mapped table guarded by its own lock. A colliding entry replaces the old one,
+ * so the cache never grows and never allocates after created.
+ *
+ * @author JoeAlisson
+ */
+final class LineOfSightCache {
+
+    private static final int STRIPES = 64;
+    private static final byte EMPTY = 0;
+    private static final byte VISIBLE = 1;
+    private static final byte BLOCKED = 2;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final int slotMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    LineOfSightCache(int size) {
+        final int slots = Math.max(1, Integer.highestOneBit(Math.max(1, size / STRIPES)));
+        slotMask = slots - 1;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(slots);
+        }
+    }
+
+    static long key(int geoX, int geoY, int geoZ, double height) {
+        return ((long) (geoX & 0xFFFF) << 48) | ((long) (geoY & 0xFFFF) << 32) | ((long) (geoZ & 0xFFFF) << 16) | ((int) (height * 4) & 0xFFFF);
+    }
+
+    /**
+     * @return 1 if visible, 2 if blocked or 0 if the pair is not cached
+     */
+    byte get(long origin, long target) {
+        final int hash = hash(origin, target);
+        final var stripe = stripes[hash & (STRIPES - 1)];
+        final int slot = (hash >>> 6) & slotMask;
+
+        byte result;
+        synchronized (stripe) {
+            result = stripe.origins[slot] == origin && stripe.targets[slot] == target ? stripe.results[slot] : EMPTY;
+        }
+
+        if(result == EMPTY) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    void put(long origin, long target, boolean visible) {
+        final int hash = hash(origin, target);
+        final var stripe = stripes[hash & (STRIPES - 1)];
+        final int slot = (hash >>> 6) & slotMask;
+
+        synchronized (stripe) {
+            stripe.origins[slot] = origin;
+            stripe.targets[slot] = target;
+            stripe.results[slot] = visible ? VISIBLE : BLOCKED;
+        }
+    }
+
+    static boolean isVisible(byte result) {
+        return result == VISIBLE;
+    }
+
+    private static int hash(long origin, long target) {
+        long h = origin * 0x9E3779B97F4A7C15L + target;
+        h ^= h >>> 32;
+        h *= 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 29));
+    }
+
+    CharSequence getStats() {
+        final long hit = hits.sum();
+        final long miss = misses.sum();
+        final long total = hit + miss;
+        return new StringBuilder("Line of Sight Cache\n")
+                .append("=================================================\n")
+                .append("\tCapacity: .............. ").append(STRIPES * (slotMask + 1)).append("\n")
+                .append("\tHits: .................. ").append(hit).append("\n")
+                .append("\tMisses: ................ ").append(miss).append("\n")
+                .append("\tHit Ratio: ............. ").append(total > 0 ? (hit * 100 / total) : 0).append("%\n");
+    }
+
+    private static final class Stripe {
+        private final long[] origins;
+        private final long[] targets;
+        private final byte[] results;
+
+        private Stripe(int slots) {
+            origins = new long[slots];
+            targets = new long[slots];
+            results = new byte[slots];
+        }
+    }
+}
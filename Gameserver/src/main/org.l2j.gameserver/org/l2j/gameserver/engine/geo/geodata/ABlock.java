@@ -1,5 +1,4 @@
 /*
- * Copyright © 2019 L2J Mobius
  * Copyright © 2019-2020 L2JOrg
  *
  * This file is part of the L2JOrg project.
@@ -19,11 +18,16 @@
  */
 package org.l2j.gameserver.engine.geo.geodata;
 
-import java.io.BufferedOutputStream;
-import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
+ * Stateless accessor of a geodata block stored on a region buffer.
+ *
+ * The offset points to the block type byte on the region data. The indexes returned point to a cell layer record,
+ * formed by the nswe byte followed by the height short.
+ *
  * @author Hasha
+ * @author JoeAlisson
  */
 public abstract class ABlock {
     /**
@@ -34,186 +38,84 @@ public abstract class ABlock {
     public abstract boolean hasGeoPos();
 
     /**
-     * Returns the height of cell, which is closest to given coordinates.
-     *
-     * @param geoX   : Cell geodata X coordinate.
-     * @param geoY   : Cell geodata Y coordinate.
-     * @param worldZ : Cell world Z coordinate.
-     * @return short : Cell geodata Z coordinate, nearest to given coordinates.
+     * @return the size in bytes of the block stored on data at offset, including the type byte.
      */
-    public abstract short getHeightNearest(int geoX, int geoY, int worldZ);
+    public abstract int size(ByteBuffer data, int offset);
 
     /**
-     * Returns the height of cell, which is closest to given coordinates.<br>
-     * Geodata without {@link IGeoObject} are taken in consideration.
+     * Returns the height of cell, which is closest to given coordinates.
      *
+     * @param data   : The region data.
+     * @param offset : The block offset on region data.
      * @param geoX   : Cell geodata X coordinate.
      * @param geoY   : Cell geodata Y coordinate.
      * @param worldZ : Cell world Z coordinate.
      * @return short : Cell geodata Z coordinate, nearest to given coordinates.
      */
-    public abstract short getHeightNearestOriginal(int geoX, int geoY, int worldZ);
-
-    /**
-     * Returns the height of cell, which is first above given coordinates.
-     *
-     * @param geoX   : Cell geodata X coordinate.
-     * @param geoY   : Cell geodata Y coordinate.
-     * @param worldZ : Cell world Z coordinate.
-     * @return short : Cell geodata Z coordinate, above given coordinates.
-     */
-    public abstract short getHeightAbove(int geoX, int geoY, int worldZ);
-
-    /**
-     * Returns the height of cell, which is first below given coordinates.
-     *
-     * @param geoX   : Cell geodata X coordinate.
-     * @param geoY   : Cell geodata Y coordinate.
-     * @param worldZ : Cell world Z coordinate.
-     * @return short : Cell geodata Z coordinate, below given coordinates.
-     */
-    public abstract short getHeightBelow(int geoX, int geoY, int worldZ);
-
-    /**
-     * Returns the NSWE flag byte of cell, which is closest to given coordinates.
-     *
-     * @param geoX   : Cell geodata X coordinate.
-     * @param geoY   : Cell geodata Y coordinate.
-     * @param worldZ : Cell world Z coordinate.
-     * @return short : Cell NSWE flag byte, nearest to given coordinates.
-     */
-    public abstract byte getNsweNearest(int geoX, int geoY, int worldZ);
-
-    /**
-     * Returns the NSWE flag byte of cell, which is closest to given coordinates.<br>
-     * Geodata without {@link IGeoObject} are taken in consideration.
-     *
-     * @param geoX   : Cell geodata X coordinate.
-     * @param geoY   : Cell geodata Y coordinate.
-     * @param worldZ : Cell world Z coordinate.
-     * @return short : Cell NSWE flag byte, nearest to given coordinates.
-     */
-    public abstract byte getNsweNearestOriginal(int geoX, int geoY, int worldZ);
-
-    /**
-     * Returns the NSWE flag byte of cell, which is first above given coordinates.
-     *
-     * @param geoX   : Cell geodata X coordinate.
-     * @param geoY   : Cell geodata Y coordinate.
-     * @param worldZ : Cell world Z coordinate.
-     * @return short : Cell NSWE flag byte, nearest to given coordinates.
-     */
-    public abstract byte getNsweAbove(int geoX, int geoY, int worldZ);
-
-    /**
-     * Returns the NSWE flag byte of cell, which is first below given coordinates.
-     *
-     * @param geoX   : Cell geodata X coordinate.
-     * @param geoY   : Cell geodata Y coordinate.
-     * @param worldZ : Cell world Z coordinate.
-     * @return short : Cell NSWE flag byte, nearest to given coordinates.
-     */
-    public abstract byte getNsweBelow(int geoX, int geoY, int worldZ);
-
-    /**
-     * Returns index to data of the cell, which is closes layer to given coordinates.
-     *
-     * @param geoX   : Cell geodata X coordinate.
-     * @param geoY   : Cell geodata Y coordinate.
-     * @param worldZ : Cell world Z coordinate.
-     * @return {@code int} : Cell index.
-     */
-    public abstract int getIndexNearest(int geoX, int geoY, int worldZ);
-
-    /**
-     * Returns index to data of the cell, which is first layer above given coordinates.
-     *
-     * @param geoX   : Cell geodata X coordinate.
-     * @param geoY   : Cell geodata Y coordinate.
-     * @param worldZ : Cell world Z coordinate.
-     * @return {@code int} : Cell index. -1..when no layer available below given Z coordinate.
-     */
-    public abstract int getIndexAbove(int geoX, int geoY, int worldZ);
+    public abstract short getHeightNearest(ByteBuffer data, int offset, int geoX, int geoY, int worldZ);
 
     /**
-     * Returns index to data of the cell, which is first layer above given coordinates.<br>
-     * Geodata without {@link IGeoObject} are taken in consideration.
+     * Returns the NSWE flag byte of cell, which is closes to given coordinates.
      *
+     * @param data   : The region data.
+     * @param offset : The block offset on region data.
      * @param geoX   : Cell geodata X coordinate.
      * @param geoY   : Cell geodata Y coordinate.
      * @param worldZ : Cell world Z coordinate.
-     * @return {@code int} : Cell index. -1..when no layer available below given Z coordinate.
+     * @return short : Cell NSWE flag byte coordinate, nearest to given coordinates.
      */
-    public abstract int getIndexAboveOriginal(int geoX, int geoY, int worldZ);
+    public abstract byte getNsweNearest(ByteBuffer data, int offset, int geoX, int geoY, int worldZ);
 
     /**
-     * Returns index to data of the cell, which is first layer below given coordinates.
+     * Returns index to data of the cell, which is first above given coordinates.
      *
+     * @param data   : The region data.
+     * @param offset : The block offset on region data.
      * @param geoX   : Cell geodata X coordinate.
      * @param geoY   : Cell geodata Y coordinate.
      * @param worldZ : Cell world Z coordinate.
-     * @return {@code int} : Cell index. -1..when no layer available below given Z coordinate.
+     * @return int : Cell index. -1..when no cell found.
      */
-    public abstract int getIndexBelow(int geoX, int geoY, int worldZ);
+    public abstract int getIndexAbove(ByteBuffer data, int offset, int geoX, int geoY, int worldZ);
 
     /**
-     * Returns index to data of the cell, which is first layer below given coordinates.<br>
-     * Geodata without {@link IGeoObject} are taken in consideration.
+     * Returns index to data of the cell, which is first below given coordinates.
      *
+     * @param data   : The region data.
+     * @param offset : The block offset on region data.
      * @param geoX   : Cell geodata X coordinate.
      * @param geoY   : Cell geodata Y coordinate.
      * @param worldZ : Cell world Z coordinate.
-     * @return {@code int} : Cell index. -1..when no layer available below given Z coordinate.
+     * @return int : Cell index. -1..when no cell found.
      */
-    public abstract int getIndexBelowOriginal(int geoX, int geoY, int worldZ);
+    public abstract int getIndexBelow(ByteBuffer data, int offset, int geoX, int geoY, int worldZ);
 
     /**
      * Returns the height of cell given by cell index.
      *
+     * @param data  : The region data.
      * @param index : Index of the cell.
      * @return short : Cell geodata Z coordinate, below given coordinates.
      */
-    public abstract short getHeight(int index);
-
-    /**
-     * Returns the height of cell given by cell index.<br>
-     * Geodata without {@link IGeoObject} are taken in consideration.
-     *
-     * @param index : Index of the cell.
-     * @return short : Cell geodata Z coordinate, below given coordinates.
-     */
-    public abstract short getHeightOriginal(int index);
+    public short getHeight(ByteBuffer data, int index) {
+        return data.getShort(index + 1);
+    }
 
     /**
      * Returns the NSWE flag byte of cell given by cell index.
      *
+     * @param data  : The region data.
      * @param index : Index of the cell.
      * @return short : Cell geodata Z coordinate, below given coordinates.
      */
-    public abstract byte getNswe(int index);
+    public byte getNswe(ByteBuffer data, int index) {
+        return data.get(index);
+    }
 
     /**
-     * Returns the NSWE flag byte of cell given by cell index.<br>
-     * Geodata without {@link IGeoObject} are taken in consideration.
-     *
-     * @param index : Index of the cell.
-     * @return short : Cell geodata Z coordinate, below given coordinates.
-     */
-    public abstract byte getNsweOriginal(int index);
-
-    /**
-     * Sets the NSWE flag byte of cell given by cell index.
-     *
-     * @param index : Index of the cell.
-     * @param nswe  : New NSWE flag byte.
-     */
-    public abstract void setNswe(int index, byte nswe);
-
-    /**
-     * Saves the block in L2D format to {@link BufferedOutputStream}. Used only for L2D geodata conversion.
-     *
-     * @param stream : The stream.
-     * @throws IOException : Can't save the block to steam.
+     * @return the position of the cell on the block, from 0 to {@link GeoStructure#BLOCK_CELLS} - 1
      */
-    public abstract void saveBlock(BufferedOutputStream stream) throws IOException;
-}
\ No newline at end of file
+    protected static int cellOf(int geoX, int geoY) {
+        return ((geoX % GeoStructure.BLOCK_CELLS_X) * GeoStructure.BLOCK_CELLS_Y) + (geoY % GeoStructure.BLOCK_CELLS_Y);
+    }
+}
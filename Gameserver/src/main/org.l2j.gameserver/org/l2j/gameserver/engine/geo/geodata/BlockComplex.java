@@ -1,5 +1,4 @@
 /*
- * Copyright © 2019 L2J Mobius
  * Copyright © 2019-2020 L2JOrg
  *
  * This file is part of the L2JOrg project.
@@ -19,211 +18,56 @@
  */
 package org.l2j.gameserver.engine.geo.geodata;
 
-import java.io.BufferedOutputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
 
 /**
+ * A block with a single layer per cell. Stored as the nswe byte and height short of each cell.
+ *
  * @author Hasha
+ * @author JoeAlisson
  */
-public class BlockComplex extends ABlock {
-    protected byte[] _buffer;
-
-    /**
-     * Implicit constructor for children class.
-     */
-    protected BlockComplex() {
-        // buffer is initialized in children class
-        _buffer = null;
-    }
-
-    /**
-     * Creates ComplexBlock.
-     *
-     * @param bb     : Input byte buffer.
-     * @param format : GeoFormat specifying format of loaded data.
-     */
-    public BlockComplex(ByteBuffer bb, GeoFormat format) {
-        // initialize buffer
-        _buffer = new byte[GeoStructure.BLOCK_CELLS * 3];
+public final class BlockComplex extends ABlock {
 
-        // load data
-        for (int i = 0; i < GeoStructure.BLOCK_CELLS; i++) {
-            if (format != GeoFormat.L2D) {
-                // get data
-                short data = bb.getShort();
+    public static final BlockComplex INSTANCE = new BlockComplex();
 
-                // get nswe
-                _buffer[i * 3] = (byte) (data & 0x000F);
+    private static final int SIZE = 1 + GeoStructure.BLOCK_CELLS * 3;
 
-                // get height
-                data = (short) ((short) (data & 0xFFF0) >> 1);
-                _buffer[(i * 3) + 1] = (byte) (data & 0x00FF);
-                _buffer[(i * 3) + 2] = (byte) (data >> 8);
-            } else {
-                // get nswe
-                final byte nswe = bb.get();
-                _buffer[i * 3] = nswe;
-
-                // get height
-                final short height = bb.getShort();
-                _buffer[(i * 3) + 1] = (byte) (height & 0x00FF);
-                _buffer[(i * 3) + 2] = (byte) (height >> 8);
-            }
-        }
+    private BlockComplex() {
     }
 
     @Override
-    public final boolean hasGeoPos() {
+    public boolean hasGeoPos() {
         return true;
     }
 
     @Override
-    public final short getHeightNearest(int geoX, int geoY, int worldZ) {
-        // get cell index
-        final int index = (((geoX % GeoStructure.BLOCK_CELLS_X) * GeoStructure.BLOCK_CELLS_Y) + (geoY % GeoStructure.BLOCK_CELLS_Y)) * 3;
-
-        // get height
-        return (short) ((_buffer[index + 1] & 0x00FF) | (_buffer[index + 2] << 8));
-    }
-
-    @Override
-    public short getHeightNearestOriginal(int geoX, int geoY, int worldZ) {
-        return getHeightNearest(geoX, geoY, worldZ);
-    }
-
-    @Override
-    public final short getHeightAbove(int geoX, int geoY, int worldZ) {
-        // get cell index
-        final int index = (((geoX % GeoStructure.BLOCK_CELLS_X) * GeoStructure.BLOCK_CELLS_Y) + (geoY % GeoStructure.BLOCK_CELLS_Y)) * 3;
-
-        // get height
-        final short height = (short) ((_buffer[index + 1] & 0x00FF) | (_buffer[index + 2] << 8));
-
-        // check and return height
-        return height > worldZ ? height : Short.MIN_VALUE;
-    }
-
-    @Override
-    public final short getHeightBelow(int geoX, int geoY, int worldZ) {
-        // get cell index
-        final int index = (((geoX % GeoStructure.BLOCK_CELLS_X) * GeoStructure.BLOCK_CELLS_Y) + (geoY % GeoStructure.BLOCK_CELLS_Y)) * 3;
-
-        // get height
-        final short height = (short) ((_buffer[index + 1] & 0x00FF) | (_buffer[index + 2] << 8));
-
-        // check and return height
-        return height < worldZ ? height : Short.MAX_VALUE;
-    }
-
-    @Override
-    public final byte getNsweNearest(int geoX, int geoY, int worldZ) {
-        // get cell index
-        final int index = (((geoX % GeoStructure.BLOCK_CELLS_X) * GeoStructure.BLOCK_CELLS_Y) + (geoY % GeoStructure.BLOCK_CELLS_Y)) * 3;
-
-        // get nswe
-        return _buffer[index];
-    }
-
-    @Override
-    public byte getNsweNearestOriginal(int geoX, int geoY, int worldZ) {
-        return getNsweNearest(geoX, geoY, worldZ);
-    }
-
-    @Override
-    public final byte getNsweAbove(int geoX, int geoY, int worldZ) {
-        // get cell index
-        final int index = (((geoX % GeoStructure.BLOCK_CELLS_X) * GeoStructure.BLOCK_CELLS_Y) + (geoY % GeoStructure.BLOCK_CELLS_Y)) * 3;
-
-        // get height
-        final int height = (_buffer[index + 1] & 0x00FF) | (_buffer[index + 2] << 8);
-
-        // check height and return nswe
-        return height > worldZ ? _buffer[index] : 0;
-    }
-
-    @Override
-    public final byte getNsweBelow(int geoX, int geoY, int worldZ) {
-        // get cell index
-        final int index = (((geoX % GeoStructure.BLOCK_CELLS_X) * GeoStructure.BLOCK_CELLS_Y) + (geoY % GeoStructure.BLOCK_CELLS_Y)) * 3;
-
-        // get height
-        final int height = (_buffer[index + 1] & 0x00FF) | (_buffer[index + 2] << 8);
-
-        // check height and return nswe
-        return height < worldZ ? _buffer[index] : 0;
-    }
-
-    @Override
-    public final int getIndexNearest(int geoX, int geoY, int worldZ) {
-        return (((geoX % GeoStructure.BLOCK_CELLS_X) * GeoStructure.BLOCK_CELLS_Y) + (geoY % GeoStructure.BLOCK_CELLS_Y)) * 3;
-    }
-
-    @Override
-    public final int getIndexAbove(int geoX, int geoY, int worldZ) {
-        // get cell index
-        final int index = (((geoX % GeoStructure.BLOCK_CELLS_X) * GeoStructure.BLOCK_CELLS_Y) + (geoY % GeoStructure.BLOCK_CELLS_Y)) * 3;
-
-        // get height
-        final int height = (_buffer[index + 1] & 0x00FF) | (_buffer[index + 2] << 8);
-
-        // check height and return nswe
-        return height > worldZ ? index : -1;
-    }
-
-    @Override
-    public int getIndexAboveOriginal(int geoX, int geoY, int worldZ) {
-        return getIndexAbove(geoX, geoY, worldZ);
-    }
-
-    @Override
-    public final int getIndexBelow(int geoX, int geoY, int worldZ) {
-        // get cell index
-        final int index = (((geoX % GeoStructure.BLOCK_CELLS_X) * GeoStructure.BLOCK_CELLS_Y) + (geoY % GeoStructure.BLOCK_CELLS_Y)) * 3;
-
-        // get height
-        final int height = (_buffer[index + 1] & 0x00FF) | (_buffer[index + 2] << 8);
-
-        // check height and return nswe
-        return height < worldZ ? index : -1;
+    public int size(ByteBuffer data, int offset) {
+        return SIZE;
     }
 
     @Override
-    public int getIndexBelowOriginal(int geoX, int geoY, int worldZ) {
-        return getIndexBelow(geoX, geoY, worldZ);
+    public short getHeightNearest(ByteBuffer data, int offset, int geoX, int geoY, int worldZ) {
+        return data.getShort(indexOf(offset, geoX, geoY) + 1);
     }
 
     @Override
-    public final short getHeight(int index) {
-        return (short) ((_buffer[index + 1] & 0x00FF) | (_buffer[index + 2] << 8));
+    public byte getNsweNearest(ByteBuffer data, int offset, int geoX, int geoY, int worldZ) {
+        return data.get(indexOf(offset, geoX, geoY));
     }
 
     @Override
-    public short getHeightOriginal(int index) {
-        return (short) ((_buffer[index + 1] & 0x00FF) | (_buffer[index + 2] << 8));
+    public int getIndexAbove(ByteBuffer data, int offset, int geoX, int geoY, int worldZ) {
+        final int index = indexOf(offset, geoX, geoY);
+        return data.getShort(index + 1) > worldZ ? index : -1;
     }
 
     @Override
-    public final byte getNswe(int index) {
-        return _buffer[index];
+    public int getIndexBelow(ByteBuffer data, int offset, int geoX, int geoY, int worldZ) {
+        final int index = indexOf(offset, geoX, geoY);
+        return data.getShort(index + 1) < worldZ ? index : -1;
     }
 
-    @Override
-    public byte getNsweOriginal(int index) {
-        return _buffer[index];
-    }
-
-    @Override
-    public final void setNswe(int index, byte nswe) {
-        _buffer[index] = nswe;
-    }
-
-    @Override
-    public final void saveBlock(BufferedOutputStream stream) throws IOException {
-        // write block type
-        stream.write(GeoStructure.TYPE_COMPLEX_L2D);
-
-        // write block data
-        stream.write(_buffer, 0, GeoStructure.BLOCK_CELLS * 3);
+    private static int indexOf(int offset, int geoX, int geoY) {
+        return offset + 1 + cellOf(geoX, geoY) * 3;
     }
-}
\ No newline at end of file
+}
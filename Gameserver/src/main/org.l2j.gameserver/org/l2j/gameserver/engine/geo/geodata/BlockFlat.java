@@ -1,5 +1,4 @@
 /*
- * Copyright © 2019 L2J Mobius
  * Copyright © 2019-2020 L2JOrg
  *
  * This file is part of the L2JOrg project.
@@ -19,140 +18,59 @@
  */
 package org.l2j.gameserver.engine.geo.geodata;
 
-import java.io.BufferedOutputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
 
 /**
+ * A block with the same height and without movement restrictions on all cells. Stored as the height short.
+ *
  * @author Hasha
+ * @author JoeAlisson
  */
-public class BlockFlat extends ABlock {
-    protected final short _height;
-    protected byte _nswe;
-
-    /**
-     * Creates FlatBlock.
-     *
-     * @param bb     : Input byte buffer.
-     * @param format : GeoFormat specifying format of loaded data.
-     */
-    public BlockFlat(ByteBuffer bb, GeoFormat format) {
-        _height = bb.getShort();
-        _nswe = format != GeoFormat.L2D ? 0x0F : (byte) (0xFF);
-
-        if (format == GeoFormat.L2OFF) {
-            bb.getShort();
-        }
-    }
-
-    @Override
-    public final boolean hasGeoPos() {
-        return true;
-    }
-
-    @Override
-    public final short getHeightNearest(int geoX, int geoY, int worldZ) {
-        return _height;
-    }
-
-    @Override
-    public final short getHeightNearestOriginal(int geoX, int geoY, int worldZ) {
-        return _height;
-    }
-
-    @Override
-    public final short getHeightAbove(int geoX, int geoY, int worldZ) {
-        // check and return height
-        return _height > worldZ ? _height : Short.MIN_VALUE;
-    }
-
-    @Override
-    public final short getHeightBelow(int geoX, int geoY, int worldZ) {
-        // check and return height
-        return _height < worldZ ? _height : Short.MAX_VALUE;
-    }
-
-    @Override
-    public final byte getNsweNearest(int geoX, int geoY, int worldZ) {
-        return _nswe;
-    }
-
-    @Override
-    public final byte getNsweNearestOriginal(int geoX, int geoY, int worldZ) {
-        return _nswe;
-    }
+public final class BlockFlat extends ABlock {
 
-    @Override
-    public final byte getNsweAbove(int geoX, int geoY, int worldZ) {
-        // check height and return nswe
-        return _height > worldZ ? _nswe : 0;
-    }
+    public static final BlockFlat INSTANCE = new BlockFlat();
 
-    @Override
-    public final byte getNsweBelow(int geoX, int geoY, int worldZ) {
-        // check height and return nswe
-        return _height < worldZ ? _nswe : 0;
-    }
+    private static final byte NSWE = (byte) 0xFF;
+    private static final int SIZE = 3;
 
-    @Override
-    public final int getIndexNearest(int geoX, int geoY, int worldZ) {
-        return 0;
+    private BlockFlat() {
     }
 
     @Override
-    public final int getIndexAbove(int geoX, int geoY, int worldZ) {
-        // check height and return index
-        return _height > worldZ ? 0 : -1;
-    }
-
-    @Override
-    public final int getIndexAboveOriginal(int geoX, int geoY, int worldZ) {
-        return getIndexAbove(geoX, geoY, worldZ);
-    }
-
-    @Override
-    public final int getIndexBelow(int geoX, int geoY, int worldZ) {
-        // check height and return index
-        return _height < worldZ ? 0 : -1;
-    }
-
-    @Override
-    public final int getIndexBelowOriginal(int geoX, int geoY, int worldZ) {
-        return getIndexBelow(geoX, geoY, worldZ);
+    public boolean hasGeoPos() {
+        return true;
     }
 
     @Override
-    public final short getHeight(int index) {
-        return _height;
+    public int size(ByteBuffer data, int offset) {
+        return SIZE;
     }
 
     @Override
-    public final short getHeightOriginal(int index) {
-        return _height;
+    public short getHeightNearest(ByteBuffer data, int offset, int geoX, int geoY, int worldZ) {
+        return data.getShort(offset + 1);
     }
 
     @Override
-    public final byte getNswe(int index) {
-        return _nswe;
+    public byte getNsweNearest(ByteBuffer data, int offset, int geoX, int geoY, int worldZ) {
+        return NSWE;
     }
 
+    /**
+     * The index of a flat block points to its type byte, followed by the height.
+     */
     @Override
-    public final byte getNsweOriginal(int index) {
-        return _nswe;
+    public int getIndexAbove(ByteBuffer data, int offset, int geoX, int geoY, int worldZ) {
+        return data.getShort(offset + 1) > worldZ ? offset : -1;
     }
 
     @Override
-    public final void setNswe(int index, byte nswe) {
-        _nswe = nswe;
+    public int getIndexBelow(ByteBuffer data, int offset, int geoX, int geoY, int worldZ) {
+        return data.getShort(offset + 1) < worldZ ? offset : -1;
     }
 
     @Override
-    public final void saveBlock(BufferedOutputStream stream) throws IOException {
-        // write block type
-        stream.write(GeoStructure.TYPE_FLAT_L2D);
-
-        // write height
-        stream.write((byte) (_height & 0x00FF));
-        stream.write((byte) (_height >> 8));
+    public byte getNswe(ByteBuffer data, int index) {
+        return NSWE;
     }
-}
\ No newline at end of file
+}
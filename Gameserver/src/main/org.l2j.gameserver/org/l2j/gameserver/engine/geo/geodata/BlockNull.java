@@ -1,5 +1,4 @@
 /*
- * Copyright © 2019 L2J Mobius
  * Copyright © 2019-2020 L2JOrg
  *
  * This file is part of the L2JOrg project.
@@ -19,113 +18,60 @@
  */
 package org.l2j.gameserver.engine.geo.geodata;
 
-import java.io.BufferedOutputStream;
+import java.nio.ByteBuffer;
 
 /**
+ * A block without geodata.
+ *
  * @author Hasha
+ * @author JoeAlisson
  */
-public class BlockNull extends ABlock {
-    private final byte _nswe;
-
-    public BlockNull() {
-        _nswe = (byte) 0xFF;
-    }
+public final class BlockNull extends ABlock {
 
-    @Override
-    public final boolean hasGeoPos() {
-        return false;
-    }
+    public static final BlockNull INSTANCE = new BlockNull();
 
-    @Override
-    public final short getHeightNearest(int geoX, int geoY, int worldZ) {
-        return (short) worldZ;
-    }
+    private static final byte NSWE = (byte) 0xFF;
 
-    @Override
-    public final short getHeightNearestOriginal(int geoX, int geoY, int worldZ) {
-        return (short) worldZ;
+    private BlockNull() {
     }
 
     @Override
-    public final short getHeightAbove(int geoX, int geoY, int worldZ) {
-        return (short) worldZ;
-    }
-
-    @Override
-    public final short getHeightBelow(int geoX, int geoY, int worldZ) {
-        return (short) worldZ;
-    }
-
-    @Override
-    public final byte getNsweNearest(int geoX, int geoY, int worldZ) {
-        return _nswe;
-    }
-
-    @Override
-    public final byte getNsweNearestOriginal(int geoX, int geoY, int worldZ) {
-        return _nswe;
-    }
-
-    @Override
-    public final byte getNsweAbove(int geoX, int geoY, int worldZ) {
-        return _nswe;
-    }
-
-    @Override
-    public final byte getNsweBelow(int geoX, int geoY, int worldZ) {
-        return _nswe;
-    }
-
-    @Override
-    public final int getIndexNearest(int geoX, int geoY, int worldZ) {
-        return 0;
+    public boolean hasGeoPos() {
+        return false;
     }
 
     @Override
-    public final int getIndexAbove(int geoX, int geoY, int worldZ) {
+    public int size(ByteBuffer data, int offset) {
         return 0;
     }
 
     @Override
-    public final int getIndexAboveOriginal(int geoX, int geoY, int worldZ) {
-        return 0;
+    public short getHeightNearest(ByteBuffer data, int offset, int geoX, int geoY, int worldZ) {
+        return (short) worldZ;
     }
 
     @Override
-    public final int getIndexBelow(int geoX, int geoY, int worldZ) {
-        return 0;
+    public byte getNsweNearest(ByteBuffer data, int offset, int geoX, int geoY, int worldZ) {
+        return NSWE;
     }
 
     @Override
-    public final int getIndexBelowOriginal(int geoX, int geoY, int worldZ) {
+    public int getIndexAbove(ByteBuffer data, int offset, int geoX, int geoY, int worldZ) {
         return 0;
     }
 
     @Override
-    public final short getHeight(int index) {
+    public int getIndexBelow(ByteBuffer data, int offset, int geoX, int geoY, int worldZ) {
         return 0;
     }
 
     @Override
-    public final short getHeightOriginal(int index) {
+    public short getHeight(ByteBuffer data, int index) {
         return 0;
     }
 
     @Override
-    public final byte getNswe(int index) {
-        return _nswe;
-    }
-
-    @Override
-    public final byte getNsweOriginal(int index) {
-        return _nswe;
-    }
-
-    @Override
-    public final void setNswe(int index, byte nswe) {
-    }
-
-    @Override
-    public final void saveBlock(BufferedOutputStream stream) {
+    public byte getNswe(ByteBuffer data, int index) {
+        return NSWE;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver.engine.geo.geodata;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * The geodata of a region, read straight from the memory-mapped region file.
+ *
+ * Only the offset of each block is kept on heap, the blocks are accessed through the {@link ABlock} flyweights.
+ *
+ * @author JoeAlisson
+ */
+public final class GeoRegion {
+
+    public static final GeoRegion NULL = new GeoRegion(null, null, 0);
+
+    private final ByteBuffer data;
+    private final int[] blockOffsets;
+    private final int remaining;
+
+    private GeoRegion(ByteBuffer data, int[] blockOffsets, int remaining) {
+        this.data = data;
+        this.blockOffsets = blockOffsets;
+        this.remaining = remaining;
+    }
+
+    /**
+     * Index the blocks of the L2D region data.
+     *
+     * @param data the region data
+     * @return the region
+     * @throws IllegalArgumentException when the data has an unknown block type
+     * @throws IllegalStateException when a block is inconsistent
+     */
+    public static GeoRegion of(ByteBuffer data) {
+        data.order(ByteOrder.LITTLE_ENDIAN);
+        final var offsets = new int[GeoStructure.REGION_BLOCKS];
+
+        int offset = 0;
+        for (int block = 0; block < GeoStructure.REGION_BLOCKS; block++) {
+            offsets[block] = offset;
+            offset += blockOf(data.get(offset)).size(data, offset);
+        }
+        return new GeoRegion(data, offsets, data.limit() - offset);
+    }
+
+    private static ABlock blockOf(byte type) {
+        return switch (type) {
+            case GeoStructure.TYPE_FLAT_L2D -> BlockFlat.INSTANCE;
+            case GeoStructure.TYPE_COMPLEX_L2D -> BlockComplex.INSTANCE;
+            case GeoStructure.TYPE_MULTILAYER_L2D -> BlockMultilayer.INSTANCE;
+            default -> throw new IllegalArgumentException("Unknown block type: " + type);
+        };
+    }
+
+    /**
+     * @return the amount of bytes left on the region data after the last block.
+     */
+    public int remaining() {
+        return remaining;
+    }
+
+    private int offsetOf(int geoX, int geoY) {
+        final int blockX = (geoX / GeoStructure.BLOCK_CELLS_X) % GeoStructure.REGION_BLOCKS_X;
+        final int blockY = (geoY / GeoStructure.BLOCK_CELLS_Y) % GeoStructure.REGION_BLOCKS_Y;
+        return blockOffsets[blockX * GeoStructure.REGION_BLOCKS_Y + blockY];
+    }
+
+    private ABlock blockAt(int offset) {
+        return blockOf(data.get(offset));
+    }
+
+    public boolean hasGeoPos() {
+        return nonNull(data);
+    }
+
+    public short getHeightNearest(int geoX, int geoY, int worldZ) {
+        if(isNull(data)) {
+            return (short) worldZ;
+        }
+        final int offset = offsetOf(geoX, geoY);
+        return blockAt(offset).getHeightNearest(data, offset, geoX, geoY, worldZ);
+    }
+
+    public byte getNsweNearest(int geoX, int geoY, int worldZ) {
+        if(isNull(data)) {
+            return BlockNull.INSTANCE.getNswe(null, 0);
+        }
+        final int offset = offsetOf(geoX, geoY);
+        return blockAt(offset).getNsweNearest(data, offset, geoX, geoY, worldZ);
+    }
+
+    public int getIndexAbove(int geoX, int geoY, int worldZ) {
+        if(isNull(data)) {
+            return 0;
+        }
+        final int offset = offsetOf(geoX, geoY);
+        return blockAt(offset).getIndexAbove(data, offset, geoX, geoY, worldZ);
+    }
+
+    public int getIndexBelow(int geoX, int geoY, int worldZ) {
+        if(isNull(data)) {
+            return 0;
+        }
+        final int offset = offsetOf(geoX, geoY);
+        return blockAt(offset).getIndexBelow(data, offset, geoX, geoY, worldZ);
+    }
+
+    /**
+     * @return the height of cell layer given by the index of the block on the coordinates
+     */
+    public short getHeight(int geoX, int geoY, int index) {
+        if(isNull(data)) {
+            return 0;
+        }
+        return blockAt(offsetOf(geoX, geoY)).getHeight(data, index);
+    }
+
+    /**
+     * @return the nswe of cell layer given by the index of the block on the coordinates
+     */
+    public byte getNswe(int geoX, int geoY, int index) {
+        if(isNull(data)) {
+            return BlockNull.INSTANCE.getNswe(null, 0);
+        }
+        return blockAt(offsetOf(geoX, geoY)).getNswe(data, index);
+    }
+}
@@ -18,269 +18,359 @@
  */
 package org.l2j.gameserver.engine.geo.pathfinding;
 
+import org.l2j.gameserver.engine.geo.GeoEngine;
 import org.l2j.gameserver.engine.geo.geodata.GeoStructure;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Arrays;
 
 /**
+ * Node storage of the path finding, kept as a struct of arrays indexed by the node position on the buffer.
+ *
+ * The buffer is owned by a single thread and reused, the nodes of the previous search are discarded by a generation stamp.
+ * The open set is a binary heap of node indexes ordered by cost.
+ *
  * @author DS, Hasha; Credits to Diamond
  * @author JoeAlisson
  */
-public class NodeBuffer {
-
-    private static final Logger LOGGER = LoggerFactory.getLogger(NodeBuffer.class);
+public final class NodeBuffer {
 
     private static final int BASE_WEIGHT = 10;
     private static final int DIAGONAL_WEIGHT = 14;
     private static final int HEURISTIC_WEIGHT = 20;
     private static final int OBSTACLE_MULTIPLIER = 10;
-    private static final int MAX_ITERATIONS = 3500;
+    public static final int MAX_ITERATIONS = 3500;
+    private static final int NO_NODE = -1;
+
+    private final GeoEngine geoEngine;
+    private final int size;
 
-    private final ReentrantLock _lock = new ReentrantLock();
-    private final int _size;
-    private final Node[][] _buffer;
+    private final short[] heights;
+    private final byte[] nswe;
+    private final float[] costs;
+    private final int[] parents;
+    private final int[] stamps;
+
+    private final int[] openSet;
+    private int openSize;
+
+    private final int[] pathX = new int[MAX_ITERATIONS + 1];
+    private final int[] pathY = new int[MAX_ITERATIONS + 1];
+    private final short[] pathZ = new short[MAX_ITERATIONS + 1];
+
+    private int generation;
+    private int iterations;
 
     // center coordinates
-    private int _cx = 0;
-    private int _cy = 0;
+    private int cx;
+    private int cy;
 
     // target coordinates
-    private int _gtx = 0;
-    private int _gty = 0;
-    private short _gtz = 0;
-
-    private Node _current = null;
+    private int gtx;
+    private int gty;
+    private short gtz;
 
     /**
-     * Constructor of NodeBuffer.
-     *
+     * @param geoEngine : the engine providing the geodata
      * @param size : one dimension size of buffer
      */
-    public NodeBuffer(int size) {
-        // set size
-        _size = size;
-
-        // initialize buffer
-        _buffer = new Node[size][size];
-        for (int x = 0; x < size; x++) {
-            for (int y = 0; y < size; y++) {
-                _buffer[x][y] = new Node();
-            }
-        }
+    public NodeBuffer(GeoEngine geoEngine, int size) {
+        this.geoEngine = geoEngine;
+        this.size = size;
+
+        final int capacity = size * size;
+        heights = new short[capacity];
+        nswe = new byte[capacity];
+        costs = new float[capacity];
+        parents = new int[capacity];
+        stamps = new int[capacity];
+        openSet = new int[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the iterations made by the last search
+     */
+    public int getIterations() {
+        return iterations;
     }
 
     /**
-     * Find path consisting of Nodes. Starts at origin coordinates, ends in target coordinates.
+     * Find path consisting of nodes. Starts at origin coordinates, ends in target coordinates.
+     *
+     * The path is kept on the buffer as the points where the direction changes, from the first point after the origin to the target.
      *
-     * @param gox : origin point x
-     * @param goy : origin point y
-     * @param goz : origin point z
-     * @param gtx : target point x
-     * @param gty : target point y
-     * @param gtz : target point z
-     * @return Node : first node of path
+     * @return the amount of points of the path or -1 when there is no path.
      */
-    public final Node findPath(int gox, int goy, short goz, int gtx, int gty, short gtz) {
+    public int findPath(int gox, int goy, short goz, int gtx, int gty, short gtz) {
+        nextGeneration();
 
         // set coordinates (middle of the line (gox,goy) - (gtx,gty), will be in the center of the buffer)
-        _cx = gox + ((gtx - gox - _size) / 2);
-        _cy = goy + ((gty - goy - _size) / 2);
+        cx = gox + ((gtx - gox - size) / 2);
+        cy = goy + ((gty - goy - size) / 2);
 
-        _gtx = gtx;
-        _gty = gty;
-        _gtz = gtz;
+        this.gtx = gtx;
+        this.gty = gty;
+        this.gtz = gtz;
 
-        _current = getNode(gox, goy, goz);
-        _current.setCost(getCostH(gox, goy, goz));
+        openSize = 0;
+        iterations = 0;
+
+        int current = getNode(gox, goy, goz);
+        if(current == NO_NODE) {
+            return NO_NODE;
+        }
+        costs[current] = getCostH(gox, goy, heights[current]);
 
-        int count = 0;
         do {
             // reached target?
-            if ((_current.getLoc().getGeoX() == _gtx) && (_current.getLoc().getGeoY() == _gty) && (Math.abs(_current.getLoc().getZ() - _gtz) < 8)) {
-                return _current;
+            if (nodeX(current) == gtx && nodeY(current) == gty && Math.abs(heights[current] - gtz) < 8) {
+                return constructPath(current);
             }
 
-            // expand current node
-            expand();
-
-            // move pointer
-            _current = _current.getChild();
+            expand(current);
+            current = poll();
         }
-        while ((_current != null) && (++count < MAX_ITERATIONS));
+        while (current != NO_NODE && ++iterations < MAX_ITERATIONS);
 
-        return null;
+        return NO_NODE;
     }
 
-    public final boolean isLocked() {
-        return _lock.tryLock();
+    public int getPathX(int index) {
+        return pathX[index];
     }
 
-    public final void free() {
-        _current = null;
+    public int getPathY(int index) {
+        return pathY[index];
+    }
 
-        for (Node[] nodes : _buffer) {
-            for (Node node : nodes) {
-                if (node.getLoc() != null) {
-                    node.free();
-                }
+    public short getPathZ(int index) {
+        return pathZ[index];
+    }
+
+    /**
+     * Keep only the points of index on the path.
+     *
+     * @param index the index of the point to be kept
+     * @param position the position of the point on the resulting path
+     */
+    public void keepPathPoint(int index, int position) {
+        pathX[position] = pathX[index];
+        pathY[position] = pathY[index];
+        pathZ[position] = pathZ[index];
+    }
+
+    private void nextGeneration() {
+        if(++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Stores the points where the direction changes, from origin to target.
+     */
+    private int constructPath(int target) {
+        int count = 0;
+        int dx = 0;
+        int dy = 0;
+
+        int parent = parents[target];
+        while (parent != NO_NODE) {
+            final int nx = nodeX(parent) - nodeX(target);
+            final int ny = nodeY(parent) - nodeY(target);
+
+            if (dx != nx || dy != ny) {
+                pathX[count] = nodeX(target);
+                pathY[count] = nodeY(target);
+                pathZ[count] = heights[target];
+                count++;
+
+                dx = nx;
+                dy = ny;
             }
+
+            target = parent;
+            parent = parents[target];
         }
 
-        _lock.unlock();
+        reversePath(count);
+        return count;
+    }
+
+    private void reversePath(int count) {
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            final int x = pathX[i];
+            pathX[i] = pathX[j];
+            pathX[j] = x;
+
+            final int y = pathY[i];
+            pathY[i] = pathY[j];
+            pathY[j] = y;
+
+            final short z = pathZ[i];
+            pathZ[i] = pathZ[j];
+            pathZ[j] = z;
+        }
     }
 
     /**
-     * Check _current Node and add its neighbors to the buffer.
+     * Check current node and add its neighbors to the buffer.
      */
-    private final void expand() {
+    private void expand(int current) {
         // can't move anywhere, don't expand
-        byte nswe = _current.getLoc().getNSWE();
-        if (nswe == 0) {
+        final byte flags = nswe[current];
+        if (flags == 0) {
             return;
         }
 
-        // get geo coords of the node to be expanded
-        final int x = _current.getLoc().getGeoX();
-        final int y = _current.getLoc().getGeoY();
-        final short z = (short) _current.getLoc().getZ();
+        final int x = nodeX(current);
+        final int y = nodeY(current);
+        final short z = heights[current];
 
-        // can move north, expand
-        if ((nswe & GeoStructure.CELL_FLAG_N) != 0) {
-            addNode(x, y - 1, z, BASE_WEIGHT);
+        if ((flags & GeoStructure.CELL_FLAG_N) != 0) {
+            addNode(current, x, y - 1, z, BASE_WEIGHT);
         }
 
-        // can move south, expand
-        if ((nswe & GeoStructure.CELL_FLAG_S) != 0) {
-            addNode(x, y + 1, z, BASE_WEIGHT);
+        if ((flags & GeoStructure.CELL_FLAG_S) != 0) {
+            addNode(current, x, y + 1, z, BASE_WEIGHT);
         }
 
-        // can move west, expand
-        if ((nswe & GeoStructure.CELL_FLAG_W) != 0) {
-            addNode(x - 1, y, z, BASE_WEIGHT);
+        if ((flags & GeoStructure.CELL_FLAG_W) != 0) {
+            addNode(current, x - 1, y, z, BASE_WEIGHT);
         }
 
-        // can move east, expand
-        if ((nswe & GeoStructure.CELL_FLAG_E) != 0) {
-            addNode(x + 1, y, z, BASE_WEIGHT);
+        if ((flags & GeoStructure.CELL_FLAG_E) != 0) {
+            addNode(current, x + 1, y, z, BASE_WEIGHT);
         }
 
-        // can move north-west, expand
-        if ((nswe & GeoStructure.CELL_FLAG_NW) != 0) {
-            addNode(x - 1, y - 1, z, DIAGONAL_WEIGHT);
+        if ((flags & GeoStructure.CELL_FLAG_NW) != 0) {
+            addNode(current, x - 1, y - 1, z, DIAGONAL_WEIGHT);
         }
 
-        // can move north-east, expand
-        if ((nswe & GeoStructure.CELL_FLAG_NE) != 0) {
-            addNode(x + 1, y - 1, z, DIAGONAL_WEIGHT);
+        if ((flags & GeoStructure.CELL_FLAG_NE) != 0) {
+            addNode(current, x + 1, y - 1, z, DIAGONAL_WEIGHT);
         }
 
-        // can move south-west, expand
-        if ((nswe & GeoStructure.CELL_FLAG_SW) != 0) {
-            addNode(x - 1, y + 1, z, DIAGONAL_WEIGHT);
+        if ((flags & GeoStructure.CELL_FLAG_SW) != 0) {
+            addNode(current, x - 1, y + 1, z, DIAGONAL_WEIGHT);
         }
 
-        // can move south-east, expand
-        if ((nswe & GeoStructure.CELL_FLAG_SE) != 0) {
-            addNode(x + 1, y + 1, z, DIAGONAL_WEIGHT);
+        if ((flags & GeoStructure.CELL_FLAG_SE) != 0) {
+            addNode(current, x + 1, y + 1, z, DIAGONAL_WEIGHT);
         }
     }
 
     /**
-     * Returns node, if it exists in buffer.
+     * Returns the node index, initializing the node on the first access of the current search.
      *
-     * @param x : node X coord
-     * @param y : node Y coord
-     * @param z : node Z coord
-     * @return Node : node, if exits in buffer
+     * @return the node index or -1 if the coordinates are out of the buffer
      */
-    private final Node getNode(int x, int y, short z) {
-        // check node X out of coordinates
-        final int ix = x - _cx;
-        if ((ix < 0) || (ix >= _size)) {
-            return null;
+    private int getNode(int x, int y, short z) {
+        final int ix = x - cx;
+        if (ix < 0 || ix >= size) {
+            return NO_NODE;
         }
 
-        // check node Y out of coordinates
-        final int iy = y - _cy;
-        if ((iy < 0) || (iy >= _size)) {
-            return null;
+        final int iy = y - cy;
+        if (iy < 0 || iy >= size) {
+            return NO_NODE;
         }
 
-        // get node
-        Node result = _buffer[ix][iy];
-
-        // check and update
-        if (result.getLoc() == null) {
-            result.setLoc(x, y, z);
+        final int node = ix * size + iy;
+        if (stamps[node] != generation) {
+            stamps[node] = generation;
+            heights[node] = geoEngine.getHeightNearest(x, y, z);
+            nswe[node] = geoEngine.getNsweNearest(x, y, z);
+            costs[node] = -1;
+            parents[node] = NO_NODE;
         }
-
-        // return node
-        return result;
+        return node;
     }
 
-    /**
-     * Add node given by coordinates to the buffer.
-     *
-     * @param x      : geo X coord
-     * @param y      : geo Y coord
-     * @param z      : geo Z coord
-     * @param weight : weight of movement to new node
-     */
-    private final void addNode(int x, int y, short z, int weight) {
-        // get node to be expanded
-        Node node = getNode(x, y, z);
-        if (node == null) {
+    private void addNode(int current, int x, int y, short z, int weight) {
+        final int node = getNode(x, y, z);
+        if (node == NO_NODE) {
             return;
         }
 
         // Z distance between nearby cells is higher than cell size
-        if (node.getLoc().getZ() > (z + (2 * GeoStructure.CELL_HEIGHT))) {
+        if (heights[node] > (z + (2 * GeoStructure.CELL_HEIGHT))) {
             return;
         }
 
-        // node was already expanded, return
-        if (node.getCost() >= 0) {
+        // node was already added
+        if (costs[node] >= 0) {
             return;
         }
 
-        node.setParent(_current);
-        if (node.getLoc().getNSWE() != (byte) 0xFF) {
-            node.setCost(getCostH(x, y, node.getLoc().getZ()) + (weight * OBSTACLE_MULTIPLIER));
+        parents[node] = current;
+        if (nswe[node] != (byte) 0xFF) {
+            costs[node] = getCostH(x, y, heights[node]) + (weight * OBSTACLE_MULTIPLIER);
         } else {
-            node.setCost(getCostH(x, y, node.getLoc().getZ()) + weight);
+            costs[node] = getCostH(x, y, heights[node]) + weight;
         }
+        offer(node);
+    }
 
-        Node current = _current;
-        int count = 0;
-        while ((current.getChild() != null) && (count < (MAX_ITERATIONS * 4))) {
-            count++;
-            if (current.getChild().getCost() > node.getCost()) {
-                node.setChild(current.getChild());
+    private void offer(int node) {
+        int index = openSize++;
+        final float cost = costs[node];
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            final int parentNode = openSet[parent];
+            if (costs[parentNode] <= cost) {
                 break;
             }
-            current = current.getChild();
+            openSet[index] = parentNode;
+            index = parent;
         }
+        openSet[index] = node;
+    }
 
-        if (count >= (MAX_ITERATIONS * 4)) {
-            LOGGER.warn("Too long loop detected, cost: {}", node.getCost());
+    private int poll() {
+        if (openSize == 0) {
+            return NO_NODE;
         }
 
-        current.setChild(node);
+        final int result = openSet[0];
+        final int last = openSet[--openSize];
+        if (openSize > 0) {
+            final float cost = costs[last];
+            int index = 0;
+            final int half = openSize >>> 1;
+            while (index < half) {
+                int child = (index << 1) + 1;
+                final int right = child + 1;
+                if (right < openSize && costs[openSet[right]] < costs[openSet[child]]) {
+                    child = right;
+                }
+                if (cost <= costs[openSet[child]]) {
+                    break;
+                }
+                openSet[index] = openSet[child];
+                index = child;
+            }
+            openSet[index] = last;
+        }
+        return result;
     }
 
-    /**
-     * @param x : node X coord
-     * @param y : node Y coord
-     * @param i : node Z coord
-     * @return double : node cost
-     */
-    private final double getCostH(int x, int y, int i) {
-        final int dX = x - _gtx;
-        final int dY = y - _gty;
-        final int dZ = (i - _gtz) / GeoStructure.CELL_HEIGHT;
+    private int nodeX(int node) {
+        return cx + node / size;
+    }
+
+    private int nodeY(int node) {
+        return cy + node % size;
+    }
+
+    private float getCostH(int x, int y, int z) {
+        final int dX = x - gtx;
+        final int dY = y - gty;
+        final int dZ = (z - gtz) / GeoStructure.CELL_HEIGHT;
 
-        return Math.sqrt((dX * dX) + (dY * dY) + (dZ * dZ)) * HEURISTIC_WEIGHT; // Direct distance
+        return (float) Math.sqrt((dX * dX) + (dY * dY) + (dZ * dZ)) * HEURISTIC_WEIGHT; // Direct distance
     }
-}
\ No newline at end of file
+}
@@ -29,11 +29,13 @@ public class GeoEngineSettings implements Settings {
 
     private SyncMode syncMode;
     private boolean enabledPathFinding;
+    private int lineOfSightCacheSize;
 
     @Override
     public void load(SettingsFile settingsFile) {
         syncMode = settingsFile.getEnum("SyncMode", SyncMode.class, SyncMode.Z_ONLY);
         enabledPathFinding = settingsFile.getBoolean("EnablePathFinding", true);
+        lineOfSightCacheSize = settingsFile.getInteger("LineOfSightCacheSize", 65536);
     }
 
     public boolean isEnabledPathFinding() {
@@ -44,6 +46,10 @@ public class GeoEngineSettings implements Settings {
         this.enabledPathFinding = enabledPathFinding;
     }
 
+    public int lineOfSightCacheSize() {
+        return lineOfSightCacheSize;
+    }
+
     public void setSyncMode(SyncMode syncMode) {
         this.syncMode = syncMode;
     }
@@ -21,16 +21,19 @@ package org.l2j.gameserver.instancemanager;
 import org.l2j.commons.database.DatabaseFactory;
 import org.l2j.commons.threading.ThreadPool;
 import org.l2j.gameserver.data.database.data.MailData;
+import org.l2j.gameserver.engine.item.ItemEngine;
 import org.l2j.gameserver.engine.mail.MailEngine;
 import org.l2j.gameserver.enums.ItemLocation;
 import org.l2j.gameserver.enums.MailType;
 import org.l2j.gameserver.model.actor.Npc;
 import org.l2j.gameserver.model.actor.instance.Player;
 import org.l2j.gameserver.model.commission.CommissionItem;
+import org.l2j.gameserver.model.commission.CommissionItemType;
 import org.l2j.gameserver.model.item.CommonItem;
 import org.l2j.gameserver.model.item.ItemTemplate;
 import org.l2j.gameserver.model.item.container.Attachment;
 import org.l2j.gameserver.model.item.instance.Item;
+import org.l2j.gameserver.model.item.type.CrystalType;
 import org.l2j.gameserver.network.SystemMessageId;
 import org.l2j.gameserver.network.serverpackets.commission.*;
 import org.l2j.gameserver.network.serverpackets.commission.ExResponseCommissionList.CommissionListReplyType;
@@ -39,16 +42,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
-import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
 /**
  * @author NosBit
  */
@@ -61,6 +65,7 @@ public final class CommissionManager {
     private static final long MIN_REGISTRATION_AND_SALE_FEE = 1000;
     private static final double REGISTRATION_FEE_PER_DAY = 0.001;
     private static final double SALE_FEE_PER_DAY = 0.005;
+    private static final long EXPIRATION_CHECK_INTERVAL = 10000;
 
     private static final String SELECT_ALL_ITEMS = "SELECT * FROM `items` WHERE `loc` = ?";
     private static final String SELECT_ALL_COMMISSION_ITEMS = "SELECT * FROM `commission_items`";
@@ -69,7 +74,20 @@ public final class CommissionManager {
 
     private final Map<Long, CommissionItem> _commissionItems = new ConcurrentSkipListMap<>();
 
+    private final Map<CommissionItemType, Set<CommissionItem>> itemsByType = new EnumMap<>(CommissionItemType.class);
+    private final Map<CrystalType, Set<CommissionItem>> itemsByGrade = new EnumMap<>(CrystalType.class);
+    private final Map<Integer, Set<CommissionItem>> itemsById = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<CommissionItem>> itemsByOwner = new ConcurrentHashMap<>();
+    private final NavigableSet<CommissionItem> expirations = new ConcurrentSkipListSet<>(Comparator.comparing(CommissionItem::getEndTime).thenComparingLong(CommissionItem::getCommissionId));
+
     private CommissionManager() {
+        for (CommissionItemType type : CommissionItemType.values()) {
+            itemsByType.put(type, ConcurrentHashMap.newKeySet());
+        }
+        for (CrystalType grade : CrystalType.values()) {
+            itemsByGrade.put(grade, ConcurrentHashMap.newKeySet());
+        }
+
         final Map<Integer, Item> itemInstances = new HashMap<>();
         try (Connection con = DatabaseFactory.getInstance().getConnection()) {
             try (PreparedStatement ps = con.prepareStatement(SELECT_ALL_ITEMS)) {
@@ -91,18 +109,13 @@ public final class CommissionManager {
                         LOGGER.warn(": Failed loading commission item with commission id " + commissionId + " because item instance does not exist or failed to load.");
                         continue;
                     }
-                    final CommissionItem commissionItem = new CommissionItem(commissionId, itemInstance, rs.getLong("price_per_unit"), rs.getTimestamp("start_time").toInstant(), rs.getByte("duration_in_days"));
-                    _commissionItems.put(commissionItem.getCommissionId(), commissionItem);
-                    if (commissionItem.getEndTime().isBefore(Instant.now())) {
-                        expireSale(commissionItem);
-                    } else {
-                        commissionItem.setSaleEndTask(ThreadPool.schedule(() -> expireSale(commissionItem), Duration.between(Instant.now(), commissionItem.getEndTime()).toMillis()));
-                    }
+                    addCommissionItem(new CommissionItem(commissionId, itemInstance, rs.getLong("price_per_unit"), rs.getTimestamp("start_time").toInstant(), rs.getByte("duration_in_days")));
                 }
             }
         } catch (SQLException e) {
             LOGGER.warn(getClass().getSimpleName() + ": Failed loading commission items.", e);
         }
+        ThreadPool.scheduleAtFixedRate(this::expireSales, EXPIRATION_CHECK_INTERVAL, EXPIRATION_CHECK_INTERVAL);
     }
 
     /**
@@ -120,15 +133,58 @@ public final class CommissionManager {
     }
 
     /**
-     * Shows the player the auctions filtered by filter.
+     * Shows the player the auctions matching the given criteria.
+     *
+     * The smallest index among the requested criteria drives the search, the remaining criteria are checked on its items only.
      *
      * @param player the player
-     * @param filter the filter
+     * @param types the accepted item types or {@code null} to accept any type
+     * @param grade the accepted grade or {@code null} to accept any grade
+     * @param query the text the item name must contain, ignoring case
      */
-    public void showAuctions(Player player, Predicate<ItemTemplate> filter) {
+    public void showAuctions(Player player, Set<CommissionItemType> types, CrystalType grade, String query) {
+        final String lowerQuery = query.toLowerCase();
+        Predicate<ItemTemplate> filter = i -> true;
+        Collection<Set<CommissionItem>> candidates = null;
+        int candidatesSize = Integer.MAX_VALUE;
+
+        if (nonNull(types)) {
+            filter = filter.and(i -> types.contains(i.getCommissionItemType()));
+            final List<Set<CommissionItem>> typeItems = types.stream().map(itemsByType::get).collect(Collectors.toList());
+            final int size = sizeOf(typeItems);
+            if (size < candidatesSize) {
+                candidates = typeItems;
+                candidatesSize = size;
+            }
+        }
+
+        if (nonNull(grade)) {
+            filter = filter.and(i -> i.getCrystalType() == grade);
+            final Set<CommissionItem> gradeItems = itemsByGrade.get(grade);
+            if (gradeItems.size() < candidatesSize) {
+                candidates = List.of(gradeItems);
+                candidatesSize = gradeItems.size();
+            }
+        }
+
+        if (!lowerQuery.isEmpty()) {
+            filter = filter.and(i -> i.getName().toLowerCase().contains(lowerQuery));
+            final List<Set<CommissionItem>> nameItems = itemsById.entrySet().stream()
+                    .filter(e -> ItemEngine.getInstance().getTemplate(e.getKey()).getName().toLowerCase().contains(lowerQuery))
+                    .map(Map.Entry::getValue)
+                    .collect(Collectors.toList());
+
+            if (sizeOf(nameItems) < candidatesSize) {
+                candidates = nameItems;
+            }
+        }
+
+        final Predicate<ItemTemplate> templateFilter = filter;
+        final var source = isNull(candidates) ? _commissionItems.values().stream() : candidates.stream().flatMap(Set::stream);
+
         //@formatter:off
-        final List<CommissionItem> commissionItems = _commissionItems.values().stream()
-                .filter(c -> filter.test(c.getItemInfo().getTemplate()))
+        final List<CommissionItem> commissionItems = source
+                .filter(c -> templateFilter.test(c.getItemInfo().getTemplate()))
                 .limit(ITEMS_LIMIT_PER_REQUEST)
                 .collect(Collectors.toList());
         //@formatter:on
@@ -155,8 +211,7 @@ public final class CommissionManager {
      */
     public void showPlayerAuctions(Player player) {
         //@formatter:off
-        final List<CommissionItem> commissionItems = _commissionItems.values().stream()
-                .filter(c -> c.getItemInstance().getOwnerId() == player.getObjectId())
+        final List<CommissionItem> commissionItems = itemsByOwner.getOrDefault(player.getObjectId(), Collections.emptySet()).stream()
                 .limit(MAX_ITEMS_REGISTRED_PER_PLAYER)
                 .collect(Collectors.toList());
         //@formatter:on
@@ -199,11 +254,7 @@ public final class CommissionManager {
         }
 
         synchronized (this) {
-            //@formatter:off
-            final long playerRegisteredItems = _commissionItems.values().stream()
-                    .filter(c -> c.getItemInstance().getOwnerId() == player.getObjectId())
-                    .count();
-            //@formatter:on
+            final long playerRegisteredItems = itemsByOwner.getOrDefault(player.getObjectId(), Collections.emptySet()).size();
 
             if (playerRegisteredItems >= MAX_ITEMS_REGISTRED_PER_PLAYER) {
                 player.sendPacket(SystemMessageId.THE_ITEM_HAS_FAILED_TO_BE_REGISTERED);
@@ -236,10 +287,7 @@ public final class CommissionManager {
                 ps.executeUpdate();
                 try (ResultSet rs = ps.getGeneratedKeys()) {
                     if (rs.next()) {
-                        final CommissionItem commissionItem = new CommissionItem(rs.getLong(1), itemInstance, pricePerUnit, startTime, durationInDays);
-                        final ScheduledFuture<?> saleEndTask = ThreadPool.schedule(() -> expireSale(commissionItem), Duration.between(Instant.now(), commissionItem.getEndTime()).toMillis());
-                        commissionItem.setSaleEndTask(saleEndTask);
-                        _commissionItems.put(commissionItem.getCommissionId(), commissionItem);
+                        addCommissionItem(new CommissionItem(rs.getLong(1), itemInstance, pricePerUnit, startTime, durationInDays));
                         player.getLastCommissionInfos().put(itemInstance.getId(), new ExResponseCommissionInfo(itemInstance.getId(), pricePerUnit, itemCount, (byte) ((durationInDays - 1) / 2)));
                         player.sendPacket(SystemMessageId.THE_ITEM_HAS_BEEN_SUCCESSFULLY_REGISTERED);
                         player.sendPacket(ExResponseCommissionRegister.SUCCEED);
@@ -279,7 +327,7 @@ public final class CommissionManager {
             return;
         }
 
-        if ((_commissionItems.remove(commissionId) == null) || !commissionItem.getSaleEndTask().cancel(false)) {
+        if (!removeCommissionItem(commissionId)) {
             player.sendPacket(SystemMessageId.CANCELLATION_OF_SALE_HAS_FAILED_BECAUSE_REQUIREMENTS_ARE_NOT_MET);
             player.sendPacket(ExResponseCommissionDelete.FAILED);
             return;
@@ -329,7 +377,7 @@ public final class CommissionManager {
             return;
         }
 
-        if ((_commissionItems.remove(commissionId) == null) || !commissionItem.getSaleEndTask().cancel(false)) {
+        if (!removeCommissionItem(commissionId)) {
             player.getInventory().addAdena("Commission error refund", totalPrice, player, null);
             player.sendPacket(SystemMessageId.ITEM_PURCHASE_HAS_FAILED);
             player.sendPacket(ExResponseCommissionBuyItem.FAILED);
@@ -372,13 +420,91 @@ public final class CommissionManager {
         return false;
     }
 
+    /**
+     * Adds the commission item to the listings, the search indexes and the expiration queue.
+     *
+     * @param commissionItem the commission item
+     */
+    private void addCommissionItem(CommissionItem commissionItem) {
+        final ItemTemplate template = commissionItem.getItemInfo().getTemplate();
+        _commissionItems.put(commissionItem.getCommissionId(), commissionItem);
+        if (nonNull(template.getCommissionItemType())) {
+            itemsByType.get(template.getCommissionItemType()).add(commissionItem);
+        }
+        itemsByGrade.get(template.getCrystalType()).add(commissionItem);
+        addToIndex(itemsById, template.getId(), commissionItem);
+        addToIndex(itemsByOwner, commissionItem.getItemInstance().getOwnerId(), commissionItem);
+        expirations.add(commissionItem);
+    }
+
+    /**
+     * Removes the commission item from the listings, the search indexes and the expiration queue.
+     *
+     * @param commissionId the commission id
+     * @return {@code true} if this call removed the item, {@code false} if it was already removed
+     */
+    private boolean removeCommissionItem(long commissionId) {
+        final CommissionItem commissionItem = _commissionItems.remove(commissionId);
+        if (isNull(commissionItem)) {
+            return false;
+        }
+
+        final ItemTemplate template = commissionItem.getItemInfo().getTemplate();
+        if (nonNull(template.getCommissionItemType())) {
+            itemsByType.get(template.getCommissionItemType()).remove(commissionItem);
+        }
+        itemsByGrade.get(template.getCrystalType()).remove(commissionItem);
+        removeFromIndex(itemsById, template.getId(), commissionItem);
+        removeFromIndex(itemsByOwner, commissionItem.getItemInstance().getOwnerId(), commissionItem);
+        expirations.remove(commissionItem);
+        return true;
+    }
+
+    private static void addToIndex(Map<Integer, Set<CommissionItem>> index, int key, CommissionItem commissionItem) {
+        index.compute(key, (k, items) -> {
+            if (isNull(items)) {
+                items = ConcurrentHashMap.newKeySet();
+            }
+            items.add(commissionItem);
+            return items;
+        });
+    }
+
+    private static void removeFromIndex(Map<Integer, Set<CommissionItem>> index, int key, CommissionItem commissionItem) {
+        index.computeIfPresent(key, (k, items) -> {
+            items.remove(commissionItem);
+            return items.isEmpty() ? null : items;
+        });
+    }
+
+    private static int sizeOf(Collection<Set<CommissionItem>> sets) {
+        int size = 0;
+        for (Set<CommissionItem> set : sets) {
+            size += set.size();
+        }
+        return size;
+    }
+
+    /**
+     * Expires all the sales whose end time has passed, in end time order.
+     */
+    private void expireSales() {
+        final Instant now = Instant.now();
+        for (CommissionItem commissionItem : expirations) {
+            if (commissionItem.getEndTime().isAfter(now)) {
+                break;
+            }
+            expireSale(commissionItem);
+        }
+    }
+
     /**
      * Expires the sale of a commission item and sends the item back to the player.
      *
      * @param commissionItem the comission item
      */
     private void expireSale(CommissionItem commissionItem) {
-        if ((_commissionItems.remove(commissionItem.getCommissionId()) != null) && deleteItemFromDB(commissionItem.getCommissionId())) {
+        if (removeCommissionItem(commissionItem.getCommissionId()) && deleteItemFromDB(commissionItem.getCommissionId())) {
             final var mail = MailData.of(commissionItem.getItemInstance().getOwnerId(), commissionItem.getItemInstance(), MailType.COMMISSION_ITEM_RETURNED);
             MailEngine.getInstance().sendMail(mail);
         }
@@ -399,7 +525,7 @@ public final class CommissionManager {
      * @return {@code true} if player with the objectId has commission items, {@code false} otherwise
      */
     public boolean hasCommissionItems(int objectId) {
-        return _commissionItems.values().stream().anyMatch(item -> item.getItemInstance().getObjectId() == objectId);
+        return itemsByOwner.containsKey(objectId);
     }
 
     public static CommissionManager getInstance() {
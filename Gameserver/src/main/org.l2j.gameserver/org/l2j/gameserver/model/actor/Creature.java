@@ -19,7 +19,6 @@
 package org.l2j.gameserver.model.actor;
 
 import org.l2j.commons.threading.ThreadPool;
-import org.l2j.commons.util.EmptyQueue;
 import org.l2j.commons.util.Rnd;
 import org.l2j.gameserver.Config;
 import org.l2j.gameserver.ai.AttackableAI;
@@ -52,6 +51,7 @@ import org.l2j.gameserver.model.effects.EffectFlag;
 import org.l2j.gameserver.model.events.EventDispatcher;
 import org.l2j.gameserver.model.events.EventType;
 import org.l2j.gameserver.model.events.Listeners;
+import org.l2j.gameserver.model.events.ListenersContainer;
 import org.l2j.gameserver.model.events.impl.character.*;
 import org.l2j.gameserver.model.events.listeners.AbstractEventListener;
 import org.l2j.gameserver.model.events.returns.DamageReturn;
@@ -77,6 +77,7 @@ import org.l2j.gameserver.network.SystemMessageId;
 import org.l2j.gameserver.network.serverpackets.*;
 import org.l2j.gameserver.settings.CharacterSettings;
 import org.l2j.gameserver.taskmanager.AttackStanceTaskManager;
+import org.l2j.gameserver.taskmanager.EffectTickTaskManager;
 import org.l2j.gameserver.util.GameUtils;
 import org.l2j.gameserver.world.MapRegionManager;
 import org.l2j.gameserver.world.World;
@@ -131,6 +132,7 @@ import static org.l2j.gameserver.util.MathUtil.convertHeadingToDegree;
 public abstract class Creature extends WorldObject implements ISkillsHolder, IDeletable {
     public static final Logger LOGGER = LoggerFactory.getLogger(Creature.class.getName());
     public static final double MAX_STATUS_BAR_PX = 352.0;
+    private static final ListenersContainer NO_GLOBAL_LISTENERS = new ListenersContainer();
     /**
      * Map containing all skills of this character.
      */
@@ -346,6 +348,7 @@ public abstract class Creature extends WorldObject implements ISkillsHolder, IDe
                 _zones[zone.ordinal()]--;
             }
         }
+        stats.invalidateValues();
     }
 
     /**
@@ -386,12 +389,14 @@ public abstract class Creature extends WorldObject implements ISkillsHolder, IDe
         }
 
         _transform = Optional.of(transformation);
+        stats.invalidateValues();
         transformation.onTransform(this, addSkills);
     }
 
     public void untransform() {
         _transform.ifPresent(t -> t.onUntransform(this));
         _transform = Optional.empty();
+        stats.invalidateValues();
     }
 
     public Optional<Transform> getTransformation() {
@@ -567,7 +572,9 @@ public abstract class Creature extends WorldObject implements ISkillsHolder, IDe
     }
 
     public final void broadcastStatusUpdate() {
-        broadcastStatusUpdate(null);
+        if (!EffectTickTaskManager.deferStatusUpdate(this)) {
+            broadcastStatusUpdate(null);
+        }
     }
 
     /**
@@ -1760,6 +1767,10 @@ public abstract class Creature extends WorldObject implements ISkillsHolder, IDe
      */
     protected final void setTemplate(CreatureTemplate template) {
         _template = template;
+        // the cached stats were finalized from the base values of the previous template
+        if (nonNull(stats)) {
+            stats.invalidateValues();
+        }
     }
 
     /**
@@ -4170,27 +4181,33 @@ public abstract class Creature extends WorldObject implements ISkillsHolder, IDe
     }
 
     @Override
-    public Queue<AbstractEventListener> getListeners(EventType type) {
-        final Queue<AbstractEventListener> objectListenres = super.getListeners(type);
-        final Queue<AbstractEventListener> templateListeners = _template.getListeners(type);
-        final Queue<AbstractEventListener> globalListeners = GameUtils.isNpc(this) && !isMonster(this) ? Listeners.Npcs().getListeners(type) : isMonster(this) ? Listeners.Monsters().getListeners(type) : isPlayer(this) ? Listeners.players().getListeners(type) : EmptyQueue.emptyQueue();
-
-        // Attempt to do not create collection
-        if (objectListenres.isEmpty() && templateListeners.isEmpty() && globalListeners.isEmpty()) {
-            return EmptyQueue.emptyQueue();
-        } else if (!objectListenres.isEmpty() && templateListeners.isEmpty() && globalListeners.isEmpty()) {
-            return objectListenres;
-        } else if (!templateListeners.isEmpty() && objectListenres.isEmpty() && globalListeners.isEmpty()) {
+    public AbstractEventListener[] listenersOf(EventType type) {
+        final AbstractEventListener[] objectListeners = super.listenersOf(type);
+        final AbstractEventListener[] templateListeners = _template.listenersOf(type);
+        final AbstractEventListener[] globalListeners = globalListeners().listenersOf(type);
+
+        // Attempt to do not create array
+        if (templateListeners.length == 0 && globalListeners.length == 0) {
+            return objectListeners;
+        } else if (objectListeners.length == 0 && globalListeners.length == 0) {
             return templateListeners;
-        } else if (!globalListeners.isEmpty() && objectListenres.isEmpty() && templateListeners.isEmpty()) {
+        } else if (objectListeners.length == 0 && templateListeners.length == 0) {
             return globalListeners;
         }
 
-        final Queue<AbstractEventListener> both = new LinkedBlockingDeque<>(objectListenres.size() + templateListeners.size() + globalListeners.size());
-        both.addAll(objectListenres);
-        both.addAll(templateListeners);
-        both.addAll(globalListeners);
-        return both;
+        final AbstractEventListener[] all = Arrays.copyOf(objectListeners, objectListeners.length + templateListeners.length + globalListeners.length);
+        System.arraycopy(templateListeners, 0, all, objectListeners.length, templateListeners.length);
+        System.arraycopy(globalListeners, 0, all, objectListeners.length + templateListeners.length, globalListeners.length);
+        return all;
+    }
+
+    @Override
+    public boolean hasListener(EventType type) {
+        return super.hasListener(type) || _template.hasListener(type) || globalListeners().hasListener(type);
+    }
+
+    private ListenersContainer globalListeners() {
+        return GameUtils.isNpc(this) && !isMonster(this) ? Listeners.Npcs() : isMonster(this) ? Listeners.Monsters() : isPlayer(this) ? Listeners.players() : NO_GLOBAL_LISTENERS;
     }
 
     public Race getRace() {
@@ -831,6 +831,8 @@ public class Npc extends Creature {
 
         // Stop all effects and recalculate stats without broadcasting.
         getEffectList().stopAllEffects(false);
+        // No effect may have been stopped, but the cached stats depend on the state rolled on respawn, like the champion.
+        getStats().invalidateValues();
 
         // Reset decay info
         setDecayed(false);
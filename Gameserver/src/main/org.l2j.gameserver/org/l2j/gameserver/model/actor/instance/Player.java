@@ -20,6 +20,7 @@ package org.l2j.gameserver.model.actor.instance;
 
 import io.github.joealisson.primitive.*;
 import org.l2j.commons.database.DatabaseFactory;
+import org.l2j.commons.database.UnitOfWork;
 import org.l2j.commons.threading.ThreadPool;
 import org.l2j.commons.util.Rnd;
 import org.l2j.commons.util.Util;
@@ -117,9 +118,12 @@ import org.l2j.gameserver.settings.ChatSettings;
 import org.l2j.gameserver.settings.GeneralSettings;
 import org.l2j.gameserver.taskmanager.AttackStanceTaskManager;
 import org.l2j.gameserver.taskmanager.SaveTaskManager;
+import org.l2j.gameserver.taskmanager.UserInfoTaskManager;
 import org.l2j.gameserver.util.*;
+import org.l2j.gameserver.world.ChatChannelManager;
 import org.l2j.gameserver.world.MapRegionManager;
 import org.l2j.gameserver.world.World;
+import org.l2j.gameserver.world.WorldRegion;
 import org.l2j.gameserver.world.WorldTimeController;
 import org.l2j.gameserver.world.zone.Zone;
 import org.l2j.gameserver.world.zone.ZoneManager;
@@ -136,6 +140,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
@@ -177,6 +182,17 @@ public final class Player extends Playable {
     private CostumeCollectionData activeCostumesCollection = CostumeCollectionData.DEFAULT;
     private IntSet teleportFavorites;
 
+    private static final int STATS_DATA_CHANGED = 1;
+    private static final int COSTUMES_CHANGED = 1 << 1;
+    private static final int COSTUME_COLLECTION_CHANGED = 1 << 2;
+    private static final int TELEPORT_FAVORITES_CHANGED = 1 << 3;
+    private static final int ALL_SECTIONS_CHANGED = STATS_DATA_CHANGED | COSTUMES_CHANGED | COSTUME_COLLECTION_CHANGED | TELEPORT_FAVORITES_CHANGED;
+    private final AtomicInteger changedSections = new AtomicInteger(ALL_SECTIONS_CHANGED);
+
+    private static final long QUEST_STATES_STORE_DELAY = 5000;
+    private final Set<QuestState> changedQuestStates = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean questStatesStoreScheduled = new AtomicBoolean();
+
     private byte vipTier;
     private int rank;
     private int rankRace;
@@ -451,6 +467,18 @@ public final class Player extends Playable {
         return statsData;
     }
 
+    public void onStatsDataChanged() {
+        markChanged(STATS_DATA_CHANGED);
+    }
+
+    public void onCostumesChanged() {
+        markChanged(COSTUMES_CHANGED);
+    }
+
+    private void markChanged(int sections) {
+        changedSections.getAndUpdate(changed -> changed | sections);
+    }
+
     public void updateCharacteristicPoints() {
         statsData.setPoints(LevelData.getInstance().getCharacteristicPoints(getLevel()));
         getDAO(PlayerDAO.class).save(statsData);
@@ -587,6 +615,7 @@ public final class Player extends Playable {
         }
         var costume = costumes.computeIfAbsent(costumeId, id -> CostumeData.of(id, this));
         costume.increaseAmount();
+        markChanged(COSTUMES_CHANGED);
         return costume;
     }
 
@@ -612,6 +641,7 @@ public final class Player extends Playable {
         if(nonNull(collection)) {
             this.activeCostumesCollection = collection;
             activeCostumesCollection.updateReuseTime();
+            markChanged(COSTUME_COLLECTION_CHANGED);
             return true;
         }
         return false;
@@ -635,6 +665,7 @@ public final class Player extends Playable {
         var collection = costumesCollections.remove(collectionId);
         if(activeCostumesCollection.equals(collection)) {
             activeCostumesCollection = CostumeCollectionData.DEFAULT;
+            markChanged(COSTUME_COLLECTION_CHANGED);
         }
     }
     
@@ -644,10 +675,12 @@ public final class Player extends Playable {
 
     public void addTeleportFavorite(int teleportId) {
         teleportFavorites.add(teleportId);
+        markChanged(TELEPORT_FAVORITES_CHANGED);
     }
 
     public void removeTeleportFavorite(int teleportId) {
         teleportFavorites.remove(teleportId);
+        markChanged(TELEPORT_FAVORITES_CHANGED);
     }
 
     public IntSet getTeleportFavorites() {
@@ -1786,6 +1819,47 @@ public final class Player extends Playable {
         return _quests.values();
     }
 
+    /**
+     * Marks the quest state to be stored, the store happens at the end of the current packet handling, on player store or after a short delay.
+     *
+     * @param qs the quest state with changed variables
+     */
+    public void onQuestStateChanged(QuestState qs) {
+        changedQuestStates.add(qs);
+        if (questStatesStoreScheduled.compareAndSet(false, true)) {
+            ThreadPool.schedule(this::storeQuestStates, QUEST_STATES_STORE_DELAY);
+        }
+    }
+
+    public boolean hasChangedQuestStates() {
+        return !changedQuestStates.isEmpty();
+    }
+
+    /**
+     * Stores the changed variables of all quests in a single batch.
+     */
+    public void storeQuestStates() {
+        synchronized (changedQuestStates) {
+            questStatesStoreScheduled.set(false);
+            final Map<QuestState, Map<String, String>> changes = new HashMap<>();
+            for (var iterator = changedQuestStates.iterator(); iterator.hasNext(); ) {
+                final QuestState qs = iterator.next();
+                iterator.remove();
+                final Map<String, String> changed = qs.drainChangedVars();
+                if (nonNull(changed)) {
+                    changes.put(qs, changed);
+                }
+            }
+
+            if (!changes.isEmpty() && !Quest.storeQuestVarsInDb(this, changes)) {
+                changes.forEach((qs, changed) -> {
+                    qs.restoreChangedVars(changed);
+                    changedQuestStates.add(qs);
+                });
+            }
+        }
+    }
+
     /**
      * @return a table containing all Quest in progress from the table _quests.
      */
@@ -3778,26 +3852,33 @@ public final class Player extends Playable {
      * <li>Send a Server->Client packet UserInfo to this Player (Public and Private Data)</li>
      * <li>Send a Server->Client packet CharInfo to all Player in _KnownPlayers of the Player (Public data only)</li> <FONT COLOR=#FF0000><B> <U>Caution</U> : DON'T SEND UserInfo packet to other players instead of CharInfo packet. Indeed, UserInfo packet contains PRIVATE DATA as MaxHP,
      * STR, DEX...</B></FONT>
+     * The packets are coalesced and sent on the next {@link UserInfoTaskManager} tick, see {@link #broadcastUserInfoNow()}.
      */
     public final void broadcastUserInfo() {
-        // Send user info to the current player
-        sendPacket(new UserInfo(this));
-
-        // Broadcast char info to known players
-        broadcastCharInfo();
+        UserInfoTaskManager.getInstance().update(this, UserInfoTaskManager.ALL_USER_INFO, true);
     }
 
     public final void broadcastUserInfo(UserInfoType... types) {
-        // Send user info to the current player
-        final UserInfo ui = new UserInfo(this, false);
-        ui.addComponentType(types);
-        sendPacket(ui);
-
-        // Broadcast char info to all known players
-        broadcastCharInfo();
+        UserInfoTaskManager.getInstance().update(this, types, true);
     }
 
     public final void broadcastCharInfo() {
+        UserInfoTaskManager.getInstance().update(this, 0, true);
+    }
+
+    /**
+     * Sends the full UserInfo to this player and the CharInfo to the known players right away,
+     * discarding the updates waiting for the next {@link UserInfoTaskManager} tick.
+     *
+     * Only to be used when the client must receive the info before the next packets.
+     */
+    public final void broadcastUserInfoNow() {
+        UserInfoTaskManager.getInstance().cancel(this);
+        sendPacket(new UserInfo(this));
+        broadcastCharInfoNow();
+    }
+
+    public final void broadcastCharInfoNow() {
         var charInfo = new ExCharInfo(this);
         World.getInstance().forEachVisibleObject(this, Player.class, player ->
         {
@@ -5727,6 +5808,14 @@ public final class Player extends Playable {
      * @param storeActiveEffects
      */
     public synchronized void store(boolean storeActiveEffects) {
+        final int changed = changedSections.getAndSet(0);
+        if(!UnitOfWork.execute(() -> storeInTransaction(storeActiveEffects, changed))) {
+            markChanged(changed);
+        }
+        storeQuestStates();
+    }
+
+    private void storeInTransaction(boolean storeActiveEffects, int changed) {
         storeCharBase();
         storeCharSub();
         storeEffect(storeActiveEffects);
@@ -5761,24 +5850,31 @@ public final class Player extends Playable {
         getDAO(PlayerVariablesDAO.class).save(variables);
 
         final var playerDAO = getDAO(PlayerDAO.class);
-        playerDAO.save(statsData);
+        if((changed & STATS_DATA_CHANGED) != 0) {
+            playerDAO.save(statsData);
+        }
 
-        if(!costumes.isEmpty()) {
+        if((changed & COSTUMES_CHANGED) != 0 && !costumes.isEmpty()) {
             playerDAO.save(costumes.values());
         }
 
-        if(CostumeCollectionData.DEFAULT.equals(activeCostumesCollection)) {
-            playerDAO.deleteCostumeCollection(objectId);
-        } else {
-            playerDAO.save(activeCostumesCollection);
+        if((changed & COSTUME_COLLECTION_CHANGED) != 0) {
+            if (CostumeCollectionData.DEFAULT.equals(activeCostumesCollection)) {
+                playerDAO.deleteCostumeCollection(objectId);
+            } else {
+                playerDAO.save(activeCostumesCollection);
+            }
         }
 
-        playerDAO.removeTeleportFavorites(objectId);
-        if(Util.isNotEmpty(teleportFavorites)) {
-            playerDAO.saveTeleportFavorites(objectId, teleportFavorites);
+        if((changed & TELEPORT_FAVORITES_CHANGED) != 0) {
+            playerDAO.removeTeleportFavorites(objectId);
+            if (Util.isNotEmpty(teleportFavorites)) {
+                playerDAO.saveTeleportFavorites(objectId, teleportFavorites);
+            }
         }
 
         storeRecommendations();
+        // when the item write-behind store is enabled the items are only queued and written outside this transaction
         if (Config.UPDATE_ITEMS_ON_CHAR_STORE) {
             inventory.updateDatabase();
             getWarehouse().updateDatabase();
@@ -6550,6 +6646,7 @@ public final class Player extends Playable {
                 _hennaBaseStats.merge(entry.getKey(), entry.getValue(), Integer::sum);
             }
         }
+        getStats().invalidateValues();
     }
 
     /**
@@ -7064,6 +7161,20 @@ public final class Player extends Playable {
         broadcastCharInfo();
     }
 
+    @Override
+    public void setWorldRegion(WorldRegion region) {
+        super.setWorldRegion(region);
+        if (nonNull(region)) {
+            ChatChannelManager.getInstance().update(this);
+        }
+    }
+
+    @Override
+    public synchronized void setInstance(Instance newInstance) {
+        super.setInstance(newInstance);
+        ChatChannelManager.getInstance().update(this);
+    }
+
     /**
      * Disable the Inventory and create a new task to enable it after 1.5s.
      *
@@ -7402,6 +7513,7 @@ public final class Player extends Playable {
 
     public void setIsInOlympiadMode(boolean b) {
         _inOlympiadMode = b;
+        getStats().invalidateValues();
     }
 
     public void setIsOlympiadStart(boolean b) {
@@ -8538,6 +8650,7 @@ public final class Player extends Playable {
     public boolean deleteMe() {
         EventDispatcher.getInstance().notifyEventAsync(new OnPlayerLogout(this), this);
         AutoPlayEngine.getInstance().stopTasks(this);
+        ChatChannelManager.getInstance().remove(this);
         try {
             for (Zone zone : ZoneManager.getInstance().getZones(this)) {
                 zone.onPlayerLogoutInside(this);
@@ -8639,6 +8752,8 @@ public final class Player extends Playable {
         } catch (Exception e) {
             LOGGER.error("deleteMe()", e);
         }
+        // the teardown above may have queued info updates
+        UserInfoTaskManager.getInstance().cancel(this);
 
         // If a Party is in progress, leave it (and festival party)
         if (isInParty()) {
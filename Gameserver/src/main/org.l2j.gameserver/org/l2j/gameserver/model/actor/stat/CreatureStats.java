@@ -31,26 +31,62 @@ import org.l2j.gameserver.model.skills.AbnormalType;
 import org.l2j.gameserver.model.skills.BuffInfo;
 import org.l2j.gameserver.model.skills.SkillConditionScope;
 import org.l2j.gameserver.model.stats.*;
+import org.l2j.gameserver.settings.CharacterSettings;
 import org.l2j.gameserver.util.MathUtil;
 import org.l2j.gameserver.world.zone.ZoneType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.l2j.commons.configuration.Configurator.getSettings;
 import static org.l2j.commons.util.Util.falseIfNullOrElse;
 import static org.l2j.commons.util.Util.isNullOrEmpty;
 import static org.l2j.gameserver.util.GameUtils.isSummon;
 
 public class CreatureStats {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CreatureStats.class);
+
+    /**
+     * Stats whose finalizers read state that changes without any invalidation hook (regen position, mount hunger, day/night).
+     */
+    private static final Set<Stat> UNCACHED_STATS = EnumSet.of(Stat.REGENERATE_HP_RATE, Stat.REGENERATE_CP_RATE, Stat.REGENERATE_MP_RATE,
+            Stat.RUN_SPEED, Stat.WALK_SPEED, Stat.SWIM_RUN_SPEED, Stat.SWIM_WALK_SPEED, Stat.FLY_RUN_SPEED, Stat.FLY_WALK_SPEED, Stat.ACCURACY);
+
+    private static final VarHandle STAMPS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int STAT_COUNT = Stat.values().length;
+    private static final long WRITING = -1;
+
+    /**
+     * Incremental updates between forced full rebuilds, bounds the floating point drift of add/remove deltas.
+     */
+    private static final int FULL_REBUILD_INTERVAL = 1024;
+    private static final double EPSILON = 1e-6;
+
     private final Creature creature;
+    private final double[] cachedValues = new double[STAT_COUNT];
+    private final long[] cachedStamps = new long[STAT_COUNT];
+    private volatile long cacheVersion;
     private final Map<Stat, Double> statsAdd = new EnumMap<>(Stat.class);
     private final Map<Stat, Double> statsMul = new EnumMap<>(Stat.class);
+    private final int[] addCounts = new int[STAT_COUNT];
+    private final int[] mulCounts = new int[STAT_COUNT];
+    private final Map<BuffInfo, StatsContribution> contributions = new IdentityHashMap<>();
+    private StatsContribution additionalContribution;
+    private StatsContribution recording;
+    private boolean contributionsReady;
+    private int incrementalUpdates;
     private final Map<Stat, Map<MoveType, Double>> _moveTypeStats = new ConcurrentHashMap<>();
     private final Map<SkillType, Double> reuseStat = Collections.synchronizedMap(new EnumMap<>(SkillType.class));
     private final Map<SkillType, Double> mpConsumeStat = Collections.synchronizedMap(new EnumMap<>(SkillType.class));
@@ -183,6 +219,7 @@ public class CreatureStats {
 
     public void setLevel(byte value) {
         _level = value;
+        invalidateValues();
     }
 
     /**
@@ -672,6 +709,10 @@ public class CreatureStats {
      */
     public void mergeAdd(Stat stat, double val) {
         statsAdd.merge(stat, val, stat::functionAdd);
+        addCounts[stat.ordinal()]++;
+        if (nonNull(recording)) {
+            recording.adds.add(new StatsHolder(stat, val));
+        }
     }
 
     /**
@@ -682,6 +723,10 @@ public class CreatureStats {
      */
     public void mergeMul(Stat stat, double val) {
         statsMul.merge(stat, val, stat::functionMul);
+        mulCounts[stat.ordinal()]++;
+        if (nonNull(recording)) {
+            recording.muls.add(new StatsHolder(stat, val));
+        }
     }
 
     /**
@@ -747,13 +792,66 @@ public class CreatureStats {
      */
     public double getValue(Stat stat) {
         final Double fixedValue = _fixedValue.get(stat);
-        return fixedValue != null ? fixedValue : stat.finalize(creature, Optional.empty());
+        if (fixedValue != null) {
+            return fixedValue;
+        }
+
+        if (UNCACHED_STATS.contains(stat)) {
+            return stat.finalize(creature, Optional.empty());
+        }
+
+        final int index = stat.ordinal();
+        final long version = cacheVersion;
+        final long stamp = (version << 3) | (creature.getMoveType().ordinal() + 1);
+        if ((long) STAMPS.getAcquire(cachedStamps, index) == stamp) {
+            final double value = cachedValues[index];
+            VarHandle.loadLoadFence();
+            if ((long) STAMPS.getOpaque(cachedStamps, index) == stamp) {
+                return value;
+            }
+        }
+
+        final double value = stat.finalize(creature, Optional.empty());
+        storeValue(index, version, stamp, value);
+        return value;
+    }
+
+    /**
+     * Publishes a finalized value unless the cache was invalidated while it was being computed.
+     * The stamp is cleared while the value is written so a concurrent reader never pairs a stamp with a foreign value.
+     */
+    private void storeValue(int index, long version, long stamp, double value) {
+        synchronized (cachedValues) {
+            if (version != cacheVersion) {
+                return;
+            }
+            STAMPS.setOpaque(cachedStamps, index, WRITING);
+            VarHandle.storeStoreFence();
+            cachedValues[index] = value;
+            STAMPS.setRelease(cachedStamps, index, stamp);
+        }
+    }
+
+    /**
+     * Drops every cached final value, the next read of each stat runs its finalizer again.
+     * Must be called after any change to a finalizer input that doesn't go through {@link #recalculateStats(boolean)}.
+     */
+    public void invalidateValues() {
+        synchronized (cachedValues) {
+            cacheVersion++;
+        }
     }
 
     protected void resetStats() {
         statsAdd.clear();
         statsMul.clear();
+        Arrays.fill(addCounts, 0);
+        Arrays.fill(mulCounts, 0);
         _vampiricSum = 0;
+        contributions.clear();
+        additionalContribution = null;
+        contributionsReady = false;
+        incrementalUpdates = 0;
     }
 
     /**
@@ -766,37 +864,17 @@ public class CreatureStats {
         final Map<Stat, Double> oldAdds = !broadcast ? Collections.emptyMap() : new EnumMap<>(statsAdd);
         final Map<Stat, Double> oldMuls = !broadcast ? Collections.emptyMap() : new EnumMap<>(statsMul);
 
+        final var settings = getSettings(CharacterSettings.class);
         _lock.writeLock().lock();
         try {
-            // Wipe all the data
-            resetStats();
-
-            // Collect all necessary effects
-            final EffectList effectList = creature.getEffectList();
-            final Stream<BuffInfo> passives = effectList.getPassives().stream().filter(BuffInfo::isInUse).filter(info -> info.getSkill().checkConditions(SkillConditionScope.PASSIVE, creature, creature));
-            final Stream<BuffInfo> options = effectList.getOptions().stream().filter(BuffInfo::isInUse);
-            final Stream<BuffInfo> effectsStream = Stream.concat(effectList.getEffects().stream().filter(BuffInfo::isInUse), Stream.concat(passives, options));
-
-            // Call pump to each effect
-            //@formatter:off
-            effectsStream.forEach(info -> info.getEffects().stream()
-                    .filter(effect -> canActivate(info, effect))
-                    .forEach(effect -> effect.pump(info.getEffected(), info.getSkill())));
-            //@formatter:on
-
-            if (isSummon(creature) && falseIfNullOrElse(creature.getActingPlayer(), player -> player.hasAbnormalType(AbnormalType.ABILITY_CHANGE))) {
-                //@formatter:off
-                creature.getActingPlayer().getEffectList().getEffects().stream().filter(BuffInfo::isInUse)
-                        .filter(info -> info.isAbnormalType(AbnormalType.ABILITY_CHANGE))
-                        .forEach(info -> info.getEffects().stream()
-                                .filter(effect -> canActivate(info, effect))
-                                .forEach(effect -> effect.pump(creature, info.getSkill())));
-                //@formatter:on
-            }
-
-            // Merge with additional stats
-            _additionalAdd.stream().filter(holder -> holder.verifyCondition(creature)).forEach(holder -> mergeAdd(holder.getStat(), holder.getValue()));
-            _additionalMul.stream().filter(holder -> holder.verifyCondition(creature)).forEach(holder -> mergeMul(holder.getStat(), holder.getValue()));
+            if (settings.incrementalStats() && contributionsReady && ++incrementalUpdates < FULL_REBUILD_INTERVAL) {
+                updateStats();
+                if (settings.checkIncrementalStats()) {
+                    checkConsistency();
+                }
+            } else {
+                rebuildStats();
+            }
 
             _attackSpeedMultiplier = Formulas.calcAtkSpdMultiplier(creature);
             _mAttackSpeedMultiplier = Formulas.calcMAtkSpdMultiplier(creature);
@@ -804,6 +882,7 @@ public class CreatureStats {
             _lock.writeLock().unlock();
         }
 
+        invalidateValues();
         onRecalculateStats(broadcast);
 
         if (broadcast) {
@@ -812,6 +891,145 @@ public class CreatureStats {
         }
     }
 
+    /**
+     * Wipes all the data and pumps every effect again, recording the contribution of each {@link BuffInfo}.
+     */
+    private void rebuildStats() {
+        resetStats();
+        forEachPumpedInfo(this::pumpInfo);
+        applyAdditionalStats();
+        contributionsReady = true;
+    }
+
+    /**
+     * Reverts the contributions of the infos that are gone and pumps only the new ones.
+     * Infos having any effect without a static pump are reverted and pumped again, since their conditions may have changed.
+     * Relies on add and mul merges being sums, as they are for every {@link Stat}.
+     */
+    private void updateStats() {
+        final Set<BuffInfo> current = Collections.newSetFromMap(new IdentityHashMap<>());
+        forEachPumpedInfo((info, effected) -> {
+            current.add(info);
+            final StatsContribution contribution = contributions.get(info);
+            if (isNull(contribution) || !contribution.isStatic) {
+                revert(contribution);
+                pumpInfo(info, effected);
+            }
+        });
+
+        final var iterator = contributions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final var entry = iterator.next();
+            if (!current.contains(entry.getKey())) {
+                revert(entry.getValue());
+                iterator.remove();
+            }
+        }
+
+        revert(additionalContribution);
+        applyAdditionalStats();
+    }
+
+    private void forEachPumpedInfo(BiConsumer<BuffInfo, Creature> action) {
+        final EffectList effectList = creature.getEffectList();
+        for (BuffInfo info : effectList.getEffects()) {
+            if (info.isInUse()) {
+                action.accept(info, info.getEffected());
+            }
+        }
+
+        for (BuffInfo info : effectList.getPassives()) {
+            if (info.isInUse() && info.getSkill().checkConditions(SkillConditionScope.PASSIVE, creature, creature)) {
+                action.accept(info, info.getEffected());
+            }
+        }
+
+        for (BuffInfo info : effectList.getOptions()) {
+            if (info.isInUse()) {
+                action.accept(info, info.getEffected());
+            }
+        }
+
+        if (isSummon(creature) && falseIfNullOrElse(creature.getActingPlayer(), player -> player.hasAbnormalType(AbnormalType.ABILITY_CHANGE))) {
+            for (BuffInfo info : creature.getActingPlayer().getEffectList().getEffects()) {
+                if (info.isInUse() && info.isAbnormalType(AbnormalType.ABILITY_CHANGE)) {
+                    action.accept(info, creature);
+                }
+            }
+        }
+    }
+
+    private void pumpInfo(BuffInfo info, Creature effected) {
+        final StatsContribution contribution = new StatsContribution(info.getEffects().stream().allMatch(AbstractEffect::isStaticPump));
+        recording = contribution;
+        try {
+            for (AbstractEffect effect : info.getEffects()) {
+                if (canActivate(info, effect)) {
+                    effect.pump(effected, info.getSkill());
+                }
+            }
+        } finally {
+            recording = null;
+        }
+        contributions.put(info, contribution);
+    }
+
+    private void applyAdditionalStats() {
+        recording = additionalContribution = new StatsContribution(false);
+        try {
+            _additionalAdd.stream().filter(holder -> holder.verifyCondition(creature)).forEach(holder -> mergeAdd(holder.getStat(), holder.getValue()));
+            _additionalMul.stream().filter(holder -> holder.verifyCondition(creature)).forEach(holder -> mergeMul(holder.getStat(), holder.getValue()));
+        } finally {
+            recording = null;
+        }
+    }
+
+    private void revert(StatsContribution contribution) {
+        if (isNull(contribution)) {
+            return;
+        }
+        contribution.adds.forEach(holder -> unmerge(statsAdd, addCounts, holder));
+        contribution.muls.forEach(holder -> unmerge(statsMul, mulCounts, holder));
+        _vampiricSum -= contribution.vampiricSum;
+    }
+
+    private void unmerge(Map<Stat, Double> values, int[] counts, StatsHolder holder) {
+        final Stat stat = holder.getStat();
+        if (--counts[stat.ordinal()] <= 0) {
+            counts[stat.ordinal()] = 0;
+            values.remove(stat);
+        } else {
+            values.merge(stat, -holder.getValue(), MathUtil::add);
+        }
+    }
+
+    /**
+     * Debug check: rebuilds the stats from scratch and logs any divergence from the incremental result.
+     */
+    private void checkConsistency() {
+        final Map<Stat, Double> adds = new EnumMap<>(statsAdd);
+        final Map<Stat, Double> muls = new EnumMap<>(statsMul);
+        final double vampiricSum = _vampiricSum;
+
+        rebuildStats();
+
+        if (!sameValues(adds, statsAdd) || !sameValues(muls, statsMul) || Math.abs(vampiricSum - _vampiricSum) > EPSILON) {
+            LOGGER.warn("Incremental stats of {} diverged from full recalculation: adds {} expected {}, muls {} expected {}", creature, adds, statsAdd, muls, statsMul);
+        }
+    }
+
+    private static boolean sameValues(Map<Stat, Double> incremental, Map<Stat, Double> rebuilt) {
+        if (!incremental.keySet().equals(rebuilt.keySet())) {
+            return false;
+        }
+        for (var entry : rebuilt.entrySet()) {
+            if (Math.abs(entry.getValue() - incremental.get(entry.getKey())) > EPSILON) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected boolean isStatChanged(Map<Stat, Double> oldAdds, Map<Stat, Double> oldMuls, Stat stat) {
         return !( Objects.equals( statsAdd.get(stat), oldAdds.get(stat) ) && Objects.equals( statsMul.get(stat), oldMuls.get(stat) ));
     }
@@ -847,6 +1065,7 @@ public class CreatureStats {
 
     public void mergeMoveTypeValue(Stat stat, MoveType type, double value) {
         _moveTypeStats.computeIfAbsent(stat, key -> new ConcurrentHashMap<>()).merge(type, value, MathUtil::add);
+        invalidateValues();
     }
 
     public double getReuseTypeValue(SkillType magicType) {
@@ -883,6 +1102,9 @@ public class CreatureStats {
 
     public void addToVampiricSum(double sum) {
         _vampiricSum += sum;
+        if (nonNull(recording)) {
+            recording.vampiricSum += sum;
+        }
     }
 
     public double getVampiricSum() {
@@ -990,7 +1212,9 @@ public class CreatureStats {
      * @return true if the there wasn't previously set fixed value, {@code false} otherwise
      */
     public boolean addFixedValue(Stat stat, Double value) {
-        return _fixedValue.put(stat, value) == null;
+        final boolean added = _fixedValue.put(stat, value) == null;
+        invalidateValues();
+        return added;
     }
 
     /**
@@ -998,6 +1222,22 @@ public class CreatureStats {
      * @return {@code true} if fixed value is removed, {@code false} otherwise
      */
     public boolean removeFixedValue(Stat stat) {
-        return _fixedValue.remove(stat) != null;
+        final boolean removed = _fixedValue.remove(stat) != null;
+        invalidateValues();
+        return removed;
+    }
+
+    /**
+     * What a single {@link BuffInfo} merged into the stats on its last pump.
+     */
+    private static final class StatsContribution {
+        private final boolean isStatic;
+        private final List<StatsHolder> adds = new ArrayList<>();
+        private final List<StatsHolder> muls = new ArrayList<>();
+        private double vampiricSum;
+
+        private StatsContribution(boolean isStatic) {
+            this.isStatic = isStatic;
+        }
     }
 }
@@ -350,6 +350,7 @@ public class PlayerStats extends PlayableStats {
 
         if (getCreature().isSubClassActive()) {
             getCreature().getSubClasses().get(getCreature().getClassIndex()).setLevel(value);
+            invalidateValues();
         } else {
             super.setLevel(value);
         }
@@ -18,7 +18,6 @@
  */
 package org.l2j.gameserver.model.actor.status;
 
-import org.l2j.commons.threading.ThreadPool;
 import org.l2j.gameserver.model.actor.Creature;
 import org.l2j.gameserver.model.actor.instance.Player;
 import org.l2j.gameserver.model.events.EventDispatcher;
@@ -26,12 +25,12 @@ import org.l2j.gameserver.model.events.impl.character.OnCreatureHpChange;
 import org.l2j.gameserver.model.skills.AbnormalType;
 import org.l2j.gameserver.model.stats.Formulas;
 import org.l2j.gameserver.model.stats.Stat;
+import org.l2j.gameserver.taskmanager.RegenerationTaskManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Future;
 
 
 public class CreatureStatus {
@@ -49,7 +48,7 @@ public class CreatureStatus {
      * Array containing all clients that need to be notified about hp/mp updates of the Creature
      */
     private Set<Creature> _StatusListener;
-    private Future<?> _regTask;
+    private boolean regenerating;
 
     public CreatureStatus(Creature owner) {
         this.owner = owner;
@@ -175,17 +174,13 @@ public class CreatureStatus {
      * Start the HP/MP/CP Regeneration task.<br>
      * <B><U>Actions</U>:</B>
      * <ul>
-     * <li>Calculate the regen task period</li>
-     * <li>Launch the HP/MP/CP Regeneration task with Medium priority</li>
+     * <li>Register the creature on the {@link RegenerationTaskManager}</li>
      * </ul>
      */
     public final synchronized void startHpMpRegeneration() {
-        if ((_regTask == null) && !owner.isDead()) {
-            // Get the Regeneration period
-            final int period = Formulas.getRegeneratePeriod(owner);
-
-            // Create the HP/MP/CP Regeneration task
-            _regTask = ThreadPool.scheduleAtFixedRate(this::doRegeneration, period, period);
+        if (!regenerating && !owner.isDead()) {
+            regenerating = true;
+            RegenerationTaskManager.getInstance().add(this);
         }
     }
 
@@ -198,10 +193,10 @@ public class CreatureStatus {
      * </ul>
      */
     public final synchronized void stopHpMpRegeneration() {
-        if (_regTask != null) {
+        if (regenerating) {
             // Stop the HP/MP/CP Regeneration task
-            _regTask.cancel(false);
-            _regTask = null;
+            regenerating = false;
+            RegenerationTaskManager.getInstance().remove(this);
 
             // Set the RegenActive flag to false
             _flagsRegenActive = 0;
@@ -340,15 +335,23 @@ public class CreatureStatus {
         return mpWasChanged;
     }
 
-    protected void doRegeneration() {
-        // Modify the current HP/MP of the Creature and broadcast Server->Client packet StatusUpdate
+    /**
+     * Modify the current HP/MP of the Creature, the StatusUpdate is broadcast by the {@link RegenerationTaskManager}.
+     * As in the setters, a value is changed when it differs from the integer part of the previous value,
+     * so any regeneration below the max value counts as a change.
+     *
+     * @return {@code true} if a value was changed, {@code false} otherwise
+     */
+    public boolean doRegeneration() {
         if (!owner.isDead() && ((_currentHp < owner.getMaxRecoverableHp()) || (_currentMp < owner.getMaxRecoverableMp()))) {
             final double newHp = _currentHp + owner.getStats().getValue(Stat.REGENERATE_HP_RATE);
             final double newMp = _currentMp + owner.getStats().getValue(Stat.REGENERATE_MP_RATE);
-            setCurrentHpMp(newHp, newMp);
-        } else {
-            stopHpMpRegeneration();
+            boolean changed = setCurrentHp(newHp, false);
+            changed |= setCurrentMp(newMp, false);
+            return changed;
         }
+        stopHpMpRegeneration();
+        return false;
     }
 
     public Creature getOwner() {
@@ -24,7 +24,6 @@ import org.l2j.gameserver.model.item.instance.Item;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.concurrent.ScheduledFuture;
 
 /**
  * @author NosBit
@@ -36,7 +35,7 @@ public class CommissionItem {
     private final long _pricePerUnit;
     private final Instant _startTime;
     private final byte _durationInDays;
-    private ScheduledFuture<?> _saleEndTask;
+    private final Instant _endTime;
 
     public CommissionItem(long commissionId, Item itemInstance, long pricePerUnit, Instant startTime, byte durationInDays) {
         _commissionId = commissionId;
@@ -45,6 +44,7 @@ public class CommissionItem {
         _pricePerUnit = pricePerUnit;
         _startTime = startTime;
         _durationInDays = durationInDays;
+        _endTime = startTime.plus(durationInDays, ChronoUnit.DAYS);
     }
 
     /**
@@ -107,24 +107,6 @@ public class CommissionItem {
      * @return the end time
      */
     public Instant getEndTime() {
-        return _startTime.plus(_durationInDays, ChronoUnit.DAYS);
-    }
-
-    /**
-     * Gets the sale end task.
-     *
-     * @return the sale end task
-     */
-    public ScheduledFuture<?> getSaleEndTask() {
-        return _saleEndTask;
-    }
-
-    /**
-     * Sets the sale end task.
-     *
-     * @param saleEndTask the sale end task
-     */
-    public void setSaleEndTask(ScheduledFuture<?> saleEndTask) {
-        _saleEndTask = saleEndTask;
+        return _endTime;
     }
 }
@@ -159,6 +159,16 @@ public abstract class AbstractEffect  {
 
     }
 
+    /**
+     * A static pump always merges the same values and its effect can always start and pump,
+     * so its contribution is kept between incremental stat recalculations instead of being pumped again.
+     *
+     * @return {@code true} if pump depends only on the effect's parameters, {@code false} otherwise
+     */
+    public boolean isStaticPump() {
+        return false;
+    }
+
     /**
      * Get this effect's type.<br>
      * TODO: Remove.
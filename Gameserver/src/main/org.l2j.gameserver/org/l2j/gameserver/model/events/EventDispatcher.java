@@ -25,8 +25,6 @@ import org.l2j.gameserver.model.events.returns.AbstractEventReturn;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Queue;
-
 /**
  * @author UnAfraid
  */
@@ -138,14 +136,14 @@ public final class EventDispatcher {
                 // Local listeners container first.
                 for (ListenersContainer container : containers) {
                     if ((callback == null) || !callback.abort()) {
-                        callback = notifyToListeners(container.getListeners(event.getType()), event, callbackClass, callback);
+                        callback = notifyToListeners(container.listenersOf(event.getType()), event, callbackClass, callback);
                     }
                 }
             }
 
             // Global listener container.
             if ((callback == null) || !callback.abort()) {
-                callback = notifyToListeners(Listeners.Global().getListeners(event.getType()), event, callbackClass, callback);
+                callback = notifyToListeners(Listeners.Global().listenersOf(event.getType()), event, callbackClass, callback);
             }
 
             return callback;
@@ -170,12 +168,12 @@ public final class EventDispatcher {
         T callback = null;
         // Local listener container first.
         if (container != null) {
-            callback = notifyToListeners(container.getListeners(event.getType()), event, callbackClass, callback);
+            callback = notifyToListeners(container.listenersOf(event.getType()), event, callbackClass, callback);
         }
 
         // Global listener container.
         if ((callback == null) || !callback.abort()) {
-            callback = notifyToListeners(Listeners.Global().getListeners(event.getType()), event, callbackClass, callback);
+            callback = notifyToListeners(Listeners.Global().listenersOf(event.getType()), event, callbackClass, callback);
         }
 
         return callback;
@@ -189,7 +187,7 @@ public final class EventDispatcher {
      * @param callback
      * @return
      */
-    private <T extends AbstractEventReturn> T notifyToListeners(Queue<AbstractEventListener> listeners, IBaseEvent event, Class<T> returnBackClass, T callback) {
+    private <T extends AbstractEventReturn> T notifyToListeners(AbstractEventListener[] listeners, IBaseEvent event, Class<T> returnBackClass, T callback) {
         for (AbstractEventListener listener : listeners) {
             try {
                 final T rb = listener.executeEvent(event, returnBackClass);
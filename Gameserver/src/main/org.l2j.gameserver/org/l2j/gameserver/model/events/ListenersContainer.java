@@ -18,20 +18,29 @@
  */
 package org.l2j.gameserver.model.events;
 
-import org.l2j.commons.util.EmptyQueue;
 import org.l2j.gameserver.model.events.listeners.AbstractEventListener;
 
-import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.function.Predicate;
 
+import static java.util.Objects.isNull;
+
 /**
+ * Keeps the listeners of each event type in a copy-on-write array sorted by priority.
+ *
+ * The dispatch iterates the array without any copy or lock, the rare registrations replace the array.
+ * An event type without listeners has a {@code null} slot, so checking for listeners costs a single array read.
+ *
  * @author UnAfraid
+ * @author JoeAlisson
  */
 public class ListenersContainer {
-    private volatile Map<EventType, Queue<AbstractEventListener>> _listeners = null;
+    private static final AbstractEventListener[] EMPTY = new AbstractEventListener[0];
+    private static final int EVENT_TYPES = EventType.values().length;
+
+    private volatile AbstractEventListener[][] _listeners = null;
 
     /**
      * Registers listener for a callback when specified event is executed.
@@ -43,7 +52,25 @@ public class ListenersContainer {
         if ((listener == null)) {
             throw new NullPointerException("Listener cannot be null!");
         }
-        getListeners().computeIfAbsent(listener.getType(), k -> new PriorityBlockingQueue<>()).add(listener);
+
+        synchronized (this) {
+            final AbstractEventListener[][] listeners = isNull(_listeners) ? new AbstractEventListener[EVENT_TYPES][] : _listeners.clone();
+            final int type = listener.getType().ordinal();
+            final AbstractEventListener[] current = isNull(listeners[type]) ? EMPTY : listeners[type];
+
+            // keep the registration order among listeners of the same priority
+            int index = current.length;
+            while (index > 0 && current[index - 1].getPriority() < listener.getPriority()) {
+                index--;
+            }
+
+            final AbstractEventListener[] updated = new AbstractEventListener[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            updated[index] = listener;
+            System.arraycopy(current, index, updated, index + 1, current.length - index);
+            listeners[type] = updated;
+            _listeners = listeners;
+        }
         return listener;
     }
 
@@ -58,49 +85,84 @@ public class ListenersContainer {
             throw new NullPointerException("Listener cannot be null!");
         } else if (_listeners == null) {
             throw new NullPointerException("Listeners container is not initialized!");
-        } else if (!_listeners.containsKey(listener.getType())) {
-            throw new IllegalAccessError("Listeners container doesn't had " + listener.getType() + " event type added!");
         }
 
-        _listeners.get(listener.getType()).remove(listener);
+        synchronized (this) {
+            final int type = listener.getType().ordinal();
+            final AbstractEventListener[] current = _listeners[type];
+            final int index = isNull(current) ? -1 : indexOf(current, listener);
+            if (index >= 0) {
+                final AbstractEventListener[][] listeners = _listeners.clone();
+                if (current.length == 1) {
+                    listeners[type] = null;
+                } else {
+                    final AbstractEventListener[] updated = new AbstractEventListener[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, index);
+                    System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+                    listeners[type] = updated;
+                }
+                _listeners = listeners;
+            }
+        }
         return listener;
     }
 
+    private static int indexOf(AbstractEventListener[] listeners, AbstractEventListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
+     * The returned array is shared and must not be modified.
+     *
      * @param type
-     * @return {@code List} of {@link AbstractEventListener} by the specified type
+     * @return the listeners of the specified type sorted by priority
      */
-    public Queue<AbstractEventListener> getListeners(EventType type) {
-        return (_listeners != null) && _listeners.containsKey(type) ? _listeners.get(type) : EmptyQueue.emptyQueue();
+    public AbstractEventListener[] listenersOf(EventType type) {
+        final AbstractEventListener[][] listeners = _listeners;
+        if (isNull(listeners) || isNull(listeners[type.ordinal()])) {
+            return EMPTY;
+        }
+        return listeners[type.ordinal()];
     }
 
-    public void removeListenerIf(EventType type, Predicate<? super AbstractEventListener> filter) {
-        getListeners(type).stream().filter(filter).forEach(AbstractEventListener::unregisterMe);
+    /**
+     * @param type
+     * @return {@code Collection} of {@link AbstractEventListener} by the specified type
+     */
+    public Collection<AbstractEventListener> getListeners(EventType type) {
+        return Collections.unmodifiableList(Arrays.asList(listenersOf(type)));
     }
 
-    public void removeListenerIf(Predicate<? super AbstractEventListener> filter) {
-        if (_listeners != null) {
-            getListeners().values().forEach(queue -> queue.stream().filter(filter).forEach(AbstractEventListener::unregisterMe));
+    public void removeListenerIf(EventType type, Predicate<? super AbstractEventListener> filter) {
+        for (AbstractEventListener listener : listenersOf(type)) {
+            if (filter.test(listener)) {
+                listener.unregisterMe();
+            }
         }
     }
 
-    public boolean hasListener(EventType type) {
-        return !getListeners(type).isEmpty();
-    }
-
-    /**
-     * Creates the listeners container map if doesn't exists.
-     *
-     * @return the listeners container map.
-     */
-    private Map<EventType, Queue<AbstractEventListener>> getListeners() {
-        if (_listeners == null) {
-            synchronized (this) {
-                if (_listeners == null) {
-                    _listeners = new ConcurrentHashMap<>();
+    public void removeListenerIf(Predicate<? super AbstractEventListener> filter) {
+        final AbstractEventListener[][] listeners = _listeners;
+        if (listeners != null) {
+            for (AbstractEventListener[] typeListeners : listeners) {
+                if (typeListeners != null) {
+                    for (AbstractEventListener listener : typeListeners) {
+                        if (filter.test(listener)) {
+                            listener.unregisterMe();
+                        }
+                    }
                 }
             }
         }
-        return _listeners;
+    }
+
+    public boolean hasListener(EventType type) {
+        final AbstractEventListener[][] listeners = _listeners;
+        return (listeners != null) && (listeners[type.ordinal()] != null);
     }
 }
@@ -26,28 +26,43 @@ import org.l2j.gameserver.model.events.returns.AbstractEventReturn;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 
 /**
  * Annotation event listener provides dynamically attached callback to any method operation with or without any return object.
  *
+ * The callback is bound once to a lambda generated by {@link LambdaMetafactory}, falling back to a {@link MethodHandle}
+ * when the declaring class can't be accessed privately, so no reflective invocation happens on dispatch.
+ *
  * @author UnAfraid
+ * @author JoeAlisson
  */
 public class AnnotationEventListener extends AbstractEventListener {
     private static final Logger LOGGER = LoggerFactory.getLogger(AnnotationEventListener.class);
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, IBaseEvent.class);
+
     private final Method _callback;
+    private final BiFunction<Object, IBaseEvent, Object> _invoker;
 
     public AnnotationEventListener(ListenersContainer container, EventType type, Method callback, Object owner, int priority) {
         super(container, type, owner);
         _callback = callback;
+        _invoker = createInvoker(callback);
         setPriority(priority);
     }
 
     @Override
     public <R extends AbstractEventReturn> R executeEvent(IBaseEvent event, Class<R> returnBackClass) {
         try {
-            final Object result = _callback.invoke(getOwner(), event);
+            final Object result = _invoker.apply(getOwner(), event);
             if (_callback.getReturnType() == returnBackClass) {
                 return returnBackClass.cast(result);
             }
@@ -56,4 +71,51 @@ public class AnnotationEventListener extends AbstractEventListener {
         }
         return null;
     }
+
+    @SuppressWarnings("unchecked")
+    private static BiFunction<Object, IBaseEvent, Object> createInvoker(Method method) {
+        if (!Modifier.isStatic(method.getModifiers())) {
+            try {
+                final var lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+                final var handle = lookup.unreflect(method);
+                final var instantiatedType = MethodType.methodType(Object.class, method.getDeclaringClass(), method.getParameterTypes()[0]);
+
+                if (method.getReturnType() == void.class) {
+                    final var consumer = (BiConsumer<Object, IBaseEvent>) LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                            MethodType.methodType(void.class, Object.class, Object.class), handle, instantiatedType.changeReturnType(void.class)).getTarget().invoke();
+                    return (owner, event) -> {
+                        consumer.accept(owner, event);
+                        return null;
+                    };
+                }
+
+                return (BiFunction<Object, IBaseEvent, Object>) LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(BiFunction.class),
+                        MethodType.methodType(Object.class, Object.class, Object.class), handle, instantiatedType).getTarget().invoke();
+            } catch (Throwable e) {
+                LOGGER.debug("Could not bind a lambda to {}, using a method handle", method, e);
+            }
+        }
+        return methodHandleInvoker(method);
+    }
+
+    private static BiFunction<Object, IBaseEvent, Object> methodHandleInvoker(Method method) {
+        final MethodHandle handle;
+        try {
+            method.trySetAccessible();
+            final var unreflected = MethodHandles.lookup().unreflect(method);
+            handle = (Modifier.isStatic(method.getModifiers()) ? MethodHandles.dropArguments(unreflected, 0, Object.class) : unreflected).asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Can't access listener method " + method, e);
+        }
+
+        return (owner, event) -> {
+            try {
+                return handle.invokeExact(owner, event);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
 }
@@ -21,6 +21,7 @@ package org.l2j.gameserver.model.item.container;
 import org.l2j.commons.database.DatabaseFactory;
 import org.l2j.gameserver.Config;
 import org.l2j.gameserver.api.item.InventoryListener;
+import org.l2j.gameserver.data.database.ItemWriteBehindStore;
 import org.l2j.gameserver.data.xml.impl.ArmorSetsData;
 import org.l2j.gameserver.engine.item.ItemEngine;
 import org.l2j.gameserver.enums.InventorySlot;
@@ -651,6 +652,7 @@ public abstract class Inventory extends ItemContainer {
      */
     @Override
     public void restore() {
+        ItemWriteBehindStore.getInstance().flush(getOwnerId());
         try (Connection con = DatabaseFactory.getInstance().getConnection();
              PreparedStatement ps = con.prepareStatement("SELECT * FROM items WHERE owner_id=? AND (loc=? OR loc=?) ORDER BY loc_data")) {
             ps.setInt(1, getOwnerId());
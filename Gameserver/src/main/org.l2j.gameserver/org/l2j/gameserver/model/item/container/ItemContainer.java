@@ -24,6 +24,7 @@ import io.github.joealisson.primitive.IntSet;
 import org.l2j.commons.database.DatabaseFactory;
 import org.l2j.commons.util.StreamUtil;
 import org.l2j.gameserver.Config;
+import org.l2j.gameserver.data.database.ItemWriteBehindStore;
 import org.l2j.gameserver.engine.item.ItemEngine;
 import org.l2j.gameserver.enums.ItemLocation;
 import org.l2j.gameserver.model.WorldObject;
@@ -192,8 +193,8 @@ public abstract class ItemContainer {
             // Updates database
             final float adenaRate = Config.RATE_DROP_AMOUNT_BY_ID.getOrDefault(CommonItem.ADENA, 1f);
             if ((item.getId() == CommonItem.ADENA) && (count < (10000 * adenaRate))) {
-                // Small adena changes won't be saved to database all the time
-                if ((WorldTimeController.getInstance().getGameTicks() % 5) == 0) {
+                // Small adena changes won't be saved to database all the time, unless the write-behind store coalesces them
+                if (ItemWriteBehindStore.getInstance().isEnabled() || (WorldTimeController.getInstance().getGameTicks() % 5) == 0) {
                     item.updateDatabase();
                 }
             } else {
@@ -238,8 +239,8 @@ public abstract class ItemContainer {
             // If Adena drop rate is not present it will be x1.
             final float adenaRate = Config.RATE_DROP_AMOUNT_BY_ID.getOrDefault(CommonItem.ADENA, 1f);
             if ((itemId == CommonItem.ADENA) && (count < (10000 * adenaRate))) {
-                // Small adena changes won't be saved to database all the time
-                if ((WorldTimeController.getInstance().getGameTicks() % 5) == 0) {
+                // Small adena changes won't be saved to database all the time, unless the write-behind store coalesces them
+                if (ItemWriteBehindStore.getInstance().isEnabled() || (WorldTimeController.getInstance().getGameTicks() % 5) == 0) {
                     item.updateDatabase();
                 }
             } else {
@@ -409,7 +410,7 @@ public abstract class ItemContainer {
                 item.setLastChange(Item.MODIFIED);
 
                 // don't update often for untraced item
-                if ((process != null) || ((WorldTimeController.getInstance().getGameTicks() % 10) == 0)) {
+                if ((process != null) || ItemWriteBehindStore.getInstance().isEnabled() || ((WorldTimeController.getInstance().getGameTicks() % 10) == 0)) {
                     item.updateDatabase();
                 }
 
@@ -556,6 +557,7 @@ public abstract class ItemContainer {
      * Get back items in container from database
      */
     public void restore() {
+        ItemWriteBehindStore.getInstance().flush(getOwnerId());
         try (Connection con = DatabaseFactory.getInstance().getConnection();
              PreparedStatement ps = con.prepareStatement("SELECT * FROM items WHERE owner_id=? AND (loc=?)")) {
             ps.setInt(1, getOwnerId());
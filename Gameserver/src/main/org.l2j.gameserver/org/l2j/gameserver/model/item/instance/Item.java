@@ -21,6 +21,7 @@ package org.l2j.gameserver.model.item.instance;
 import org.l2j.commons.database.DatabaseFactory;
 import org.l2j.commons.threading.ThreadPool;
 import org.l2j.gameserver.Config;
+import org.l2j.gameserver.data.database.ItemWriteBehindStore;
 import org.l2j.gameserver.data.database.data.ItemOnGroundData;
 import org.l2j.gameserver.data.xml.impl.AugmentationEngine;
 import org.l2j.gameserver.data.xml.impl.EnchantItemOptionsData;
@@ -83,6 +84,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.l2j.commons.configuration.Configurator.getSettings;
 
 public final class Item extends WorldObject {
@@ -154,6 +156,7 @@ public final class Item extends WorldObject {
     private int _lastChange = 2; // 1 ??, 2 modified, 3 removed
     private boolean _existsInDb; // if a record exists in DB.
     private boolean _storedInDb; // if DB data is up-to-date.
+    private int _storedOwnerId; // owner of the record in DB, maintained by the write-behind store.
     private Map<AttributeType, AttributeHolder> _elementals = null;
     private ScheduledFuture<?> itemLootShedule = null;
     private ScheduledFuture<?> _lifeTimeTask;
@@ -210,6 +213,7 @@ public final class Item extends WorldObject {
         _time = rs.getLong("time");
         _existsInDb = true;
         _storedInDb = true;
+        _storedOwnerId = _ownerId;
 
         if (isEquipable()) {
             restoreAttributes();
@@ -810,6 +814,17 @@ public final class Item extends WorldObject {
         this.enchantLevel = enchantLevel;
         applyEnchantStats();
         _storedInDb = false;
+        invalidateOwnerStats();
+    }
+
+    /**
+     * Invalidates the cached stats of the owner when this item is equipped, since they are computed from its enchant and attributes.
+     */
+    private void invalidateOwnerStats() {
+        final Player player = getActingPlayer();
+        if (isEquipped() && nonNull(player)) {
+            player.getStats().invalidateValues();
+        }
     }
 
     /**
@@ -1039,6 +1054,7 @@ public final class Item extends WorldObject {
      */
     public void setAttribute(AttributeHolder holder, boolean updateDatabase) {
         applyAttribute(holder);
+        invalidateOwnerStats();
         if (updateDatabase) {
             updateItemElementals();
         }
@@ -1057,6 +1073,7 @@ public final class Item extends WorldObject {
         synchronized (_elementals) {
             _elementals.remove(type);
         }
+        invalidateOwnerStats();
 
         try (Connection con = DatabaseFactory.getInstance().getConnection();
              PreparedStatement ps = con.prepareStatement("DELETE FROM item_elementals WHERE itemId = ? AND elemType = ?")) {
@@ -1076,6 +1093,7 @@ public final class Item extends WorldObject {
         synchronized (_elementals) {
             _elementals.clear();
         }
+        invalidateOwnerStats();
 
         try (Connection con = DatabaseFactory.getInstance().getConnection();
              PreparedStatement ps = con.prepareStatement("DELETE FROM item_elementals WHERE itemId = ?")) {
@@ -1109,17 +1127,26 @@ public final class Item extends WorldObject {
      * @param force if the update should necessarilly be done.
      */
     public void updateDatabase(boolean force) {
+        final var store = ItemWriteBehindStore.getInstance();
+        if (store.isEnabled()) {
+            if (_wear || (_existsInDb && !isRemovableFromDb() && Config.LAZY_ITEMS_UPDATE && !force)) {
+                return;
+            }
+            store.store(this);
+            return;
+        }
+
         _dbLock.lock();
 
         try {
             if (_existsInDb) {
-                if ((_ownerId == 0) || (loc == ItemLocation.VOID) || (loc == ItemLocation.REFUND) || ((_count == 0) && (loc != ItemLocation.LEASE))) {
+                if (isRemovableFromDb()) {
                     removeFromDb();
                 } else if (!Config.LAZY_ITEMS_UPDATE || force) {
                     updateInDb();
                 }
             } else {
-                if ((_ownerId == 0) || (loc == ItemLocation.VOID) || (loc == ItemLocation.REFUND) || ((_count == 0) && (loc != ItemLocation.LEASE))) {
+                if (isRemovableFromDb()) {
                     return;
                 }
                 insertIntoDb();
@@ -1129,6 +1156,77 @@ public final class Item extends WorldObject {
         }
     }
 
+    private boolean isRemovableFromDb() {
+        return (_ownerId == 0) || (loc == ItemLocation.VOID) || (loc == ItemLocation.REFUND) || ((_count == 0) && (loc != ItemLocation.LEASE));
+    }
+
+    /**
+     * Adds the current database state of this item to a write-behind flush.
+     *
+     * @param batch the flush batch
+     */
+    public void storeIn(ItemWriteBehindStore.Batch batch) {
+        _dbLock.lock();
+        try {
+            if (isRemovableFromDb()) {
+                if (_existsInDb) {
+                    batch.delete(this);
+                }
+                _existsInDb = false;
+                _storedInDb = false;
+            } else if (getObjectId() != 0) {
+                batch.save(this, _existsInDb, (_augmentation != null) || (_elementals != null) || !_ensoulOptions.isEmpty() || !_ensoulSpecialOptions.isEmpty());
+                _existsInDb = true;
+                _storedInDb = true;
+            }
+        } finally {
+            _dbLock.unlock();
+        }
+    }
+
+    /**
+     * Restores the database state of this item after a write-behind flush could not be committed.
+     *
+     * @param existed if a record of this item was in the database before the flush
+     */
+    public void onStoreFailed(boolean existed) {
+        _dbLock.lock();
+        try {
+            _existsInDb = existed;
+            _storedInDb = false;
+        } finally {
+            _dbLock.unlock();
+        }
+    }
+
+    /**
+     * @return the owner of this item's record in the database, 0 if there is no record
+     */
+    public int getStoredOwnerId() {
+        return _storedOwnerId;
+    }
+
+    public void setStoredOwnerId(int ownerId) {
+        _storedOwnerId = ownerId;
+    }
+
+    /**
+     * Writes the augmentation, elementals and ensoul options of this item.
+     *
+     * @param con the connection used by the flush
+     */
+    public void storeAttributes(Connection con) {
+        if (_augmentation != null) {
+            updateItemOptions(con);
+        }
+        if (_elementals != null) {
+            updateItemElements(con);
+        }
+        if (!_ensoulOptions.isEmpty() || !_ensoulSpecialOptions.isEmpty()) {
+            updateSpecialAbilities(con);
+        }
+    }
+
     public final void dropMe(Creature dropper, int x, int y, int z) {
         ThreadPool.execute(new ItemDropTask(this, dropper, x, y, z));
         if (GameUtils.isPlayer(dropper)) {
@@ -91,6 +91,8 @@ public class Quest extends AbstractScript implements IIdentifiable {
     private static final String DEFAULT_NO_QUEST_MSG = "<html><body>You are either not on a quest that involves this NPC, or you don't meet this NPC's minimum quest requirements.</body></html>";
     private static final String QUEST_DELETE_FROM_CHAR_QUERY = "DELETE FROM character_quests WHERE charId=? AND name=?";
     private static final String QUEST_DELETE_FROM_CHAR_QUERY_NON_REPEATABLE_QUERY = "DELETE FROM character_quests WHERE charId=? AND name=? AND var!=?";
+    private static final String QUEST_VAR_STORE_QUERY = "INSERT INTO character_quests (charId,name,var,value) VALUES (?,?,?,?) ON DUPLICATE KEY UPDATE value=?";
+    private static final String QUEST_VAR_DELETE_QUERY = "DELETE FROM character_quests WHERE charId=? AND name=? AND var=?";
     private static final int RESET_HOUR = 6;
     private static final int RESET_MINUTES = 30;
     private static final int STEEL_DOOR_COIN = 37045; // Steel Door Guild Coin
@@ -200,71 +202,52 @@ public class Quest extends AbstractScript implements IIdentifiable {
     }
 
     /**
-     * Insert in the database the quest for the player.
+     * Store in the database the changed variables of the player's quests, using one batch for all of them.
      *
-     * @param qs    the {@link QuestState} object whose variable to insert
-     * @param var   the name of the variable
-     * @param value the value of the variable
+     * @param player  the player owning the quests
+     * @param changes the changed variables by quest state, a {@code null} value means the variable was removed
+     * @return {@code true} if the changes were stored, {@code false} otherwise
      */
-    public static void createQuestVarInDb(QuestState qs, String var, String value) {
+    public static boolean storeQuestVarsInDb(Player player, Map<QuestState, Map<String, String>> changes) {
         try (Connection con = DatabaseFactory.getInstance().getConnection();
-             PreparedStatement statement = con.prepareStatement("INSERT INTO character_quests (charId,name,var,value) VALUES (?,?,?,?) ON DUPLICATE KEY UPDATE value=?")) {
-            statement.setInt(1, qs.getPlayer().getObjectId());
-            statement.setString(2, qs.getQuestName());
-            statement.setString(3, var);
-            statement.setString(4, value);
-            statement.setString(5, value);
-            statement.executeUpdate();
-        } catch (Exception e) {
-            LOGGER.warn("could not insert char quest:", e);
-        }
-    }
-
-    /**
-     * Update the value of the variable "var" for the specified quest in database
-     *
-     * @param qs    the {@link QuestState} object whose variable to update
-     * @param var   the name of the variable
-     * @param value the value of the variable
-     */
-    public static void updateQuestVarInDb(QuestState qs, String var, String value) {
-        try (Connection con = DatabaseFactory.getInstance().getConnection();
-             PreparedStatement statement = con.prepareStatement("UPDATE character_quests SET value=? WHERE charId=? AND name=? AND var = ?")) {
-            statement.setString(1, value);
-            statement.setInt(2, qs.getPlayer().getObjectId());
-            statement.setString(3, qs.getQuestName());
-            statement.setString(4, var);
-            statement.executeUpdate();
-        } catch (Exception e) {
-            LOGGER.warn("could not update char quest:", e);
-        }
-    }
-
-    /**
-     * Delete a variable of player's quest from the database.
-     *
-     * @param qs  the {@link QuestState} object whose variable to delete
-     * @param var the name of the variable to delete
-     */
-    public static void deleteQuestVarInDb(QuestState qs, String var) {
-        try (Connection con = DatabaseFactory.getInstance().getConnection();
-             PreparedStatement statement = con.prepareStatement("DELETE FROM character_quests WHERE charId=? AND name=? AND var=?")) {
-            statement.setInt(1, qs.getPlayer().getObjectId());
-            statement.setString(2, qs.getQuestName());
-            statement.setString(3, var);
-            statement.executeUpdate();
+             PreparedStatement store = con.prepareStatement(QUEST_VAR_STORE_QUERY);
+             PreparedStatement delete = con.prepareStatement(QUEST_VAR_DELETE_QUERY)) {
+            for (var questChanges : changes.entrySet()) {
+                final String questName = questChanges.getKey().getQuestName();
+                for (var change : questChanges.getValue().entrySet()) {
+                    if (change.getValue() != null) {
+                        store.setInt(1, player.getObjectId());
+                        store.setString(2, questName);
+                        store.setString(3, change.getKey());
+                        store.setString(4, change.getValue());
+                        store.setString(5, change.getValue());
+                        store.addBatch();
+                    } else {
+                        delete.setInt(1, player.getObjectId());
+                        delete.setString(2, questName);
+                        delete.setString(3, change.getKey());
+                        delete.addBatch();
+                    }
+                }
+            }
+            store.executeBatch();
+            delete.executeBatch();
+            return true;
         } catch (Exception e) {
-            LOGGER.warn("Unable to delete char quest!", e);
+            LOGGER.warn("could not store char quests:", e);
         }
+        return false;
     }
 
     /**
-     * Delete from the database all variables and states of the specified quest state.
+     * Delete from the database all variables and states of the specified quest state.<br>
+     * The pending changes of the player's quests are stored first, so they can't be written after the deletion.
      *
      * @param qs         the {@link QuestState} object whose variables to delete
      * @param repeatable if {@code false}, the state variable will be preserved, otherwise it will be deleted as well
      */
     public static void deleteQuestInDb(QuestState qs, boolean repeatable) {
+        qs.getPlayer().storeQuestStates();
         try (Connection con = DatabaseFactory.getInstance().getConnection();
              PreparedStatement ps = con.prepareStatement(repeatable ? QUEST_DELETE_FROM_CHAR_QUERY : QUEST_DELETE_FROM_CHAR_QUERY_NON_REPEATABLE_QUERY)) {
             ps.setInt(1, qs.getPlayer().getObjectId());
@@ -278,24 +261,6 @@ public class Quest extends AbstractScript implements IIdentifiable {
         }
     }
 
-    /**
-     * Create a database record for the specified quest state.
-     *
-     * @param qs the {@link QuestState} object whose data to write in the database
-     */
-    public static void createQuestInDb(QuestState qs) {
-        createQuestVarInDb(qs, "<state>", State.getStateName(qs.getState()));
-    }
-
-    /**
-     * Update a quest state record of the specified quest state in database.
-     *
-     * @param qs the {@link QuestState} object whose data to update in the database
-     */
-    public static void updateQuestInDb(QuestState qs) {
-        updateQuestVarInDb(qs, "<state>", State.getStateName(qs.getState()));
-    }
-
     /**
      * @param player the player whose language settings to use in finding the html of the right language
      * @return the default html for when no quest is available: "You are either not on a quest that involves this NPC.."
@@ -32,6 +32,9 @@ import org.slf4j.LoggerFactory;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.isNull;
 
 
 /**
@@ -42,6 +45,9 @@ import java.util.Map;
 public final class QuestState {
     protected static final Logger LOGGER = LoggerFactory.getLogger(QuestState.class);
 
+    private static final LongAdder CHANGED_VARS = new LongAdder();
+    private static final LongAdder COALESCED_VARS = new LongAdder();
+
     /**
      * The name of the quest of this QuestState
      */
@@ -67,6 +73,11 @@ public final class QuestState {
      */
     private Map<String, String> _vars;
 
+    /**
+     * The variables changed since the last store, a {@code null} value means the variable was removed
+     */
+    private Map<String, String> _changedVars;
+
     /**
      * boolean flag letting QuestStateManager know to exit quest when cleaning up
      */
@@ -165,14 +176,9 @@ public final class QuestState {
         if (_state == state) {
             return false;
         }
-        final boolean newQuest = isCreated();
         _state = state;
         if (saveInDb) {
-            if (newQuest) {
-                Quest.createQuestInDb(this);
-            } else {
-                Quest.updateQuestInDb(this);
-            }
+            onVarChanged("<state>", State.getStateName(state));
         }
 
         _player.sendPacket(new QuestList(_player));
@@ -240,11 +246,7 @@ public final class QuestState {
         }
 
         final String old = _vars.put(var, val);
-        if (old != null) {
-            Quest.updateQuestVarInDb(this, var, val);
-        } else {
-            Quest.createQuestVarInDb(this, var, val);
-        }
+        onVarChanged(var, val);
 
         if ("cond".equals(var)) {
             try {
@@ -369,11 +371,63 @@ public final class QuestState {
 
         final String old = _vars.remove(var);
         if (old != null) {
-            Quest.deleteQuestVarInDb(this, var);
+            onVarChanged(var, null);
         }
         return old;
     }
 
+    /**
+     * Records the variable change to be stored with the next {@link Player#storeQuestStates()}.
+     *
+     * @param var the name of the changed variable
+     * @param val the new value or {@code null} if the variable was removed
+     */
+    private void onVarChanged(String var, String val) {
+        synchronized (this) {
+            if (isNull(_changedVars)) {
+                _changedVars = new HashMap<>();
+            }
+            if (_changedVars.containsKey(var)) {
+                COALESCED_VARS.increment();
+            }
+            _changedVars.put(var, val);
+        }
+        CHANGED_VARS.increment();
+        _player.onQuestStateChanged(this);
+    }
+
+    /**
+     * @return the variables changed since the last call or {@code null} if none
+     */
+    public synchronized Map<String, String> drainChangedVars() {
+        final Map<String, String> changed = _changedVars;
+        _changedVars = null;
+        return changed;
+    }
+
+    /**
+     * Gives back changes that could not be stored, keeping any newer change of the same variables.
+     *
+     * @param changed the changes previously drained
+     */
+    public synchronized void restoreChangedVars(Map<String, String> changed) {
+        if (isNull(_changedVars)) {
+            _changedVars = changed;
+        } else {
+            changed.forEach(_changedVars::putIfAbsent);
+        }
+    }
+
+    public static CharSequence getStoreStats() {
+        final long changed = CHANGED_VARS.sum();
+        final long coalesced = COALESCED_VARS.sum();
+        return new StringBuilder("Quest Variables Store\n")
+                .append("=================================================\n")
+                .append("\tChanged: ............... ").append(changed).append("\n")
+                .append("\tCoalesced: ............. ").append(coalesced).append("\n")
+                .append("\tCoalesced Ratio: ....... ").append(changed > 0 ? (coalesced * 100 / changed) : 0).append("%\n");
+    }
+
     /**
      * @param var the name of the variable to get
      * @return the value of the variable from the list of quest variables
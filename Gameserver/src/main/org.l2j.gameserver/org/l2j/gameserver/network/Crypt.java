@@ -18,9 +18,10 @@
  */
 package org.l2j.gameserver.network;
 
-import org.l2j.gameserver.model.events.EventDispatcher;
-import org.l2j.gameserver.model.events.impl.server.OnPacketReceived;
-import org.l2j.gameserver.model.events.impl.server.OnPacketSent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
 
 import static java.lang.Byte.toUnsignedInt;
 
@@ -28,6 +29,8 @@ import static java.lang.Byte.toUnsignedInt;
  * @author UnAfraid, Nos
  */
 public class Crypt {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Crypt.class);
+
     private final GameClient _client;
     private final byte[] _inKey = new byte[16];
     private final byte[] outKey = new byte[16];
@@ -45,11 +48,11 @@ public class Crypt {
     public byte[] encrypt(final byte[] data, final int offset, final int size) {
         if(!_isEnabled) {
             _isEnabled = true;
-            onPacketSent(data);
+            onPacketSent(data, offset, size);
             return data;
         }
 
-        onPacketSent(data);
+        onPacketSent(data, offset, size);
 
         int encrypted = 0;
         for (int i = 0; i < size; i++) {
@@ -64,7 +67,7 @@ public class Crypt {
 
     public boolean decrypt(byte[] data, int offset, int size) {
         if(!_isEnabled) {
-            onPacketReceive(data);
+            onPacketReceived(data, offset, size);
             return true;
         }
 
@@ -76,17 +79,41 @@ public class Crypt {
         }
 
         shiftKey(_inKey, size);
-        onPacketReceive(data);
+        onPacketReceived(data, offset, size);
         return true;
 
     }
 
-    private void onPacketSent(byte[] data) {
-        EventDispatcher.getInstance().notifyEvent(new OnPacketSent(_client, data));
+    private void onPacketSent(byte[] data, int offset, int size) {
+        final PacketInterceptor[] interceptors = _client.getPacketInterceptors();
+        if(interceptors.length == 0) {
+            return;
+        }
+
+        final ByteBuffer packet = ByteBuffer.wrap(data, offset, size).asReadOnlyBuffer();
+        for (PacketInterceptor interceptor : interceptors) {
+            try {
+                interceptor.onPacketSent(_client, packet.duplicate());
+            } catch (Exception e) {
+                LOGGER.warn("Packet interceptor {} failed on packet sent to {}", interceptor, _client, e);
+            }
+        }
     }
 
-    private void onPacketReceive(byte[] data) {
-        EventDispatcher.getInstance().notifyEvent(new OnPacketReceived(_client, data));
+    private void onPacketReceived(byte[] data, int offset, int size) {
+        final PacketInterceptor[] interceptors = _client.getPacketInterceptors();
+        if(interceptors.length == 0) {
+            return;
+        }
+
+        final ByteBuffer packet = ByteBuffer.wrap(data, offset, size).asReadOnlyBuffer();
+        for (PacketInterceptor interceptor : interceptors) {
+            try {
+                interceptor.onPacketReceived(_client, packet.duplicate());
+            } catch (Exception e) {
+                LOGGER.warn("Packet interceptor {} failed on packet received from {}", interceptor, _client, e);
+            }
+        }
     }
 
     private void shiftKey(byte[] key, int size) {
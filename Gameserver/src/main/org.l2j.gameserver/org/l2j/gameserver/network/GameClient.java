@@ -23,6 +23,7 @@ import io.github.joealisson.mmocore.Connection;
 import org.l2j.commons.network.SessionKey;
 import org.l2j.commons.util.Util;
 import org.l2j.gameserver.Config;
+import org.l2j.gameserver.data.database.ItemWriteBehindStore;
 import org.l2j.gameserver.data.database.dao.AccountDAO;
 import org.l2j.gameserver.data.database.dao.ItemDAO;
 import org.l2j.gameserver.data.database.dao.PetDAO;
@@ -52,6 +53,7 @@ import org.slf4j.LoggerFactory;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -70,12 +72,14 @@ import static org.l2j.commons.util.Util.isNotEmpty;
 public final class GameClient extends Client<Connection<GameClient>> {
     protected static final Logger LOGGER = LoggerFactory.getLogger(GameClient.class);
     protected static final Logger LOGGER_ACCOUNTING = LoggerFactory.getLogger("accounting");
+    private static final PacketInterceptor[] NO_INTERCEPTORS = new PacketInterceptor[0];
 
     private final ReentrantLock activeCharLock = new ReentrantLock();
 
     private final FloodProtectors floodProtectors = new FloodProtectors(this);
 
     private final Crypt crypt;
+    private volatile PacketInterceptor[] packetInterceptors = NO_INTERCEPTORS;
     private String accountName;
     private SessionKey sessionId;
     private Player player;
@@ -105,6 +109,7 @@ public final class GameClient extends Client<Connection<GameClient>> {
         PlayerNameTable.getInstance().removeName(objId);
         getDAO(PetDAO.class).deleteByOwner(objId);
 
+        ItemWriteBehindStore.getInstance().flush(objId);
         var itemDAO = getDAO(ItemDAO.class);
         itemDAO.deleteVariationsByOwner(objId);
         itemDAO.deleteSpecialAbilitiesByOwner(objId);
@@ -375,6 +380,25 @@ public final class GameClient extends Client<Connection<GameClient>> {
         return crypt;
     }
 
+    /**
+     * Registers an interceptor of the packets of this client.
+     *
+     * @param interceptor the interceptor
+     */
+    public synchronized void addPacketInterceptor(PacketInterceptor interceptor) {
+        final PacketInterceptor[] interceptors = Arrays.copyOf(packetInterceptors, packetInterceptors.length + 1);
+        interceptors[packetInterceptors.length] = interceptor;
+        packetInterceptors = interceptors;
+    }
+
+    public synchronized void removePacketInterceptor(PacketInterceptor interceptor) {
+        packetInterceptors = Arrays.stream(packetInterceptors).filter(i -> i != interceptor).toArray(PacketInterceptor[]::new);
+    }
+
+    PacketInterceptor[] getPacketInterceptors() {
+        return packetInterceptors;
+    }
+
     public ClientHardwareInfoHolder getHardwareInfo() {
         return hardwareInfo;
     }
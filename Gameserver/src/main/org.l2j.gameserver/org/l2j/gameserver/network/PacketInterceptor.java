@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver.network;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Intercepts the packets of a {@link GameClient}, registered with {@link GameClient#addPacketInterceptor(PacketInterceptor)}.
+ *
+ * The packets are given as read-only buffers holding the unencrypted packet data, they are only valid during the call.
+ *
+ * @author JoeAlisson
+ */
+public interface PacketInterceptor {
+
+    /**
+     * Called after a packet from the client was decrypted.
+     *
+     * @param client the client that sent the packet
+     * @param packet the packet data
+     */
+    default void onPacketReceived(GameClient client, ByteBuffer packet) {
+    }
+
+    /**
+     * Called before a packet to the client is encrypted.
+     *
+     * @param client the client receiving the packet
+     * @param packet the packet data
+     */
+    default void onPacketSent(GameClient client, ByteBuffer packet) {
+    }
+}
@@ -19,12 +19,15 @@
 package org.l2j.gameserver.network.clientpackets;
 
 import io.github.joealisson.mmocore.ReadablePacket;
+import org.l2j.commons.threading.ThreadPool;
 import org.l2j.gameserver.GameServer;
 import org.l2j.gameserver.network.GameClient;
 import org.l2j.gameserver.network.InvalidDataPacketException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static java.util.Objects.nonNull;
+
 /**
  * Packets received by the game server from clients
  *
@@ -56,6 +59,17 @@ public abstract class ClientPacket extends ReadablePacket<GameClient> {
             LOGGER.error("[{}] Error while running packet {} from client {}", GameServer.fullVersion, this, client);
             LOGGER.error(e.getMessage(), e);
         }
+        storeQuestStates();
+    }
+
+    /**
+     * Stores off the packet thread the quest variables changed while handling the packet, as a single batch.
+     */
+    private void storeQuestStates() {
+        final var player = client.getPlayer();
+        if (nonNull(player) && player.hasChangedQuestStates()) {
+            ThreadPool.execute(player::storeQuestStates);
+        }
     }
 
     protected abstract void runImpl() throws Exception;
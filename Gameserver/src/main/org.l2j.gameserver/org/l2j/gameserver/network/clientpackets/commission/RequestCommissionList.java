@@ -22,12 +22,12 @@ import org.l2j.gameserver.instancemanager.CommissionManager;
 import org.l2j.gameserver.model.actor.instance.Player;
 import org.l2j.gameserver.model.commission.CommissionItemType;
 import org.l2j.gameserver.model.commission.CommissionTreeType;
-import org.l2j.gameserver.model.item.ItemTemplate;
 import org.l2j.gameserver.model.item.type.CrystalType;
 import org.l2j.gameserver.network.clientpackets.ClientPacket;
 import org.l2j.gameserver.network.serverpackets.commission.ExCloseCommission;
 
-import java.util.function.Predicate;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * @author NosBit
@@ -60,66 +60,34 @@ public class RequestCommissionList extends ClientPacket {
             return;
         }
 
-        Predicate<ItemTemplate> filter = i -> true;
+        Set<CommissionItemType> types = null;
         switch (_treeViewDepth) {
-            case 1: {
+            case 1 -> {
                 final CommissionTreeType commissionTreeType = CommissionTreeType.findByClientId(_itemType);
                 if (commissionTreeType != null) {
-                    filter = filter.and(i -> commissionTreeType.getCommissionItemTypes().contains(i.getCommissionItemType()));
+                    types = commissionTreeType.getCommissionItemTypes();
                 }
-                break;
             }
-            case 2: {
+            case 2 -> {
                 final CommissionItemType commissionItemType = CommissionItemType.findByClientId(_itemType);
                 if (commissionItemType != null) {
-                    filter = filter.and(i -> i.getCommissionItemType() == commissionItemType);
+                    types = EnumSet.of(commissionItemType);
                 }
-                break;
             }
         }
 
-        switch (_type) {
-            case 0: // General
-            {
-                filter = filter.and(i -> true); // TODO: condition
-                break;
-            }
-            case 1: // Rare
-            {
-                filter = filter.and(i -> true); // TODO: condition
-                break;
-            }
-        }
-
-        switch (_grade) {
-            case 0: {
-                filter = filter.and(i -> i.getCrystalType() == CrystalType.NONE);
-                break;
-            }
-            case 1: {
-                filter = filter.and(i -> i.getCrystalType() == CrystalType.D);
-                break;
-            }
-            case 2: {
-                filter = filter.and(i -> i.getCrystalType() == CrystalType.C);
-                break;
-            }
-            case 3: {
-                filter = filter.and(i -> i.getCrystalType() == CrystalType.B);
-                break;
-            }
-            case 4: {
-                filter = filter.and(i -> i.getCrystalType() == CrystalType.A);
-                break;
-            }
-            case 5: {
-                filter = filter.and(i -> i.getCrystalType() == CrystalType.S);
-                break;
-            }
-        }
+        // TODO: _type condition, 0 General and 1 Rare
 
-        filter = filter.and(i -> _query.isEmpty() || i.getName().toLowerCase().contains(_query.toLowerCase()));
+        final CrystalType grade = switch (_grade) {
+            case 0 -> CrystalType.NONE;
+            case 1 -> CrystalType.D;
+            case 2 -> CrystalType.C;
+            case 3 -> CrystalType.B;
+            case 4 -> CrystalType.A;
+            case 5 -> CrystalType.S;
+            default -> null;
+        };
 
-        CommissionManager.getInstance().showAuctions(player, filter);
+        CommissionManager.getInstance().showAuctions(player, types, grade, _query);
     }
 }
@@ -74,6 +74,7 @@ public class ExRequestCostumeEvolution extends ClientPacket {
         var costume = CostumeEngine.getInstance().getCostume(id);
         if(canEvolve(player, costume) && consumeCostumesCost(player)) {
             playerCostume.reduceCount(1);
+            player.onCostumesChanged();
             modifiedCostumes.add(playerCostume);
 
             var resultCostume = player.addCostume(id + 1);
@@ -126,6 +127,7 @@ public class ExRequestCostumeEvolution extends ClientPacket {
             costume.reduceCount(material.amount);
             modifiedCostumes.add(costume);
         }
+        player.onCostumesChanged();
         return true;
     }
 
@@ -56,6 +56,7 @@ public class ExRequestCostumeExtract extends ClientPacket {
         var costumeEngine = CostumeEngine.getInstance();
         if(canExtract(player, playerCostume) && consumeItemsCost(player, costume = costumeEngine.getCostume(id))) {
             playerCostume.reduceCount(amount);
+            player.onCostumesChanged();
             client.sendPacket(new ExSendCostumeList(playerCostume));
             client.sendPacket(ExCostumeExtract.success(playerCostume, costume.extractItem(), amount));
             player.addItem("Extract", costume.extractItem(), amount, null, true);
@@ -49,6 +49,7 @@ public class ExRequestCostumeLock extends ClientPacket {
 
         doIfNonNull(player.getCostume(id), costume -> {
             costume.setLocked(lock);
+            player.onCostumesChanged();
             client.sendPacket(new ExCostumeLock(id, lock, true));
         });
     }
@@ -37,6 +37,7 @@ public class ExResetStatusBonus extends ClientPacket {
         var player = client.getPlayer();
         if(player.reduceAdena("Reset Stats", 2900000, player, true)) {
             player.getStatsData().reset();
+            player.onStatsDataChanged();
             client.sendPacket(new UserInfo(player, UserInfoType.STATS,  UserInfoType.STATS_POINTS, UserInfoType.BASE_STATS ));
             player.getStats().recalculateStats(true);
         }
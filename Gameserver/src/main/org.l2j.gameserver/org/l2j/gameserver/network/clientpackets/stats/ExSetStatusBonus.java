@@ -51,6 +51,7 @@ public class ExSetStatusBonus extends ClientPacket {
         var player = client.getPlayer();
         var statsData = player.getStatsData();
         if(statsData.update(str, dex, con, intt, wit, men)) {
+            player.onStatsDataChanged();
             client.sendPacket(new UserInfo(player, UserInfoType.STATS, UserInfoType.STATS_POINTS, UserInfoType.BASE_STATS ));
             player.getStats().recalculateStats(true);
         }
@@ -21,7 +21,6 @@ package org.l2j.gameserver.network.serverpackets;
 import org.l2j.gameserver.model.WorldObject;
 import org.l2j.gameserver.model.actor.Creature;
 import org.l2j.gameserver.model.skills.SkillCastingType;
-import org.l2j.gameserver.network.GameClient;
 import org.l2j.gameserver.network.ServerPacketId;
 
 import java.util.Arrays;
@@ -33,7 +32,7 @@ import java.util.Collections;
  *
  * @author UnAfraid
  */
-public class MagicSkillLaunched extends ServerPacket {
+public class MagicSkillLaunched extends SharedServerPacket {
     private final int _charObjId;
     private final int _skillId;
     private final int _skillLevel;
@@ -62,16 +61,16 @@ public class MagicSkillLaunched extends ServerPacket {
     }
 
     @Override
-    public void writeImpl(GameClient client) {
-        writeId(ServerPacketId.MAGIC_SKILL_LAUNCHED);
+    protected void writePayload(PayloadWriter writer) {
+        writer.writeId(ServerPacketId.MAGIC_SKILL_LAUNCHED);
 
-        writeInt(_castingType.getClientBarId()); // MagicSkillUse castingType
-        writeInt(_charObjId);
-        writeInt(_skillId);
-        writeInt(_skillLevel);
-        writeInt(_targets.size());
+        writer.writeInt(_castingType.getClientBarId()); // MagicSkillUse castingType
+        writer.writeInt(_charObjId);
+        writer.writeInt(_skillId);
+        writer.writeInt(_skillLevel);
+        writer.writeInt(_targets.size());
         for (WorldObject target : _targets) {
-            writeInt(target.getObjectId());
+            writer.writeInt(target.getObjectId());
         }
     }
 
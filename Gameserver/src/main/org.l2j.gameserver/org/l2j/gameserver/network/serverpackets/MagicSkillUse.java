@@ -39,7 +39,7 @@ import static org.l2j.gameserver.util.GameUtils.isPlayer;
  *
  * @author UnAfraid, NosBit
  */
-public final class MagicSkillUse extends ServerPacket {
+public final class MagicSkillUse extends SharedServerPacket {
     private final int _skillId;
     private final int _skillLevel;
     private final int _hitTime;
@@ -81,35 +81,35 @@ public final class MagicSkillUse extends ServerPacket {
     }
 
     @Override
-    public void writeImpl(GameClient client) {
-        writeId(ServerPacketId.MAGIC_SKILL_USE);
+    protected void writePayload(PayloadWriter writer) {
+        writer.writeId(ServerPacketId.MAGIC_SKILL_USE);
 
-        writeInt(_castingType.getClientBarId()); // Casting bar type: 0 - default, 1 - default up, 2 - blue, 3 - green, 4 - red.
-        writeInt(_activeChar.getObjectId());
-        writeInt(_target.getObjectId());
-        writeInt(_skillId);
-        writeInt(_skillLevel);
-        writeInt(_hitTime);
-        writeInt(_reuseGroup);
-        writeInt(_reuseDelay);
-        writeInt(_activeChar.getX());
-        writeInt(_activeChar.getY());
-        writeInt(_activeChar.getZ());
-        writeShort((short) _unknown.size()); // TODO: Implement me!
+        writer.writeInt(_castingType.getClientBarId()); // Casting bar type: 0 - default, 1 - default up, 2 - blue, 3 - green, 4 - red.
+        writer.writeInt(_activeChar.getObjectId());
+        writer.writeInt(_target.getObjectId());
+        writer.writeInt(_skillId);
+        writer.writeInt(_skillLevel);
+        writer.writeInt(_hitTime);
+        writer.writeInt(_reuseGroup);
+        writer.writeInt(_reuseDelay);
+        writer.writeInt(_activeChar.getX());
+        writer.writeInt(_activeChar.getY());
+        writer.writeInt(_activeChar.getZ());
+        writer.writeShort((short) _unknown.size()); // TODO: Implement me!
         for (int unknown : _unknown) {
-            writeShort((short) unknown);
+            writer.writeShort((short) unknown);
         }
-        writeShort((short) _groundLocations.size());
+        writer.writeShort((short) _groundLocations.size());
         for (IPositionable target : _groundLocations) {
-            writeInt(target.getX());
-            writeInt(target.getY());
-            writeInt(target.getZ());
+            writer.writeInt(target.getX());
+            writer.writeInt(target.getY());
+            writer.writeInt(target.getZ());
         }
-        writeInt(_target.getX());
-        writeInt(_target.getY());
-        writeInt(_target.getZ());
-        writeInt(_actionId >= 0 ? 0x01 : 0x00); // 1 when ID from RequestActionUse is used
-        writeInt(max(_actionId, 0)); // ID from RequestActionUse. Used to set cooldown on summon skills.
+        writer.writeInt(_target.getX());
+        writer.writeInt(_target.getY());
+        writer.writeInt(_target.getZ());
+        writer.writeInt(_actionId >= 0 ? 0x01 : 0x00); // 1 when ID from RequestActionUse is used
+        writer.writeInt(max(_actionId, 0)); // ID from RequestActionUse. Used to set cooldown on summon skills.
     }
 
 }
@@ -19,10 +19,9 @@
 package org.l2j.gameserver.network.serverpackets;
 
 import org.l2j.gameserver.model.actor.Creature;
-import org.l2j.gameserver.network.GameClient;
 import org.l2j.gameserver.network.ServerPacketId;
 
-public final class MoveToLocation extends ServerPacket {
+public final class MoveToLocation extends SharedServerPacket {
     private final int _charObjId;
     private final int _x;
     private final int _y;
@@ -42,18 +41,18 @@ public final class MoveToLocation extends ServerPacket {
     }
 
     @Override
-    public void writeImpl(GameClient client) {
-        writeId(ServerPacketId.MOVE_TO_LOCATION);
+    protected void writePayload(PayloadWriter writer) {
+        writer.writeId(ServerPacketId.MOVE_TO_LOCATION);
 
-        writeInt(_charObjId);
+        writer.writeInt(_charObjId);
 
-        writeInt(_xDst);
-        writeInt(_yDst);
-        writeInt(_zDst);
+        writer.writeInt(_xDst);
+        writer.writeInt(_yDst);
+        writer.writeInt(_zDst);
 
-        writeInt(_x);
-        writeInt(_y);
-        writeInt(_z);
+        writer.writeInt(_x);
+        writer.writeInt(_y);
+        writer.writeInt(_z);
     }
 
 }
@@ -20,10 +20,9 @@ package org.l2j.gameserver.network.serverpackets;
 
 import org.l2j.gameserver.model.WorldObject;
 import org.l2j.gameserver.model.actor.Creature;
-import org.l2j.gameserver.network.GameClient;
 import org.l2j.gameserver.network.ServerPacketId;
 
-public class MoveToPawn extends ServerPacket {
+public class MoveToPawn extends SharedServerPacket {
     private final int _charObjId;
     private final int _targetId;
     private final int _distance;
@@ -47,19 +46,19 @@ public class MoveToPawn extends ServerPacket {
     }
 
     @Override
-    public void writeImpl(GameClient client) {
-        writeId(ServerPacketId.MOVE_TO_PAWN);
+    protected void writePayload(PayloadWriter writer) {
+        writer.writeId(ServerPacketId.MOVE_TO_PAWN);
 
-        writeInt(_charObjId);
-        writeInt(_targetId);
-        writeInt(_distance);
+        writer.writeInt(_charObjId);
+        writer.writeInt(_targetId);
+        writer.writeInt(_distance);
 
-        writeInt(_x);
-        writeInt(_y);
-        writeInt(_z);
-        writeInt(_tx);
-        writeInt(_ty);
-        writeInt(_tz);
+        writer.writeInt(_x);
+        writer.writeInt(_y);
+        writer.writeInt(_z);
+        writer.writeInt(_tx);
+        writer.writeInt(_ty);
+        writer.writeInt(_tz);
     }
 
 }
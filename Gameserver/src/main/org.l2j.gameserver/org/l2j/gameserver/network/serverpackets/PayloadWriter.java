@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver.network.serverpackets;
+
+import org.l2j.gameserver.network.ServerExPacketId;
+import org.l2j.gameserver.network.ServerPacketId;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Writes the payload of a {@link SharedServerPacket} into a per thread reusable buffer.
+ *
+ * The data is written using the same layout of the network packets (little endian and UTF-16LE strings).
+ *
+ * @author JoeAlisson
+ */
+public final class PayloadWriter {
+
+    private static final int INITIAL_SIZE = 256;
+    private static final ThreadLocal<PayloadWriter> WRITERS = ThreadLocal.withInitial(PayloadWriter::new);
+
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private PayloadWriter() {
+    }
+
+    static PayloadWriter acquire() {
+        final var writer = WRITERS.get();
+        writer.buffer.clear();
+        return writer;
+    }
+
+    byte[] toArray() {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private void ensureSize(int size) {
+        if(buffer.remaining() < size) {
+            final var newBuffer = ByteBuffer.allocate(Math.max(buffer.capacity() << 1, buffer.position() + size)).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.flip();
+            newBuffer.put(buffer);
+            buffer = newBuffer;
+        }
+    }
+
+    public void writeId(ServerPacketId packet) {
+        writeByte(packet.getId());
+    }
+
+    public void writeId(ServerExPacketId exPacket) {
+        writeByte(0xFE);
+        writeShort(exPacket.getId());
+    }
+
+    public void writeByte(int value) {
+        ensureSize(Byte.BYTES);
+        buffer.put((byte) value);
+    }
+
+    public void writeByte(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeShort(int value) {
+        ensureSize(Short.BYTES);
+        buffer.putShort((short) value);
+    }
+
+    public void writeShort(boolean value) {
+        writeShort(value ? 1 : 0);
+    }
+
+    public void writeInt(int value) {
+        ensureSize(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    public void writeInt(boolean value) {
+        writeInt(value ? 1 : 0);
+    }
+
+    public void writeLong(long value) {
+        ensureSize(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    public void writeFloat(float value) {
+        ensureSize(Float.BYTES);
+        buffer.putFloat(value);
+    }
+
+    public void writeDouble(double value) {
+        ensureSize(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    public void writeBytes(byte[] bytes) {
+        if(nonNull(bytes)) {
+            ensureSize(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    public void writeString(CharSequence text) {
+        if(nonNull(text)) {
+            writeChars(text);
+        }
+        writeShort(0);
+    }
+
+    public void writeSizedString(CharSequence text) {
+        if(nonNull(text)) {
+            writeShort(text.length());
+            writeChars(text);
+        } else {
+            writeShort(0);
+        }
+    }
+
+    private void writeChars(CharSequence text) {
+        ensureSize(text.length() * Character.BYTES);
+        for (int i = 0; i < text.length(); i++) {
+            buffer.putChar(text.charAt(i));
+        }
+    }
+}
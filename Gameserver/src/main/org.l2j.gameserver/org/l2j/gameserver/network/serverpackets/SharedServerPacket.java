@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver.network.serverpackets;
+
+import org.l2j.gameserver.network.GameClient;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A packet whose payload is the same to every receiver.
+ *
+ * The payload is serialized only once, on the first send, and copied to each client afterwards.
+ * So the packets broadcast to many players doesn't need to encode the same data once per viewer.
+ *
+ * Packets with data depending on the receiver (relations, visibility, etc) must extend {@link ServerPacket} instead.
+ *
+ * @author JoeAlisson
+ */
+public abstract class SharedServerPacket extends ServerPacket {
+
+    private volatile byte[] payload;
+
+    @Override
+    protected final void writeImpl(GameClient client) {
+        writeBytes(payload());
+    }
+
+    private byte[] payload() {
+        var data = payload;
+        if(isNull(data)) {
+            synchronized (this) {
+                if(isNull(data = payload)) {
+                    final var writer = PayloadWriter.acquire();
+                    writePayload(writer);
+                    payload = data = writer.toArray();
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Writes the data shared by all receivers of this packet
+     *
+     * @param writer the writer of payload
+     */
+    protected abstract void writePayload(PayloadWriter writer);
+}
@@ -18,10 +18,9 @@
  */
 package org.l2j.gameserver.network.serverpackets;
 
-import org.l2j.gameserver.network.GameClient;
 import org.l2j.gameserver.network.ServerPacketId;
 
-public class SocialAction extends ServerPacket {
+public class SocialAction extends SharedServerPacket {
     // TODO: Enum
     public static final int LEVEL_UP = 2122;
 
@@ -34,12 +33,12 @@ public class SocialAction extends ServerPacket {
     }
 
     @Override
-    public void writeImpl(GameClient client) {
-        writeId(ServerPacketId.SOCIAL_ACTION);
+    protected void writePayload(PayloadWriter writer) {
+        writer.writeId(ServerPacketId.SOCIAL_ACTION);
 
-        writeInt(_charObjId);
-        writeInt(_actionId);
-        writeInt(0x00); // TODO: Find me!
+        writer.writeInt(_charObjId);
+        writer.writeInt(_actionId);
+        writer.writeInt(0x00); // TODO: Find me!
     }
 
 }
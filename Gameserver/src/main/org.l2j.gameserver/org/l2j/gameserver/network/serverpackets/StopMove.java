@@ -19,10 +19,9 @@
 package org.l2j.gameserver.network.serverpackets;
 
 import org.l2j.gameserver.model.actor.Creature;
-import org.l2j.gameserver.network.GameClient;
 import org.l2j.gameserver.network.ServerPacketId;
 
-public final class StopMove extends ServerPacket {
+public final class StopMove extends SharedServerPacket {
     private final int _objectId;
     private final int _x;
     private final int _y;
@@ -49,14 +48,14 @@ public final class StopMove extends ServerPacket {
     }
 
     @Override
-    public void writeImpl(GameClient client) {
-        writeId(ServerPacketId.STOP_MOVE);
+    protected void writePayload(PayloadWriter writer) {
+        writer.writeId(ServerPacketId.STOP_MOVE);
 
-        writeInt(_objectId);
-        writeInt(_x);
-        writeInt(_y);
-        writeInt(_z);
-        writeInt(_heading);
+        writer.writeInt(_objectId);
+        writer.writeInt(_x);
+        writer.writeInt(_y);
+        writer.writeInt(_z);
+        writer.writeInt(_heading);
     }
 
 }
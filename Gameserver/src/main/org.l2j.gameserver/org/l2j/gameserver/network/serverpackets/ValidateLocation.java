@@ -20,10 +20,9 @@ package org.l2j.gameserver.network.serverpackets;
 
 import org.l2j.gameserver.model.Location;
 import org.l2j.gameserver.model.WorldObject;
-import org.l2j.gameserver.network.GameClient;
 import org.l2j.gameserver.network.ServerPacketId;
 
-public class ValidateLocation extends ServerPacket {
+public class ValidateLocation extends SharedServerPacket {
     private final int _charObjId;
     private final Location _loc;
 
@@ -33,15 +32,15 @@ public class ValidateLocation extends ServerPacket {
     }
 
     @Override
-    public void writeImpl(GameClient client) {
-        writeId(ServerPacketId.VALIDATE_LOCATION);
+    protected void writePayload(PayloadWriter writer) {
+        writer.writeId(ServerPacketId.VALIDATE_LOCATION);
 
-        writeInt(_charObjId);
-        writeInt(_loc.getX());
-        writeInt(_loc.getY());
-        writeInt(_loc.getZ());
-        writeInt(_loc.getHeading());
-        writeByte((byte) 0xFF); // TODO: Find me!
+        writer.writeInt(_charObjId);
+        writer.writeInt(_loc.getX());
+        writer.writeInt(_loc.getY());
+        writer.writeInt(_loc.getZ());
+        writer.writeInt(_loc.getHeading());
+        writer.writeByte((byte) 0xFF); // TODO: Find me!
     }
 
 }
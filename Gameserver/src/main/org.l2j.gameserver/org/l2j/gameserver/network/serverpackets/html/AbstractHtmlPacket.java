@@ -19,6 +19,7 @@
 package org.l2j.gameserver.network.serverpackets.html;
 
 import org.l2j.gameserver.cache.HtmCache;
+import org.l2j.gameserver.cache.HtmlTemplate;
 import org.l2j.gameserver.enums.HtmlActionScope;
 import org.l2j.gameserver.model.actor.instance.Player;
 import org.l2j.gameserver.network.serverpackets.ServerPacket;
@@ -35,6 +36,8 @@ public abstract class AbstractHtmlPacket extends ServerPacket {
 
     private final int _npcObjId;
     private String html = null;
+    private HtmlTemplate template = null;
+    private String[] values = null;
     private boolean _disabledValidation = false;
 
     protected AbstractHtmlPacket() {
@@ -68,21 +71,60 @@ public abstract class AbstractHtmlPacket extends ServerPacket {
     }
 
     public final boolean setFile(Player player, String path) {
-        final String content = HtmCache.getInstance().getHtm(player, path);
+        final HtmlTemplate content = HtmCache.getInstance().getTemplate(player, path);
         if (content == null) {
             setHtml("<html><body>My Text is missing:<br>" + path + "</body></html>");
             LOGGER.warn("missing html page " + path);
             return false;
         }
 
-        setHtml(content);
+        template = content;
+        values = null;
+        html = null;
         return true;
     }
 
+    /**
+     * Replaces the pattern of the html by the value.
+     *
+     * When the html comes from a file, the %slot% patterns are just filled in the compiled template.
+     * Any other replacement renders the template and handles the html as plain text since then.
+     */
     public final void replace(String pattern, String value) {
+        if (template != null) {
+            if (fillSlot(pattern, value)) {
+                return;
+            }
+            html = getHtml();
+            template = null;
+            values = null;
+        }
         html = html.replaceAll(pattern, value.replaceAll("\\$", "\\\\\\$"));
     }
 
+    private boolean fillSlot(String pattern, String value) {
+        final int slot = template.slotOf(pattern);
+        if (slot < 0) {
+            // the values never hold slots, so a missing slot can't match anything
+            return HtmlTemplate.isSlot(pattern);
+        }
+
+        if (!template.canFill(slot, value)) {
+            return false;
+        }
+
+        if (values == null) {
+            values = new String[template.slotCount()];
+        }
+
+        // like the text replacement, once filled the slot no longer exists
+        if (values[slot] == null) {
+            values[slot] = value;
+            html = null;
+        }
+        return true;
+    }
+
     public final void replace(String pattern, CharSequence value) {
         replace(pattern, String.valueOf(value));
     }
@@ -114,7 +156,11 @@ public abstract class AbstractHtmlPacket extends ServerPacket {
         }
 
         if (player != null) {
-            GameUtils.buildHtmlActionCache(player, getScope(), _npcObjId, html);
+            if (template != null) {
+                GameUtils.buildHtmlActionCache(player, getScope(), _npcObjId, template, values);
+            } else {
+                GameUtils.buildHtmlActionCache(player, getScope(), _npcObjId, html);
+            }
         }
     }
 
@@ -123,20 +169,27 @@ public abstract class AbstractHtmlPacket extends ServerPacket {
     }
 
     public final String getHtml() {
+        if (html == null && template != null) {
+            html = validate(template.render(values));
+        }
         return html;
     }
 
     public final void setHtml(String html) {
+        template = null;
+        values = null;
+        this.html = validate(html);
+    }
+
+    private static String validate(String html) {
         if (html.length() > 17200) {
             LOGGER.warn("Html is too long! this will crash the client!", new Throwable());
-            this.html = html.substring(0, 17200);
         }
 
         if (!html.contains("<html") && !html.startsWith("..\\L2")) {
             html = "<html><body>" + html + "</body></html>";
         }
-
-        this.html = html;
+        return html;
     }
 
     public abstract HtmlActionScope getScope();
@@ -39,6 +39,8 @@ public class CharacterSettings implements Settings {
     private boolean restoreSummonOnReconnect;
     private int minimumEnchantAnnounceWeapon;
     private int minimumEnchantAnnounceArmor;
+    private boolean incrementalStats;
+    private boolean checkIncrementalStats;
 
     @Override
     public void load(SettingsFile settingsFile) {
@@ -60,6 +62,9 @@ public class CharacterSettings implements Settings {
 
         minimumEnchantAnnounceWeapon = settingsFile.getInteger("MinimumEnchantAnnounceWeapon", 7);
         minimumEnchantAnnounceArmor = settingsFile.getInteger("MinimumEnchantAnnounceArmor", 6);
+
+        incrementalStats = settingsFile.getBoolean("IncrementalStats", true);
+        checkIncrementalStats = settingsFile.getBoolean("CheckIncrementalStats", false);
     }
 
     public int partyRange() {
@@ -109,4 +114,12 @@ public class CharacterSettings implements Settings {
     public int minimumEnchantAnnounceArmor() {
         return minimumEnchantAnnounceArmor;
     }
+
+    public boolean incrementalStats() {
+        return incrementalStats;
+    }
+
+    public boolean checkIncrementalStats() {
+        return checkIncrementalStats;
+    }
 }
\ No newline at end of file
@@ -52,6 +52,8 @@ public class GeneralSettings implements Settings {
     private boolean destroyEquipableItem;
     private IntSet protectedItems;
     private boolean clearDroppedItemsAfterLoad;
+    private boolean itemWriteBehind;
+    private int itemWriteBehindInterval;
 
     @Override
     public void load(SettingsFile settingsFile) {
@@ -85,6 +87,9 @@ public class GeneralSettings implements Settings {
         defaultAccessLevel = settingsFile.getInteger("DefaultAccessLevel", 0);
 
         autoSavePlayerTime = settingsFile.getInteger("PlayerDataStoreInterval", 20);
+
+        itemWriteBehind = settingsFile.getBoolean("ItemWriteBehind", true);
+        itemWriteBehindInterval = settingsFile.getInteger("ItemWriteBehindInterval", 1000);
      }
 
     public int banChatAdenaAdsReportCount() {
@@ -174,4 +179,12 @@ public class GeneralSettings implements Settings {
     public int autoSavePlayerTime() {
         return autoSavePlayerTime;
     }
+
+    public boolean itemWriteBehind() {
+        return itemWriteBehind;
+    }
+
+    public int itemWriteBehindInterval() {
+        return itemWriteBehindInterval;
+    }
 }
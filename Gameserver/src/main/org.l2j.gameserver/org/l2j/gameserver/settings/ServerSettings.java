@@ -41,9 +41,14 @@ public class ServerSettings implements Settings {
     private short port;
     private int maximumOnlineUsers;
     private Path dataPackDirectory;
+    private boolean useDatapackSnapshots;
+    private Path datapackSnapshotDirectory;
 
     private int scheduledPoolSize;
     private int threadPoolSize;
+    private int movementThreadPoolSize;
+    private int aiThreadPoolSize;
+    private int startupThreadPoolSize;
     private int[] acceptedProtocols;
     private boolean scheduleRestart;
     private boolean useDeadLockDetector;
@@ -69,11 +74,25 @@ public class ServerSettings implements Settings {
         isPvP = settingsFile.getBoolean("PvPServer", false);
 
         dataPackDirectory = Path.of(settingsFile.getString("DatapackRoot", "."));
+        useDatapackSnapshots = settingsFile.getBoolean("DatapackSnapshots", false);
+        datapackSnapshotDirectory = Path.of(settingsFile.getString("DatapackSnapshotDirectory", "cache/datapack"));
 
         var processors = Runtime.getRuntime().availableProcessors();
 
         scheduledPoolSize = determinePoolSize(settingsFile, "ScheduledThreadPoolSize", processors);
         threadPoolSize = determinePoolSize(settingsFile, "ThreadPoolSize", processors);
+        movementThreadPoolSize = settingsFile.getInteger("MovementThreadPoolSize", -1);
+        if(movementThreadPoolSize < 1) {
+            movementThreadPoolSize = Math.max(1, processors / 2);
+        }
+        aiThreadPoolSize = settingsFile.getInteger("AIThreadPoolSize", -1);
+        if(aiThreadPoolSize < 1) {
+            aiThreadPoolSize = Math.max(1, processors / 2);
+        }
+        startupThreadPoolSize = settingsFile.getInteger("StartupThreadPoolSize", -1);
+        if(startupThreadPoolSize < 1) {
+            startupThreadPoolSize = processors;
+        }
         acceptedProtocols =  settingsFile.getIntegerArray("AllowedProtocolRevisions", ";");
 
         scheduleRestart = settingsFile.getBoolean("ServerRestartScheduleEnabled", false);
@@ -144,6 +163,14 @@ public class ServerSettings implements Settings {
         return dataPackDirectory;
     }
 
+    public boolean useDatapackSnapshots() {
+        return useDatapackSnapshots;
+    }
+
+    public Path datapackSnapshotDirectory() {
+        return datapackSnapshotDirectory;
+    }
+
     public int scheduledPoolSize() {
         return scheduledPoolSize;
     }
@@ -152,6 +179,18 @@ public class ServerSettings implements Settings {
         return threadPoolSize;
     }
 
+    public int movementThreadPoolSize() {
+        return movementThreadPoolSize;
+    }
+
+    public int aiThreadPoolSize() {
+        return aiThreadPoolSize;
+    }
+
+    public int startupThreadPoolSize() {
+        return startupThreadPoolSize;
+    }
+
     public int[] acceptedProtocols() {
         return acceptedProtocols;
     }
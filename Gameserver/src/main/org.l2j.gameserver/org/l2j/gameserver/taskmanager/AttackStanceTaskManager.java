@@ -18,16 +18,14 @@
  */
 package org.l2j.gameserver.taskmanager;
 
-import org.l2j.commons.threading.ThreadPool;
+import org.l2j.commons.threading.TimingWheel;
 import org.l2j.gameserver.model.actor.Creature;
 import org.l2j.gameserver.model.actor.Summon;
 import org.l2j.gameserver.network.serverpackets.AutoAttackStop;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Iterator;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.l2j.gameserver.util.GameUtils.isPlayer;
@@ -48,7 +46,6 @@ public class AttackStanceTaskManager {
      * Instantiates a new attack stance task manager.
      */
     private AttackStanceTaskManager() {
-        ThreadPool.scheduleAtFixedRate(new FightModeScheduler(), 0, 1000);
     }
 
     /**
@@ -57,8 +54,9 @@ public class AttackStanceTaskManager {
      * @param actor the actor
      */
     public void addAttackStanceTask(Creature actor) {
-        if (actor != null) {
-            _attackStanceTasks.put(actor, System.currentTimeMillis());
+        if (actor != null && _attackStanceTasks.put(actor, System.currentTimeMillis()) == null) {
+            // the timer is only created on the first attack, further attacks just refresh the stance time.
+            TimingWheel.getInstance().schedule(new FightModeScheduler(actor), COMBAT_TIME);
         }
     }
 
@@ -100,31 +98,36 @@ public class AttackStanceTaskManager {
         private static final AttackStanceTaskManager INSTANCE = new AttackStanceTaskManager();
     }
 
-    protected class FightModeScheduler implements Runnable {
+    protected static class FightModeScheduler implements Runnable {
+        private final Creature actor;
+
+        private FightModeScheduler(Creature actor) {
+            this.actor = actor;
+        }
+
         @Override
         public void run() {
-            final long current = System.currentTimeMillis();
+            final Long lastAttack = _attackStanceTasks.get(actor);
+            if (lastAttack == null) {
+                return;
+            }
+
+            final long remaining = COMBAT_TIME - (System.currentTimeMillis() - lastAttack);
+            if (remaining >= 0 || !_attackStanceTasks.remove(actor, lastAttack)) {
+                // attacked again meanwhile
+                TimingWheel.getInstance().schedule(this, Math.max(remaining, 0));
+                return;
+            }
+
             try {
-                final Iterator<Entry<Creature, Long>> iter = _attackStanceTasks.entrySet().iterator();
-                Entry<Creature, Long> e;
-                Creature actor;
-                while (iter.hasNext()) {
-                    e = iter.next();
-                    if ((current - e.getValue()) > COMBAT_TIME) {
-                        actor = e.getKey();
-                        if (actor != null) {
-                            actor.broadcastPacket(new AutoAttackStop(actor.getObjectId()));
-                            actor.getAI().setAutoAttacking(false);
-                            if (isPlayer(actor) && actor.hasSummon()) {
-                                final Summon pet = actor.getPet();
-                                if (pet != null) {
-                                    pet.broadcastPacket(new AutoAttackStop(pet.getObjectId()));
-                                }
-                                actor.getServitors().values().forEach(s -> s.broadcastPacket(new AutoAttackStop(s.getObjectId())));
-                            }
-                        }
-                        iter.remove();
+                actor.broadcastPacket(new AutoAttackStop(actor.getObjectId()));
+                actor.getAI().setAutoAttacking(false);
+                if (isPlayer(actor) && actor.hasSummon()) {
+                    final Summon pet = actor.getPet();
+                    if (pet != null) {
+                        pet.broadcastPacket(new AutoAttackStop(pet.getObjectId()));
                     }
+                    actor.getServitors().values().forEach(s -> s.broadcastPacket(new AutoAttackStop(s.getObjectId())));
                 }
             } catch (Exception e) {
                 // Unless caught here, players remain in attack positions.
@@ -18,78 +18,181 @@
  */
 package org.l2j.gameserver.taskmanager;
 
+import org.l2j.commons.threading.PriorityThreadFactory;
 import org.l2j.commons.threading.ThreadPool;
 import org.l2j.gameserver.ai.CreatureAI;
 import org.l2j.gameserver.model.actor.Attackable;
+import org.l2j.gameserver.settings.ServerSettings;
+import org.l2j.gameserver.world.WorldRegion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
 
+import static java.lang.System.nanoTime;
+import static java.util.Objects.isNull;
+import static org.l2j.commons.configuration.Configurator.getSettings;
 
 /**
+ * Runs the think of the attackables AI once per second.
+ *
+ * The attackables are spread in phases over the second by object id, so each beat only thinks a fraction of them.
+ * The attackables of a beat are split in shards keyed by world region and the shards are executed in parallel,
+ * the attackables in inactive regions are skipped.
+ *
  * @author Mobius
+ * @author JoeAlisson
  */
-public class AttackableThinkTaskManager
-{
-    private static final Set<Attackable> ATTACKABLES = ConcurrentHashMap.newKeySet();
-    private static boolean _working = false;
-
-    public AttackableThinkTaskManager()
-    {
-        ThreadPool.scheduleAtFixedRate(() ->
-        {
-            if (_working)
-            {
-                return;
+public class AttackableThinkTaskManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AttackableThinkTaskManager.class);
+
+    private static final int THINK_INTERVAL = 1000;
+    private static final int PHASES = 10;
+    private static final int BEAT_INTERVAL = THINK_INTERVAL / PHASES;
+    private static final int SHARDS_PER_THREAD = 4;
+
+    private final List<Set<Attackable>> phases = new ArrayList<>(PHASES);
+    private final List<List<Attackable>> shards;
+    private final ExecutorService executor;
+    private final long startTime;
+    private long beats;
+
+    private final LongAdder thinks = new LongAdder();
+    private final LongAdder thinkNanos = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private volatile long maxThinkNanos;
+    private volatile long overruns;
+    private volatile long backlog;
+    private volatile long maxBacklog;
+    private volatile long lastBeatDuration;
+
+    private AttackableThinkTaskManager() {
+        for (int i = 0; i < PHASES; i++) {
+            phases.add(ConcurrentHashMap.newKeySet());
+        }
+
+        final int threads = getSettings(ServerSettings.class).aiThreadPoolSize();
+        executor = Executors.newFixedThreadPool(threads, new PriorityThreadFactory("AIThreadPool", Thread.NORM_PRIORITY));
+
+        final int shardCount = threads * SHARDS_PER_THREAD;
+        shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+
+        startTime = System.currentTimeMillis();
+        ThreadPool.scheduleAtFixedRate(this::beat, BEAT_INTERVAL, BEAT_INTERVAL);
+    }
+
+    public void add(Attackable attackable) {
+        phases.get(phaseOf(attackable)).add(attackable);
+    }
+
+    public void remove(Attackable attackable) {
+        phases.get(phaseOf(attackable)).remove(attackable);
+    }
+
+    private int phaseOf(Attackable attackable) {
+        return (attackable.getObjectId() & Integer.MAX_VALUE) % PHASES;
+    }
+
+    private void beat() {
+        final long start = nanoTime();
+        final long beat = ++beats;
+        updateBacklog((System.currentTimeMillis() - startTime) / BEAT_INTERVAL - beat);
+
+        for (Attackable attackable : phases.get((int) (beat % PHASES))) {
+            final WorldRegion region = attackable.getWorldRegion();
+            if (isNull(region) || !region.isActive()) {
+                skipped.increment();
+                continue;
             }
-            _working = true;
-
-            CreatureAI ai;
-            for (Attackable attackable : ATTACKABLES)
-            {
-                if (attackable.hasAI())
-                {
-                    ai = attackable.getAI();
-                    if (ai != null)
-                    {
-                        ai.onEvtThink();
-                    }
-                    else
-                    {
-                        remove(attackable);
-                    }
-                }
-                else
-                {
-                    remove(attackable);
+            shards.get((region.hashCode() & Integer.MAX_VALUE) % shards.size()).add(attackable);
+        }
+
+        final List<Callable<Void>> tasks = new ArrayList<>(shards.size());
+        for (List<Attackable> shard : shards) {
+            if (!shard.isEmpty()) {
+                tasks.add(() -> think(shard));
+            }
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    LOGGER.warn(e.getCause().getLocalizedMessage(), e.getCause());
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            shards.forEach(List::clear);
+        }
 
-            _working = false;
-        }, 1000, 1000);
+        lastBeatDuration = nanoTime() - start;
+        if (lastBeatDuration > TimeUnit.MILLISECONDS.toNanos(BEAT_INTERVAL)) {
+            overruns++;
+        }
     }
 
-    public void add(Attackable attackable)
-    {
-        if (!ATTACKABLES.contains(attackable))
-        {
-            ATTACKABLES.add(attackable);
+    private void updateBacklog(long lateBeats) {
+        backlog = Math.max(0, lateBeats);
+        if (backlog > maxBacklog) {
+            maxBacklog = backlog;
+        }
+    }
+
+    private Void think(List<Attackable> shard) {
+        for (Attackable attackable : shard) {
+            final CreatureAI ai = attackable.hasAI() ? attackable.getAI() : null;
+            if (isNull(ai)) {
+                remove(attackable);
+                continue;
+            }
+
+            final long start = nanoTime();
+            try {
+                ai.onEvtThink();
+            } catch (Exception e) {
+                LOGGER.warn("Error on think of {}", attackable, e);
+            }
+
+            final long duration = nanoTime() - start;
+            thinks.increment();
+            thinkNanos.add(duration);
+            if (duration > maxThinkNanos) {
+                maxThinkNanos = duration;
+            }
         }
+        return null;
     }
 
-    public void remove(Attackable attackable)
-    {
-        ATTACKABLES.remove(attackable);
+    public CharSequence getStats() {
+        final long thinkCount = thinks.sum();
+        return new StringBuilder("Attackable Think Task Manager\n")
+                .append("=================================================\n")
+                .append("\tThinks: ................ ").append(thinkCount).append("\n")
+                .append("\tSkipped Inactive: ...... ").append(skipped.sum()).append("\n")
+                .append("\tAverage Think: ......... ").append(thinkCount > 0 ? TimeUnit.NANOSECONDS.toMicros(thinkNanos.sum() / thinkCount) : 0).append(" us\n")
+                .append("\tMax Think: ............. ").append(TimeUnit.NANOSECONDS.toMicros(maxThinkNanos)).append(" us\n")
+                .append("\tLast Beat Duration: .... ").append(TimeUnit.NANOSECONDS.toMillis(lastBeatDuration)).append(" ms\n")
+                .append("\tOverrun Beats: ......... ").append(overruns).append("\n")
+                .append("\tBacklog: ............... ").append(backlog).append(" beats\n")
+                .append("\tMax Backlog: ........... ").append(maxBacklog).append(" beats\n");
     }
 
-    public static AttackableThinkTaskManager getInstance()
-    {
-        return SingletonHolder.INSTANCE;
+    public static AttackableThinkTaskManager getInstance() {
+        return Singleton.INSTANCE;
     }
 
-    private static class SingletonHolder
-    {
-        protected static final AttackableThinkTaskManager INSTANCE = new AttackableThinkTaskManager();
+    private static class Singleton {
+        private static final AttackableThinkTaskManager INSTANCE = new AttackableThinkTaskManager();
     }
 }
@@ -19,7 +19,7 @@
 package org.l2j.gameserver.taskmanager;
 
 
-import org.l2j.commons.threading.ThreadPool;
+import org.l2j.commons.threading.TimingWheel;
 import org.l2j.commons.util.Rnd;
 import org.l2j.gameserver.ai.CreatureAI;
 import org.l2j.gameserver.model.WorldObject;
@@ -39,44 +39,14 @@ import static org.l2j.gameserver.util.MathUtil.isInsideRadius3D;
  */
 public class CreatureFollowTaskManager
 {
-    private static final Map<Creature, Integer> NORMAL_FOLLOW_CREATURES = new ConcurrentHashMap<>();
-    private static final Map<Creature, Integer> ATTACK_FOLLOW_CREATURES = new ConcurrentHashMap<>();
-    private static boolean _workingNormal = false;
-    private static boolean _workingAttack = false;
+    private static final long NORMAL_FOLLOW_INTERVAL = 1000;
+    private static final long ATTACK_FOLLOW_INTERVAL = 500;
+
+    private static final Map<Creature, FollowTask> NORMAL_FOLLOW_CREATURES = new ConcurrentHashMap<>();
+    private static final Map<Creature, FollowTask> ATTACK_FOLLOW_CREATURES = new ConcurrentHashMap<>();
 
     public CreatureFollowTaskManager()
     {
-        ThreadPool.scheduleAtFixedRate(() ->
-        {
-            if (_workingNormal)
-            {
-                return;
-            }
-            _workingNormal = true;
-
-            for (Map.Entry<Creature, Integer> entry : NORMAL_FOLLOW_CREATURES.entrySet())
-            {
-                follow(entry.getKey(), entry.getValue());
-            }
-
-            _workingNormal = false;
-        }, 1000, 1000);
-
-        ThreadPool.scheduleAtFixedRate(() ->
-        {
-            if (_workingAttack)
-            {
-                return;
-            }
-            _workingAttack = true;
-
-            for (Map.Entry<Creature, Integer> entry : ATTACK_FOLLOW_CREATURES.entrySet())
-            {
-                follow(entry.getKey(), entry.getValue());
-            }
-
-            _workingAttack = false;
-        }, 500, 500);
     }
 
     private void follow(Creature creature, int range)
@@ -126,18 +96,26 @@ public class CreatureFollowTaskManager
 
     public void addNormalFollow(Creature creature, int range)
     {
-        NORMAL_FOLLOW_CREATURES.putIfAbsent(creature, range);
+        NORMAL_FOLLOW_CREATURES.computeIfAbsent(creature, c -> new FollowTask(c, range, NORMAL_FOLLOW_CREATURES, NORMAL_FOLLOW_INTERVAL));
     }
 
     public void addAttackFollow(Creature creature, int range)
     {
-        ATTACK_FOLLOW_CREATURES.putIfAbsent(creature, range);
+        ATTACK_FOLLOW_CREATURES.computeIfAbsent(creature, c -> new FollowTask(c, range, ATTACK_FOLLOW_CREATURES, ATTACK_FOLLOW_INTERVAL));
     }
 
     public void remove(Creature creature)
     {
-        NORMAL_FOLLOW_CREATURES.remove(creature);
-        ATTACK_FOLLOW_CREATURES.remove(creature);
+        cancel(NORMAL_FOLLOW_CREATURES.remove(creature));
+        cancel(ATTACK_FOLLOW_CREATURES.remove(creature));
+    }
+
+    private void cancel(FollowTask task)
+    {
+        if (task != null)
+        {
+            task.timeout.cancel();
+        }
     }
 
     public static CreatureFollowTaskManager getInstance()
@@ -149,4 +127,43 @@ public class CreatureFollowTaskManager
     {
         protected static final CreatureFollowTaskManager INSTANCE = new CreatureFollowTaskManager();
     }
+
+    private static class FollowTask implements Runnable
+    {
+        private final Creature creature;
+        private final int range;
+        private final Map<Creature, FollowTask> container;
+        private final long interval;
+        private volatile TimingWheel.Timeout timeout;
+
+        private FollowTask(Creature creature, int range, Map<Creature, FollowTask> container, long interval)
+        {
+            this.creature = creature;
+            this.range = range;
+            this.container = container;
+            this.interval = interval;
+            timeout = TimingWheel.getInstance().schedule(this, interval);
+        }
+
+        @Override
+        public void run()
+        {
+            if (container.get(creature) != this)
+            {
+                return;
+            }
+
+            try
+            {
+                getInstance().follow(creature, range);
+            }
+            finally
+            {
+                if (container.get(creature) == this)
+                {
+                    timeout = TimingWheel.getInstance().schedule(this, interval);
+                }
+            }
+        }
+    }
 }
@@ -18,7 +18,8 @@
  */
 package org.l2j.gameserver.taskmanager;
 
-import org.l2j.commons.threading.ThreadPool;
+import org.l2j.commons.threading.TimingWheel;
+import org.l2j.commons.threading.TimingWheel.Timeout;
 import org.l2j.gameserver.Config;
 import org.l2j.gameserver.model.actor.Attackable;
 import org.l2j.gameserver.model.actor.Creature;
@@ -39,22 +40,9 @@ import static org.l2j.gameserver.util.GameUtils.isAttackable;
 public final class DecayTaskManager {
     protected static final Logger LOGGER = LoggerFactory.getLogger(DecayTaskManager.class);
 
-    private static final Map<Creature, Long> DECAY_SCHEDULES = new ConcurrentHashMap<>();
+    private static final Map<Creature, DecayTask> DECAY_SCHEDULES = new ConcurrentHashMap<>();
 
     private DecayTaskManager() {
-        ThreadPool.scheduleAtFixedRate(() ->
-        {
-            final long time = System.currentTimeMillis();
-            for (Entry<Creature, Long> entry : DECAY_SCHEDULES.entrySet())
-            {
-                if (time > entry.getValue())
-                {
-                    final Creature creature = entry.getKey();
-                    DECAY_SCHEDULES.remove(creature);
-                    creature.onDecay();
-                }
-            }
-        }, 0, 1000);
     }
 
     /**
@@ -81,7 +69,13 @@ public final class DecayTaskManager {
         }
 
 		// Add to decay schedules.
-		DECAY_SCHEDULES.put(character, System.currentTimeMillis() + (delay * 1000));
+        final long decayDelay = delay * 1000;
+        DECAY_SCHEDULES.compute(character, (creature, previous) -> {
+            if (previous != null) {
+                previous.timeout.cancel();
+            }
+            return new DecayTask(creature, decayDelay);
+        });
     }
 
     /**
@@ -91,7 +85,11 @@ public final class DecayTaskManager {
      */
 	public void cancel(Creature creature)
 	{
-		DECAY_SCHEDULES.remove(creature);
+		final DecayTask task = DECAY_SCHEDULES.remove(creature);
+		if (task != null)
+		{
+			task.timeout.cancel();
+		}
     }
 
     /**
@@ -102,8 +100,8 @@ public final class DecayTaskManager {
      */
 	public long getRemainingTime(Creature creature)
 	{
-		final Long time = DECAY_SCHEDULES.get(creature);
-		return time != null ? time - System.currentTimeMillis() : Long.MAX_VALUE;
+		final DecayTask task = DECAY_SCHEDULES.get(creature);
+		return task != null ? task.timeout.getRemainingTime() : Long.MAX_VALUE;
     }
 
     @Override
@@ -117,15 +115,14 @@ public final class DecayTaskManager {
         ret.append("Tasks dump:");
         ret.append(System.lineSeparator());
 
-		final long time = System.currentTimeMillis();
-		for (Entry<Creature, Long> entry : DECAY_SCHEDULES.entrySet())
+		for (Entry<Creature, DecayTask> entry : DECAY_SCHEDULES.entrySet())
 		{
             ret.append("Class/Name: ");
             ret.append(entry.getKey().getClass().getSimpleName());
             ret.append('/');
             ret.append(entry.getKey().getName());
             ret.append(" decay timer: ");
-			ret.append(entry.getValue() - time);
+			ret.append(entry.getValue().timeout.getRemainingTime());
             ret.append(System.lineSeparator());
         }
 
@@ -139,4 +136,21 @@ public final class DecayTaskManager {
     private static class Singleton {
         private static final DecayTaskManager INSTANCE = new DecayTaskManager();
     }
+
+    private static class DecayTask implements Runnable {
+        private final Creature creature;
+        private final Timeout timeout;
+
+        private DecayTask(Creature creature, long delay) {
+            this.creature = creature;
+            this.timeout = TimingWheel.getInstance().schedule(this, delay);
+        }
+
+        @Override
+        public void run() {
+            if (DECAY_SCHEDULES.remove(creature, this)) {
+                creature.onDecay();
+            }
+        }
+    }
 }
@@ -0,0 +1,262 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver.taskmanager;
+
+import org.l2j.commons.threading.ThreadPool;
+import org.l2j.gameserver.Config;
+import org.l2j.gameserver.model.actor.Creature;
+import org.l2j.gameserver.model.effects.EffectTickTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Executes the ticks of the periodic effects in batches aligned to {@link Config#EFFECT_TICK_RATIO} boundaries.
+ *
+ * The scheduled ticks are grouped by period, each period having one slot per phase, so a tick only touches the slots due on it.
+ * The due ticks are split in shards by effected creature and the status updates requested while a shard is executed are merged,
+ * so each creature broadcasts a single status update per tick.
+ *
+ * @author JoeAlisson
+ */
+public final class EffectTickTaskManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EffectTickTaskManager.class);
+
+    /**
+     * Amount of due effect ticks from which the shards are executed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+    private static final int SHARDS_PER_THREAD = 4;
+
+    private static final ThreadLocal<Set<Creature>> DEFERRED_STATUS_UPDATES = new ThreadLocal<>();
+
+    private final Map<Integer, List<Set<ScheduledTick>>> periods = new ConcurrentHashMap<>();
+    private final List<List<ScheduledTick>> shards;
+    private final long tickDuration;
+    private final long startTime;
+    private volatile long currentTick;
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder statusUpdates = new LongAdder();
+    private final LongAdder deferredStatusUpdates = new LongAdder();
+    private long ticks;
+    private long lateTicks;
+    private volatile long lastLateness;
+    private volatile long maxLateness;
+
+    private EffectTickTaskManager() {
+        tickDuration = Config.EFFECT_TICK_RATIO;
+        startTime = System.currentTimeMillis();
+
+        final int shardCount = Runtime.getRuntime().availableProcessors() * SHARDS_PER_THREAD;
+        shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        ThreadPool.scheduleAtFixedRate(this::tick, tickDuration, tickDuration);
+    }
+
+    /**
+     * Schedules the task to be executed every {@code period} effect ticks, the first execution happens after a whole period.
+     *
+     * @param task the effect tick task
+     * @param period the amount of effect ticks between executions
+     * @return the scheduled tick which can be used to cancel the task
+     */
+    public ScheduledTick schedule(EffectTickTask task, int period) {
+        final var slots = periods.computeIfAbsent(period, this::createSlots);
+        final long tick = currentTick;
+        final var scheduled = new ScheduledTick(task, slots.get((int) (tick % period)), tick + period);
+        scheduled.slot.add(scheduled);
+        return scheduled;
+    }
+
+    private List<Set<ScheduledTick>> createSlots(int period) {
+        final List<Set<ScheduledTick>> slots = new ArrayList<>(period);
+        for (int i = 0; i < period; i++) {
+            slots.add(ConcurrentHashMap.newKeySet());
+        }
+        return slots;
+    }
+
+    private void tick() {
+        final long now = System.currentTimeMillis();
+        final long due = (now - startTime) / tickDuration;
+
+        while (currentTick < due) {
+            final long tick = currentTick + 1;
+            currentTick = tick;
+            updateLateness(now - (startTime + tick * tickDuration));
+
+            int dueTicks = 0;
+            for (var period : periods.entrySet()) {
+                for (ScheduledTick scheduled : period.getValue().get((int) (tick % period.getKey()))) {
+                    if (tick >= scheduled.firstTick) {
+                        shards.get(shardOf(scheduled)).add(scheduled);
+                        dueTicks++;
+                    }
+                }
+            }
+
+            try {
+                if (dueTicks < PARALLEL_THRESHOLD) {
+                    shards.forEach(this::execute);
+                } else {
+                    executeInParallel();
+                }
+            } finally {
+                shards.forEach(List::clear);
+            }
+        }
+    }
+
+    private void updateLateness(long lateness) {
+        ticks++;
+        lastLateness = lateness;
+        if (lateness > maxLateness) {
+            maxLateness = lateness;
+        }
+        if (lateness >= tickDuration) {
+            lateTicks++;
+        }
+    }
+
+    private void executeInParallel() {
+        final List<List<ScheduledTick>> pending = shards.stream().filter(shard -> !shard.isEmpty()).collect(Collectors.toList());
+        final var latch = new CountDownLatch(pending.size());
+        for (List<ScheduledTick> shard : pending) {
+            ThreadPool.executeForked(() -> {
+                try {
+                    execute(shard);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void execute(List<ScheduledTick> shard) {
+        if (shard.isEmpty()) {
+            return;
+        }
+
+        final Set<Creature> updates = new LinkedHashSet<>();
+        DEFERRED_STATUS_UPDATES.set(updates);
+        try {
+            for (ScheduledTick scheduled : shard) {
+                if (scheduled.cancelled) {
+                    continue;
+                }
+                try {
+                    scheduled.task.run();
+                } catch (Exception e) {
+                    LOGGER.warn("Error executing effect tick {}", scheduled.task.getEffect(), e);
+                }
+            }
+        } finally {
+            DEFERRED_STATUS_UPDATES.remove();
+        }
+
+        executed.add(shard.size());
+        statusUpdates.add(updates.size());
+        for (Creature creature : updates) {
+            creature.broadcastStatusUpdate();
+        }
+    }
+
+    private int shardOf(ScheduledTick scheduled) {
+        return (scheduled.task.getBuffInfo().getEffected().getObjectId() & Integer.MAX_VALUE) % shards.size();
+    }
+
+    /**
+     * Defers the status update of the creature to the end of the effect ticks being executed by the current thread.
+     *
+     * @param creature the creature whose status changed
+     * @return {@code true} if the update was deferred, {@code false} if the current thread is not executing effect ticks
+     */
+    public static boolean deferStatusUpdate(Creature creature) {
+        final Set<Creature> updates = DEFERRED_STATUS_UPDATES.get();
+        if (isNull(updates)) {
+            return false;
+        }
+        updates.add(creature);
+        getInstance().deferredStatusUpdates.increment();
+        return true;
+    }
+
+    public CharSequence getStats() {
+        return new StringBuilder("Effect Tick Task Manager\n")
+                .append("=================================================\n")
+                .append("\tTick Duration: ......... ").append(tickDuration).append(" ms\n")
+                .append("\tTicks: ................. ").append(ticks).append("\n")
+                .append("\tLate Ticks: ............ ").append(lateTicks).append("\n")
+                .append("\tLast Lateness: ......... ").append(lastLateness).append(" ms\n")
+                .append("\tMax Lateness: .......... ").append(maxLateness).append(" ms\n")
+                .append("\tExecuted Effects: ...... ").append(executed.sum()).append("\n")
+                .append("\tRequested Updates: ..... ").append(deferredStatusUpdates.sum()).append("\n")
+                .append("\tSent Updates: .......... ").append(statusUpdates.sum()).append("\n");
+    }
+
+    public static EffectTickTaskManager getInstance() {
+        return Singleton.INSTANCE;
+    }
+
+    /**
+     * An effect tick task scheduled on the manager
+     */
+    public static final class ScheduledTick {
+        private final EffectTickTask task;
+        private final Set<ScheduledTick> slot;
+        private final long firstTick;
+        private volatile boolean cancelled;
+
+        private ScheduledTick(EffectTickTask task, Set<ScheduledTick> slot, long firstTick) {
+            this.task = task;
+            this.slot = slot;
+            this.firstTick = firstTick;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            slot.remove(this);
+        }
+    }
+
+    private static class Singleton {
+        private static final EffectTickTaskManager INSTANCE = new EffectTickTaskManager();
+    }
+}
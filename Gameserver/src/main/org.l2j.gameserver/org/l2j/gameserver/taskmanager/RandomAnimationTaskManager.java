@@ -18,13 +18,13 @@
  */
 package org.l2j.gameserver.taskmanager;
 
-import org.l2j.commons.threading.ThreadPool;
+import org.l2j.commons.threading.TimingWheel;
+import org.l2j.commons.threading.TimingWheel.Timeout;
 import org.l2j.commons.util.Rnd;
 import org.l2j.gameserver.Config;
 import org.l2j.gameserver.model.actor.Npc;
 
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.l2j.gameserver.util.GameUtils.isAttackable;
@@ -34,40 +34,32 @@ import static org.l2j.gameserver.util.GameUtils.isAttackable;
  */
 public class RandomAnimationTaskManager
 {
-    private static final Map<Npc, Long> PENDING_ANIMATIONS = new ConcurrentHashMap<>();
+    private static final Map<Npc, AnimationTask> PENDING_ANIMATIONS = new ConcurrentHashMap<>();
 
     public RandomAnimationTaskManager()
     {
-        ThreadPool.scheduleAtFixedRate(() ->
-        {
-            final long time = System.currentTimeMillis();
-            for (Entry<Npc, Long> entry : PENDING_ANIMATIONS.entrySet())
-            {
-                if (time > entry.getValue())
-                {
-                    final Npc npc = entry.getKey();
-					if (npc.isInActiveRegion() && !npc.isDead() && !npc.isInCombat() && !npc.isMoving() && !npc.hasBlockActions())
-                    {
-                        npc.onRandomAnimation(Rnd.get(2, 3));
-                    }
-
-                    PENDING_ANIMATIONS.put(npc, time + (Rnd.get((isAttackable(npc) ? Config.MIN_MONSTER_ANIMATION : Config.MIN_NPC_ANIMATION), (isAttackable(npc) ? Config.MAX_MONSTER_ANIMATION : Config.MAX_NPC_ANIMATION)) * 1000));
-                }
-            }
-        }, 0, 1000);
     }
 
     public void add(Npc npc)
     {
         if (npc.hasRandomAnimation())
         {
-            PENDING_ANIMATIONS.putIfAbsent(npc, System.currentTimeMillis() + (Rnd.get((isAttackable(npc) ? Config.MIN_MONSTER_ANIMATION : Config.MIN_NPC_ANIMATION), (isAttackable(npc) ? Config.MAX_MONSTER_ANIMATION : Config.MAX_NPC_ANIMATION)) * 1000));
+            PENDING_ANIMATIONS.computeIfAbsent(npc, AnimationTask::new);
         }
     }
 
     public void remove(Npc npc)
     {
-        PENDING_ANIMATIONS.remove(npc);
+        final AnimationTask task = PENDING_ANIMATIONS.remove(npc);
+        if (task != null)
+        {
+            task.timeout.cancel();
+        }
+    }
+
+    private static long nextAnimationDelay(Npc npc)
+    {
+        return Rnd.get((isAttackable(npc) ? Config.MIN_MONSTER_ANIMATION : Config.MIN_NPC_ANIMATION), (isAttackable(npc) ? Config.MAX_MONSTER_ANIMATION : Config.MAX_NPC_ANIMATION)) * 1000L;
     }
 
     public static RandomAnimationTaskManager getInstance()
@@ -79,4 +71,31 @@ public class RandomAnimationTaskManager
     {
         protected static final RandomAnimationTaskManager INSTANCE = new RandomAnimationTaskManager();
     }
+
+    private static class AnimationTask implements Runnable
+    {
+        private final Npc npc;
+        private volatile Timeout timeout;
+
+        private AnimationTask(Npc npc)
+        {
+            this.npc = npc;
+            timeout = TimingWheel.getInstance().schedule(this, nextAnimationDelay(npc));
+        }
+
+        @Override
+        public void run()
+        {
+            if (PENDING_ANIMATIONS.get(npc) != this)
+            {
+                return;
+            }
+
+            if (npc.isInActiveRegion() && !npc.isDead() && !npc.isInCombat() && !npc.isMoving() && !npc.hasBlockActions())
+            {
+                npc.onRandomAnimation(Rnd.get(2, 3));
+            }
+            timeout = TimingWheel.getInstance().schedule(this, nextAnimationDelay(npc));
+        }
+    }
 }
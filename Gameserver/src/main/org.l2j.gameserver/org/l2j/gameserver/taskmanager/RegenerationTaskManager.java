@@ -0,0 +1,191 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver.taskmanager;
+
+import org.l2j.commons.threading.ThreadPool;
+import org.l2j.gameserver.model.actor.Creature;
+import org.l2j.gameserver.model.actor.status.CreatureStatus;
+import org.l2j.gameserver.model.stats.Formulas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * Regenerates the HP/MP/CP of all the regenerating creatures in a single periodic pass.
+ *
+ * Each tick splits the creatures in shards keyed by world region, the shards are processed in parallel
+ * and each regenerated creature broadcasts a single status update after its values were changed.
+ *
+ * @author JoeAlisson
+ */
+public final class RegenerationTaskManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegenerationTaskManager.class);
+
+    private static final int TICK_INTERVAL = Formulas.HP_REGENERATE_PERIOD;
+    /**
+     * Amount of regenerating creatures from which the shards are processed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+    private static final int SHARDS_PER_THREAD = 4;
+
+    private final Map<CreatureStatus, Regeneration> regenerations = new ConcurrentHashMap<>();
+    private final List<List<Regeneration>> shards;
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder broadcasts = new LongAdder();
+    private volatile int lastProcessed;
+    private volatile int lastBroadcasts;
+    private volatile long lastTickDuration;
+    private volatile long maxTickDuration;
+
+    private RegenerationTaskManager() {
+        final int shardCount = Runtime.getRuntime().availableProcessors() * SHARDS_PER_THREAD;
+        shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        ThreadPool.scheduleAtFixedRate(this::tick, TICK_INTERVAL, TICK_INTERVAL);
+    }
+
+    public void add(CreatureStatus status) {
+        final int periodTicks = Math.max(1, Formulas.getRegeneratePeriod(status.getOwner()) / TICK_INTERVAL);
+        regenerations.putIfAbsent(status, new Regeneration(status, periodTicks));
+    }
+
+    public void remove(CreatureStatus status) {
+        regenerations.remove(status);
+    }
+
+    private void tick() {
+        final long start = nanoTime();
+        for (Regeneration regeneration : regenerations.values()) {
+            shards.get(shardOf(regeneration.status.getOwner())).add(regeneration);
+        }
+
+        try {
+            if (regenerations.size() < PARALLEL_THRESHOLD) {
+                shards.forEach(this::regenerate);
+            } else {
+                regenerateInParallel();
+            }
+            lastProcessed = (int) processed.sumThenReset();
+            lastBroadcasts = (int) broadcasts.sumThenReset();
+        } finally {
+            shards.forEach(List::clear);
+        }
+
+        final long duration = nanoTime() - start;
+        lastTickDuration = duration;
+        if (duration > maxTickDuration) {
+            maxTickDuration = duration;
+        }
+    }
+
+    private void regenerateInParallel() {
+        final List<List<Regeneration>> pending = shards.stream().filter(shard -> !shard.isEmpty()).collect(Collectors.toList());
+        final var latch = new CountDownLatch(pending.size());
+        for (List<Regeneration> shard : pending) {
+            ThreadPool.executeForked(() -> {
+                try {
+                    regenerate(shard);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void regenerate(List<Regeneration> shard) {
+        final List<Creature> changed = new ArrayList<>(shard.size());
+        int regenerated = 0;
+        for (Regeneration regeneration : shard) {
+            if (--regeneration.ticksLeft > 0 || regenerations.get(regeneration.status) != regeneration) {
+                continue;
+            }
+            regeneration.ticksLeft = regeneration.periodTicks;
+            regenerated++;
+
+            try {
+                if (regeneration.status.doRegeneration()) {
+                    changed.add(regeneration.status.getOwner());
+                }
+            } catch (Exception e) {
+                LOGGER.warn("Error regenerating {}", regeneration.status.getOwner(), e);
+            }
+        }
+
+        for (Creature creature : changed) {
+            creature.broadcastStatusUpdate();
+        }
+        processed.add(regenerated);
+        broadcasts.add(changed.size());
+    }
+
+    private int shardOf(Creature creature) {
+        return (Objects.hashCode(creature.getWorldRegion()) & Integer.MAX_VALUE) % shards.size();
+    }
+
+    public CharSequence getStats() {
+        return new StringBuilder("Regeneration Task Manager\n")
+                .append("=================================================\n")
+                .append("\tRegenerating: .......... ").append(regenerations.size()).append("\n")
+                .append("\tLast Tick Processed: ... ").append(lastProcessed).append("\n")
+                .append("\tLast Tick Broadcasts: .. ").append(lastBroadcasts).append("\n")
+                .append("\tLast Tick Duration: .... ").append(TimeUnit.NANOSECONDS.toMillis(lastTickDuration)).append(" ms\n")
+                .append("\tMax Tick Duration: ..... ").append(TimeUnit.NANOSECONDS.toMillis(maxTickDuration)).append(" ms\n");
+    }
+
+    public static RegenerationTaskManager getInstance() {
+        return Singleton.INSTANCE;
+    }
+
+    private static final class Regeneration {
+        private final CreatureStatus status;
+        private final int periodTicks;
+        private int ticksLeft;
+
+        private Regeneration(CreatureStatus status, int periodTicks) {
+            this.status = status;
+            this.periodTicks = periodTicks;
+            this.ticksLeft = periodTicks;
+        }
+    }
+
+    private static class Singleton {
+        private static final RegenerationTaskManager INSTANCE = new RegenerationTaskManager();
+    }
+}
@@ -19,43 +19,32 @@
 package org.l2j.gameserver.taskmanager;
 
 import org.l2j.commons.threading.ThreadPool;
+import org.l2j.commons.threading.TimingWheel;
+import org.l2j.commons.threading.TimingWheel.Timeout;
 import org.l2j.gameserver.model.Spawn;
-import org.l2j.gameserver.model.actor.Attackable;
 import org.l2j.gameserver.model.actor.Npc;
 
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
-import static org.l2j.gameserver.util.GameUtils.isAttackable;
-
 /**
  * @author Mobius
  */
 public class RespawnTaskManager {
 
-	private static final Map<Npc, Long> PENDING_RESPAWNS = new ConcurrentHashMap<>();
+	private static final Map<Npc, RespawnTask> PENDING_RESPAWNS = new ConcurrentHashMap<>();
 
 	public RespawnTaskManager() {
-		ThreadPool.scheduleAtFixedRate(() -> {
-			final long time = System.currentTimeMillis();
-
-			for (Entry<Npc, Long> entry : PENDING_RESPAWNS.entrySet()) {
-				if (time > entry.getValue()) {
-				final Npc npc = entry.getKey();
-				PENDING_RESPAWNS.remove(npc);
-				final Spawn spawn = npc.getSpawn();
-				if (spawn != null) {
-					spawn.respawnNpc(npc);
-					spawn._scheduledCount--;
-				}
-			}
-		} }, 0, 1000);
 	}
 
 	public void add(Npc npc, long time)
 	{
-		PENDING_RESPAWNS.put(npc, time);
+		PENDING_RESPAWNS.compute(npc, (n, previous) -> {
+			if (previous != null) {
+				previous.timeout.cancel();
+			}
+			return new RespawnTask(n, time - System.currentTimeMillis());
+		});
 	}
 	
 	public static RespawnTaskManager getInstance()
@@ -66,4 +55,30 @@ public class RespawnTaskManager {
 	private static class Singleton {
 		private static final RespawnTaskManager INSTANCE = new RespawnTaskManager();
 	}
+
+	private static class RespawnTask implements Runnable {
+		private final Npc npc;
+		private final Timeout timeout;
+
+		private RespawnTask(Npc npc, long delay) {
+			this.npc = npc;
+			timeout = TimingWheel.getInstance().schedule(this, delay);
+		}
+
+		@Override
+		public void run() {
+			if (!PENDING_RESPAWNS.remove(npc, this)) {
+				return;
+			}
+
+			final Spawn spawn = npc.getSpawn();
+			if (spawn != null) {
+				// spawning is too heavy to run on the timing wheel thread
+				ThreadPool.execute(() -> {
+					spawn.respawnNpc(npc);
+					spawn._scheduledCount--;
+				});
+			}
+		}
+	}
 }
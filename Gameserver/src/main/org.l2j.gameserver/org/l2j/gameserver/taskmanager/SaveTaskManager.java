@@ -19,10 +19,12 @@
 package org.l2j.gameserver.taskmanager;
 
 import org.l2j.commons.threading.ThreadPool;
+import org.l2j.commons.util.Rnd;
 import org.l2j.gameserver.model.actor.instance.Player;
 import org.l2j.gameserver.settings.GeneralSettings;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Map;
 import java.util.WeakHashMap;
@@ -32,13 +34,19 @@ import java.util.concurrent.TimeUnit;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.l2j.commons.configuration.Configurator.getSettings;
-import static org.l2j.commons.util.Util.falseIfNullOrElse;
 
 /**
+ * Saves the players periodically.
+ *
+ * The first save of each player is jittered and the task checks the due players every second,
+ * so the saves are spread over the interval instead of running in a single burst.
+ *
  * @author JoeAlisson
  */
 public class SaveTaskManager {
 
+    private static final long TICK_INTERVAL = 1000;
+
     private final Map<Player, Long> playerSaveStamp = Collections.synchronizedMap(new WeakHashMap<>());
     private ScheduledFuture<?> scheduledTask;
 
@@ -46,31 +54,34 @@ public class SaveTaskManager {
     }
 
     public void registerPlayer(Player player) {
-        var scheduleTime = getSettings(GeneralSettings.class).autoSavePlayerTime();
         if(playerSaveStamp.isEmpty() && (isNull(scheduledTask) || scheduledTask.isDone())) {
-            scheduledTask = ThreadPool.scheduleAtFixedDelay(this::saveTask, scheduleTime, scheduleTime, TimeUnit.MINUTES);
+            scheduledTask = ThreadPool.scheduleAtFixedDelay(this::saveTask, TICK_INTERVAL, TICK_INTERVAL, TimeUnit.MILLISECONDS);
         }
-        playerSaveStamp.put(player, nextSave(scheduleTime));
+        final var interval = saveInterval();
+        playerSaveStamp.put(player, System.currentTimeMillis() + interval - Rnd.get(interval / 2));
     }
 
-    protected long nextSave(int scheduleTime) {
-        return System.currentTimeMillis() + Duration.ofMinutes(scheduleTime).toMillis();
+    protected long saveInterval() {
+        return Duration.ofMinutes(getSettings(GeneralSettings.class).autoSavePlayerTime()).toMillis();
     }
 
     private void saveTask() {
         final var now = System.currentTimeMillis();
-        final var nextSave = nextSave(getSettings(GeneralSettings.class).autoSavePlayerTime());
+        final var duePlayers = new ArrayList<Player>();
 
         synchronized (playerSaveStamp) {
-            playerSaveStamp.entrySet().stream()
-                    .filter(entry -> falseIfNullOrElse(entry, e -> e.getValue() < now))
-                    .forEach(entry -> save(nextSave, entry));
+            playerSaveStamp.forEach((player, stamp) -> {
+                if(nonNull(player) && stamp < now) {
+                    duePlayers.add(player);
+                }
+            });
         }
-    }
 
-    private void save(long nextSave, Map.Entry<Player, Long> entry) {
-        entry.getKey().storeMe();
-        entry.setValue(nextSave);
+        final var interval = saveInterval();
+        for (Player player : duePlayers) {
+            player.storeMe();
+            playerSaveStamp.replace(player, System.currentTimeMillis() + interval);
+        }
     }
 
     public void remove(Player player) {
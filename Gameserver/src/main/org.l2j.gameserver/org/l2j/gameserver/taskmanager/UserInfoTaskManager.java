@@ -0,0 +1,247 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver.taskmanager;
+
+import org.l2j.commons.threading.ThreadPool;
+import org.l2j.gameserver.enums.UserInfoType;
+import org.l2j.gameserver.model.actor.instance.Player;
+import org.l2j.gameserver.network.serverpackets.UserInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static java.lang.System.nanoTime;
+import static java.util.Objects.isNull;
+
+/**
+ * Coalesces the UserInfo and ExCharInfo updates of the players.
+ *
+ * The updates requested during a tick are merged by player, so each player receives at most one UserInfo
+ * with all the changed components and its known players receive at most one ExCharInfo per tick.
+ *
+ * @author JoeAlisson
+ */
+public final class UserInfoTaskManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserInfoTaskManager.class);
+
+    private static final UserInfoType[] USER_INFO_TYPES = UserInfoType.values();
+    public static final int ALL_USER_INFO = (1 << USER_INFO_TYPES.length) - 1;
+
+    private static final int TICK_INTERVAL = 100;
+    /**
+     * Amount of pending players from which the updates are flushed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+    private static final int SHARDS_PER_THREAD = 4;
+
+    private final Map<Player, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final List<List<Player>> shards;
+
+    private final LongAdder userInfoRequested = new LongAdder();
+    private final LongAdder charInfoRequested = new LongAdder();
+    private final LongAdder userInfoSent = new LongAdder();
+    private final LongAdder charInfoSent = new LongAdder();
+    private volatile int lastFlushed;
+    private volatile long lastTickDuration;
+    private volatile long maxTickDuration;
+
+    private UserInfoTaskManager() {
+        final int shardCount = Runtime.getRuntime().availableProcessors() * SHARDS_PER_THREAD;
+        shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        ThreadPool.scheduleAtFixedRate(this::tick, TICK_INTERVAL, TICK_INTERVAL);
+    }
+
+    /**
+     * Marks the given components of the player's UserInfo as changed.
+     *
+     * @param player the player to be updated
+     * @param types the changed components
+     * @param charInfo whether the ExCharInfo must be broadcast too
+     */
+    public void update(Player player, UserInfoType[] types, boolean charInfo) {
+        int mask = 0;
+        for (UserInfoType type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        update(player, mask, charInfo);
+    }
+
+    /**
+     * Marks the components of the player's UserInfo given by the mask as changed.
+     *
+     * @param player the player to be updated
+     * @param mask the mask of the changed components, each bit is the ordinal of an {@link UserInfoType}
+     * @param charInfo whether the ExCharInfo must be broadcast too
+     */
+    public void update(Player player, int mask, boolean charInfo) {
+        if (mask != 0) {
+            userInfoRequested.increment();
+        }
+        if (charInfo) {
+            charInfoRequested.increment();
+        }
+        pending.compute(player, (p, update) -> {
+            if (isNull(update)) {
+                update = new PendingUpdate();
+            }
+            update.userInfo |= mask;
+            update.charInfo |= charInfo;
+            return update;
+        });
+    }
+
+    /**
+     * Discards the pending updates of the player, used when the player was fully updated out of the tick.
+     *
+     * @param player the player
+     */
+    public void cancel(Player player) {
+        pending.remove(player);
+    }
+
+    private void tick() {
+        final long start = nanoTime();
+        final int size = pending.size();
+        if (size == 0) {
+            lastFlushed = 0;
+            return;
+        }
+
+        int i = 0;
+        for (Player player : pending.keySet()) {
+            shards.get(i++ % shards.size()).add(player);
+        }
+
+        try {
+            if (size < PARALLEL_THRESHOLD) {
+                shards.forEach(this::flush);
+            } else {
+                flushInParallel();
+            }
+            lastFlushed = size;
+        } finally {
+            shards.forEach(List::clear);
+        }
+
+        final long duration = nanoTime() - start;
+        lastTickDuration = duration;
+        if (duration > maxTickDuration) {
+            maxTickDuration = duration;
+        }
+    }
+
+    private void flushInParallel() {
+        final List<List<Player>> nonEmpty = shards.stream().filter(shard -> !shard.isEmpty()).collect(Collectors.toList());
+        final var latch = new CountDownLatch(nonEmpty.size());
+        for (List<Player> shard : nonEmpty) {
+            ThreadPool.executeForked(() -> {
+                try {
+                    flush(shard);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush(List<Player> shard) {
+        for (Player player : shard) {
+            final PendingUpdate update = pending.remove(player);
+            if (isNull(update) || !player.isOnline()) {
+                continue;
+            }
+
+            try {
+                if (update.userInfo != 0) {
+                    player.sendPacket(userInfoOf(player, update.userInfo));
+                    userInfoSent.increment();
+                }
+
+                // the known players get the char info when the player is spawned again
+                if (update.charInfo && player.isSpawned()) {
+                    player.broadcastCharInfoNow();
+                    charInfoSent.increment();
+                }
+            } catch (Exception e) {
+                LOGGER.warn("Error updating info of {}", player, e);
+            }
+        }
+    }
+
+    private UserInfo userInfoOf(Player player, int mask) {
+        if (mask == ALL_USER_INFO) {
+            return new UserInfo(player);
+        }
+
+        final UserInfo info = new UserInfo(player, false);
+        for (UserInfoType type : USER_INFO_TYPES) {
+            if ((mask & (1 << type.ordinal())) != 0) {
+                info.addComponentType(type);
+            }
+        }
+        return info;
+    }
+
+    public CharSequence getStats() {
+        final long userInfos = userInfoSent.sum();
+        final long charInfos = charInfoSent.sum();
+        return new StringBuilder("UserInfo Task Manager\n")
+                .append("=================================================\n")
+                .append("\tPending Players: ....... ").append(pending.size()).append("\n")
+                .append("\tUserInfo Requested: .... ").append(userInfoRequested.sum()).append("\n")
+                .append("\tUserInfo Sent: ......... ").append(userInfos).append("\n")
+                .append("\tCharInfo Requested: .... ").append(charInfoRequested.sum()).append("\n")
+                .append("\tCharInfo Sent: ......... ").append(charInfos).append("\n")
+                .append("\tCoalesced Updates: ..... ").append(userInfoRequested.sum() - userInfos + charInfoRequested.sum() - charInfos).append("\n")
+                .append("\tLast Tick Flushed: ..... ").append(lastFlushed).append("\n")
+                .append("\tLast Tick Duration: .... ").append(TimeUnit.NANOSECONDS.toMillis(lastTickDuration)).append(" ms\n")
+                .append("\tMax Tick Duration: ..... ").append(TimeUnit.NANOSECONDS.toMillis(maxTickDuration)).append(" ms\n");
+    }
+
+    public static UserInfoTaskManager getInstance() {
+        return Singleton.INSTANCE;
+    }
+
+    private static final class PendingUpdate {
+        private int userInfo;
+        private boolean charInfo;
+    }
+
+    private static class Singleton {
+        private static final UserInfoTaskManager INSTANCE = new UserInfoTaskManager();
+    }
+}
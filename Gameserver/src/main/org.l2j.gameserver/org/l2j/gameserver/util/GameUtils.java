@@ -21,6 +21,7 @@ package org.l2j.gameserver.util;
 import org.l2j.commons.threading.ThreadPool;
 import org.l2j.commons.util.Rnd;
 import org.l2j.gameserver.Config;
+import org.l2j.gameserver.cache.HtmlTemplate;
 import org.l2j.gameserver.enums.HtmlActionScope;
 import org.l2j.gameserver.enums.IllegalActionPunishmentType;
 import org.l2j.gameserver.instancemanager.WalkingManager;
@@ -190,7 +191,13 @@ public final class GameUtils {
         return dateFormat.format(date.getTime());
     }
 
-    private static void buildHtmlBypassCache(Player player, HtmlActionScope scope, String html) {
+    /**
+     * Extracts the bypasses of the html, the parameters starting with {@link AbstractHtmlPacket#VAR_PARAM_START_CHAR} are discarded.
+     *
+     * @param html the html code to parse
+     * @param action the action called for each bypass
+     */
+    public static void forEachHtmlBypass(String html, Consumer<String> action) {
         final String htmlLower = html.toLowerCase(Locale.ENGLISH);
         int bypassEnd = 0;
         int bypassStart = htmlLower.indexOf("=\"bypass ", bypassEnd);
@@ -205,25 +212,32 @@ public final class GameUtils {
             final int hParamPos = htmlLower.indexOf("-h ", bypassStartEnd);
             String bypass;
             if ((hParamPos != -1) && (hParamPos < bypassEnd)) {
-                bypass = html.substring(hParamPos + 3, bypassEnd).trim();
+                bypass = html.substring(hParamPos + 3, bypassEnd);
             } else {
-                bypass = html.substring(bypassStartEnd, bypassEnd).trim();
+                bypass = html.substring(bypassStartEnd, bypassEnd);
             }
 
-            final int firstParameterStart = bypass.indexOf(AbstractHtmlPacket.VAR_PARAM_START_CHAR);
-            if (firstParameterStart != -1) {
-                bypass = bypass.substring(0, firstParameterStart + 1);
-            }
-
-            if (Config.HTML_ACTION_CACHE_DEBUG) {
-                LOGGER.info("Cached html bypass(" + scope + "): '" + bypass + "'");
-            }
-            player.addHtmlAction(scope, bypass);
+            action.accept(trimBypassParameters(bypass));
             bypassStart = htmlLower.indexOf("=\"bypass ", bypassEnd);
         }
     }
 
-    private static void buildHtmlLinkCache(Player player, HtmlActionScope scope, String html) {
+    public static String trimBypassParameters(String bypass) {
+        bypass = bypass.trim();
+        final int firstParameterStart = bypass.indexOf(AbstractHtmlPacket.VAR_PARAM_START_CHAR);
+        if (firstParameterStart != -1) {
+            bypass = bypass.substring(0, firstParameterStart + 1);
+        }
+        return bypass;
+    }
+
+    /**
+     * Extracts the link paths of the html.
+     *
+     * @param html the html code to parse
+     * @param action the action called for each link path
+     */
+    public static void forEachHtmlLink(String html, Consumer<String> action) {
         final String htmlLower = html.toLowerCase(Locale.ENGLISH);
         int linkEnd = 0;
         int linkStart = htmlLower.indexOf("=\"link ", linkEnd);
@@ -235,24 +249,34 @@ public final class GameUtils {
                 break;
             }
 
-            final String htmlLink = html.substring(linkStartEnd, linkEnd).trim();
-            if (htmlLink.isEmpty()) {
-                LOGGER.warn("Html link path is empty!");
-                continue;
-            }
+            action.accept(html.substring(linkStartEnd, linkEnd).trim());
+            linkStart = htmlLower.indexOf("=\"link ", linkEnd);
+        }
+    }
 
-            if (htmlLink.contains("..")) {
-                LOGGER.warn("Html link path is invalid: " + htmlLink);
-                continue;
-            }
+    public static void addHtmlBypass(Player player, HtmlActionScope scope, String bypass) {
+        if (Config.HTML_ACTION_CACHE_DEBUG) {
+            LOGGER.info("Cached html bypass(" + scope + "): '" + bypass + "'");
+        }
+        player.addHtmlAction(scope, bypass);
+    }
 
-            if (Config.HTML_ACTION_CACHE_DEBUG) {
-                LOGGER.info("Cached html link(" + scope + "): '" + htmlLink + "'");
-            }
-            // let's keep an action cache with "link " lowercase literal kept
-            player.addHtmlAction(scope, "link " + htmlLink);
-            linkStart = htmlLower.indexOf("=\"link ", linkEnd);
+    public static void addHtmlLink(Player player, HtmlActionScope scope, String htmlLink) {
+        if (htmlLink.isEmpty()) {
+            LOGGER.warn("Html link path is empty!");
+            return;
+        }
+
+        if (htmlLink.contains("..")) {
+            LOGGER.warn("Html link path is invalid: " + htmlLink);
+            return;
         }
+
+        if (Config.HTML_ACTION_CACHE_DEBUG) {
+            LOGGER.info("Cached html link(" + scope + "): '" + htmlLink + "'");
+        }
+        // let's keep an action cache with "link " lowercase literal kept
+        player.addHtmlAction(scope, "link " + htmlLink);
     }
 
     /**
@@ -274,8 +298,30 @@ public final class GameUtils {
             LOGGER.info("Set html action npc(" + scope + "): " + npcObjId);
         }
         player.setHtmlActionOriginObjectId(scope, npcObjId);
-        buildHtmlBypassCache(player, scope, html);
-        buildHtmlLinkCache(player, scope, html);
+        forEachHtmlBypass(html, bypass -> addHtmlBypass(player, scope, bypass));
+        forEachHtmlLink(html, link -> addHtmlLink(player, scope, link));
+    }
+
+    /**
+     * Builds the html action cache for the specified scope from a compiled template,
+     * only the bypasses and links depending on the slot values are resolved.
+     *
+     * @param player   the player to build the html action cache for
+     * @param scope    the scope to build the html action cache for
+     * @param npcObjId the npc object id the html actions are cached for
+     * @param template the compiled html
+     * @param values   the slot values of the template
+     */
+    public static void buildHtmlActionCache(Player player, HtmlActionScope scope, int npcObjId, HtmlTemplate template, String[] values) {
+        if ((player == null) || (scope == null) || (npcObjId < 0) || (template == null)) {
+            throw new IllegalArgumentException();
+        }
+
+        if (Config.HTML_ACTION_CACHE_DEBUG) {
+            LOGGER.info("Set html action npc(" + scope + "): " + npcObjId);
+        }
+        player.setHtmlActionOriginObjectId(scope, npcObjId);
+        template.forEachAction(values, bypass -> addHtmlBypass(player, scope, bypass), link -> addHtmlLink(player, scope, link));
     }
 
     /**
@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver.world;
+
+import io.github.joealisson.primitive.CHashIntMap;
+import io.github.joealisson.primitive.IntMap;
+import org.l2j.gameserver.model.BlockList;
+import org.l2j.gameserver.model.actor.instance.Player;
+import org.l2j.gameserver.network.serverpackets.ServerPacket;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Keeps the players of each map region and instance, so the region chats are sent only to the players of the channel.
+ *
+ * The membership is updated when a player changes its world region or instance,
+ * a map region tile always contains whole world regions.
+ *
+ * @author JoeAlisson
+ */
+public final class ChatChannelManager {
+
+    private final IntMap<IntMap<ChatChannel>> channels = new CHashIntMap<>();
+    private final IntMap<ChatChannel> playerChannels = new CHashIntMap<>();
+
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder globalMessages = new LongAdder();
+    private final LongAdder deliveries = new LongAdder();
+
+    private ChatChannelManager() {
+    }
+
+    /**
+     * Moves the player to the channel of its current map region and instance.
+     *
+     * @param player the player
+     */
+    public void update(Player player) {
+        synchronized (player) {
+            // read under the lock, so concurrent updates can't apply a stale region and instance last
+            final int regionId = MapRegionManager.getInstance().getMapRegionLocId(player);
+            final int instanceId = player.getInstanceId();
+
+            final ChatChannel current = playerChannels.get(player.getObjectId());
+            if (current != null && current.regionId == regionId && current.instanceId == instanceId) {
+                return;
+            }
+
+            if (current != null) {
+                leave(current, player);
+            }
+            playerChannels.put(player.getObjectId(), join(regionId, instanceId, player));
+        }
+    }
+
+    public void remove(Player player) {
+        synchronized (player) {
+            final ChatChannel channel = playerChannels.remove(player.getObjectId());
+            if (channel != null) {
+                leave(channel, player);
+            }
+        }
+    }
+
+    private ChatChannel join(int regionId, int instanceId, Player player) {
+        while (true) {
+            final ChatChannel channel = channelOf(regionId, instanceId);
+            if (isNull(channel)) {
+                continue;
+            }
+
+            synchronized (channel) {
+                // a closed channel is being removed, a new one must be created
+                if (!channel.closed) {
+                    channel.members.add(player);
+                    return channel;
+                }
+            }
+        }
+    }
+
+    private ChatChannel channelOf(int regionId, int instanceId) {
+        final IntMap<ChatChannel> instanceChannels = channels.computeIfAbsent(instanceId, id -> new CHashIntMap<>());
+        synchronized (instanceChannels) {
+            if (channels.get(instanceId) != instanceChannels) {
+                return null;
+            }
+            return instanceChannels.computeIfAbsent(regionId, id -> new ChatChannel(regionId, instanceId));
+        }
+    }
+
+    /**
+     * Removes the player from the channel, the channel is dropped when its last member leaves,
+     * and so are the channels of an instance when the last one is dropped.
+     */
+    private void leave(ChatChannel channel, Player player) {
+        synchronized (channel) {
+            channel.members.remove(player);
+            if (!channel.members.isEmpty()) {
+                return;
+            }
+
+            channel.closed = true;
+            final IntMap<ChatChannel> instanceChannels = channels.get(channel.instanceId);
+            synchronized (instanceChannels) {
+                instanceChannels.remove(channel.regionId);
+                if (instanceChannels.isEmpty()) {
+                    channels.remove(channel.instanceId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the packet to the players in the same map region and instance of the sender that are not blocking it.
+     *
+     * @param sender the player sending the message
+     * @param packet the message
+     */
+    public void broadcastToRegion(Player sender, ServerPacket packet) {
+        ChatChannel channel = playerChannels.get(sender.getObjectId());
+        if (isNull(channel)) {
+            update(sender);
+            channel = playerChannels.get(sender.getObjectId());
+        }
+
+        messages.increment();
+        int delivered = 0;
+        for (Player receiver : channel.members) {
+            if (!BlockList.isBlocked(receiver, sender)) {
+                receiver.sendPacket(packet);
+                delivered++;
+            }
+        }
+        deliveries.add(delivered);
+    }
+
+    /**
+     * Sends the packet to all the players that are not blocking the sender.
+     *
+     * @param sender the player sending the message
+     * @param packet the message
+     */
+    public void broadcastToAll(Player sender, ServerPacket packet) {
+        globalMessages.increment();
+        World.getInstance().forEachPlayer(receiver -> {
+            if (!BlockList.isBlocked(receiver, sender)) {
+                receiver.sendPacket(packet);
+            }
+        });
+    }
+
+    public CharSequence getStats() {
+        final long sent = messages.sum();
+        int channelCount = 0;
+        for (IntMap<ChatChannel> instanceChannels : channels.values()) {
+            channelCount += instanceChannels.size();
+        }
+
+        return new StringBuilder("Chat Channel Manager\n")
+                .append("=================================================\n")
+                .append("\tChannels: .............. ").append(channelCount).append("\n")
+                .append("\tMembers: ............... ").append(playerChannels.size()).append("\n")
+                .append("\tRegion Messages: ....... ").append(sent).append("\n")
+                .append("\tAvg Receivers: ......... ").append(sent == 0 ? 0 : deliveries.sum() / sent).append("\n")
+                .append("\tGlobal Messages: ....... ").append(globalMessages.sum()).append("\n");
+    }
+
+    public static ChatChannelManager getInstance() {
+        return Singleton.INSTANCE;
+    }
+
+    private static final class ChatChannel {
+        private final int regionId;
+        private final int instanceId;
+        private final Set<Player> members = ConcurrentHashMap.newKeySet();
+        private boolean closed;
+
+        private ChatChannel(int regionId, int instanceId) {
+            this.regionId = regionId;
+            this.instanceId = instanceId;
+        }
+    }
+
+    private static class Singleton {
+        private static final ChatChannelManager INSTANCE = new ChatChannelManager();
+    }
+}
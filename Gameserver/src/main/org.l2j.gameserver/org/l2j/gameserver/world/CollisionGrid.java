@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2019-2020 L2JOrg
+ *
+ * This file is part of the L2JOrg project.
+ *
+ * L2JOrg is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * L2JOrg is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.l2j.gameserver.world;
+
+import org.l2j.gameserver.util.MathUtil;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Uniform grid over the world map, indexing objects by their bounding box.
+ *
+ * A segment query only visits the cells overlapped by the segment bounding box,
+ * so its cost depends on the objects near the segment.
+ *
+ * @author JoeAlisson
+ * @param <T> the indexed object type
+ */
+public final class CollisionGrid<T> {
+
+    private static final int CELL_SHIFT = 11;
+    private static final int CELLS_X = ((World.MAP_MAX_X - World.MAP_MIN_X) >> CELL_SHIFT) + 1;
+    private static final int CELLS_Y = ((World.MAP_MAX_Y - World.MAP_MIN_Y) >> CELL_SHIFT) + 1;
+
+    private final AtomicReferenceArray<List<T>> cells = new AtomicReferenceArray<>(CELLS_X * CELLS_Y);
+
+    public synchronized void add(T object, int xMin, int yMin, int xMax, int yMax) {
+        final int cxMax = cellX(xMax);
+        final int cyMax = cellY(yMax);
+        for (int cx = cellX(xMin); cx <= cxMax; cx++) {
+            for (int cy = cellY(yMin); cy <= cyMax; cy++) {
+                final int index = cx * CELLS_Y + cy;
+                var objects = cells.get(index);
+                if(isNull(objects)) {
+                    objects = new CopyOnWriteArrayList<>();
+                    cells.set(index, objects);
+                }
+                objects.add(object);
+            }
+        }
+    }
+
+    public synchronized void remove(T object, int xMin, int yMin, int xMax, int yMax) {
+        final int cxMax = cellX(xMax);
+        final int cyMax = cellY(yMax);
+        for (int cx = cellX(xMin); cx <= cxMax; cx++) {
+            for (int cy = cellY(yMin); cy <= cyMax; cy++) {
+                final var objects = cells.get(cx * CELLS_Y + cy);
+                if(nonNull(objects)) {
+                    objects.remove(object);
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, null);
+        }
+    }
+
+    /**
+     * Checks the objects of the cells overlapped by the segment bounding box.
+     * An object overlapping many cells can be tested more than once.
+     *
+     * @return true if any object matches the filter
+     */
+    public boolean anyMatch(int x, int y, int tx, int ty, Predicate<T> filter) {
+        final int cxMax = cellX(Math.max(x, tx));
+        final int cyMin = cellY(Math.min(y, ty));
+        final int cyMax = cellY(Math.max(y, ty));
+        for (int cx = cellX(Math.min(x, tx)); cx <= cxMax; cx++) {
+            for (int cy = cyMin; cy <= cyMax; cy++) {
+                final var objects = cells.get(cx * CELLS_Y + cy);
+                if(nonNull(objects)) {
+                    for (T object : objects) {
+                        if(filter.test(object)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int cellX(int x) {
+        return (MathUtil.limit(x, World.MAP_MIN_X, World.MAP_MAX_X) - World.MAP_MIN_X) >> CELL_SHIFT;
+    }
+
+    private static int cellY(int y) {
+        return (MathUtil.limit(y, World.MAP_MIN_Y, World.MAP_MAX_Y) - World.MAP_MIN_Y) >> CELL_SHIFT;
+    }
+}
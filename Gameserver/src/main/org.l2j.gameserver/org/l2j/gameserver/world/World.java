@@ -68,7 +68,7 @@ public final class World {
     /**
      * Bit shift, defines number of regions note, shifting by 15 will result in regions corresponding to map tiles shifting by 11 divides one tile to 16x16 regions.
      */
-    private static final int SHIFT_BY = 11;
+    static final int SHIFT_BY = 11;
     public static final int TILE_SIZE = 32768;
     /**
      * Map dimensions.
@@ -86,8 +86,8 @@ public final class World {
     /**
      * Calculated offset used so top left region is 0,0
      */
-    private static final int OFFSET_X = Math.abs(MAP_MIN_X >> SHIFT_BY);
-    private static final int OFFSET_Y = Math.abs(MAP_MIN_Y >> SHIFT_BY);
+    static final int OFFSET_X = Math.abs(MAP_MIN_X >> SHIFT_BY);
+    static final int OFFSET_Y = Math.abs(MAP_MIN_Y >> SHIFT_BY);
     /**
      * Number of regions.
      */
@@ -351,6 +351,8 @@ public final class World {
             }
             newRegion.addVisibleObject(object);
             switchRegion(object, oldRegion, newRegion);
+        } else if (nonNull(newRegion)) {
+            newRegion.relocate(object);
         }
     }
 
@@ -408,7 +410,7 @@ public final class World {
             return includeReference && clazz.isInstance(reference) ? clazz.cast(reference) : null;
         }
 
-        return region.findAnyObjectInSurrounding(clazz, and(isVisibleInRange(reference, range, includeReference), filter));
+        return region.findAnyObjectInSurrounding(clazz, reference.getX(), reference.getY(), range, and(isVisibleInRange(reference, range, includeReference), filter));
     }
 
     public <T extends WorldObject> T findFirstVisibleObject(WorldObject reference, Class<T> clazz, int range, boolean includeReference, Predicate<T> filter, Comparator<T> comparator) {
@@ -418,7 +420,7 @@ public final class World {
             return includeReference && clazz.isInstance(reference)? clazz.cast(reference) : null;
         }
 
-        return region.findFirstObjectInSurrounding(clazz, and(isVisibleInRange(reference, range, includeReference), filter), comparator);
+        return region.findFirstObjectInSurrounding(clazz, reference.getX(), reference.getY(), range, and(isVisibleInRange(reference, range, includeReference), filter), comparator);
     }
 
     public boolean hasVisiblePlayer(WorldObject object) {
@@ -428,7 +430,8 @@ public final class World {
             return false;
         }
 
-        return region.hasObjectInSurrounding(Player.class, isVisibleInRange(object, getSettings(CharacterSettings.class).partyRange(), false));
+        final int range = getSettings(CharacterSettings.class).partyRange();
+        return region.hasObjectInSurrounding(Player.class, object.getX(), object.getY(), range, isVisibleInRange(object, range, false));
     }
 
     public <T extends WorldObject> boolean hasAnyVisibleObjectInRange(WorldObject reference, Class<T> clazz, int range, Predicate<T> filter) {
@@ -436,7 +439,7 @@ public final class World {
         if(isNull(region)) {
             return false;
         }
-        return region.hasObjectInSurrounding(clazz, and(isVisibleInRange(reference, range, false), filter));
+        return region.hasObjectInSurrounding(clazz, reference.getX(), reference.getY(), range, and(isVisibleInRange(reference, range, false), filter));
     }
 
     public <T extends WorldObject> void forEachVisibleObject(WorldObject reference, Class<T> clazz, Consumer<T> action) {
@@ -460,7 +463,7 @@ public final class World {
             return Collections.emptyList();
         }
 
-        return region.findAllObjectsInSurrounding(clazz, and(isVisibleInRange(reference, range, false), filter));
+        return region.findAllObjectsInSurrounding(clazz, reference.getX(), reference.getY(), range, and(isVisibleInRange(reference, range, false), filter));
     }
 
     public void forEachPlayerInRange(WorldObject reference, int range, Consumer<Player> action, Predicate<Player> filter) {
@@ -477,7 +480,7 @@ public final class World {
             return;
         }
 
-        region.forEachObjectInSurrounding(clazz, action, and(isVisibleInRange(reference, range, false), filter));
+        region.forEachObjectInSurrounding(clazz, reference.getX(), reference.getY(), range, action, and(isVisibleInRange(reference, range, false), filter));
     }
 
     public <T extends WorldObject> void forVisibleObjectsInRange(WorldObject reference, Class<T> clazz, int range, int maxObjects, Predicate<T> filter, Consumer<T> action) {
@@ -486,7 +489,7 @@ public final class World {
             return;
         }
 
-        region.forEachObjectInSurroundingLimiting(clazz, maxObjects, and(isVisibleInRange(reference, range, false), filter), action);
+        region.forEachObjectInSurroundingLimiting(clazz, reference.getX(), reference.getY(), range, maxObjects, and(isVisibleInRange(reference, range, false), filter), action);
     }
 
     public <T extends WorldObject> void forVisibleOrderedObjectsInRange(WorldObject reference, Class<T> clazz, int range, int maxObjects, Predicate<T> filter, Comparator<T> comparator, Consumer<? super T> action) {
@@ -496,7 +499,7 @@ public final class World {
             return;
         }
 
-        region.forEachOrderedObjectInSurrounding(clazz, maxObjects, comparator, and(isVisibleInRange(reference, range, false), filter), action);
+        region.forEachOrderedObjectInSurrounding(clazz, reference.getX(), reference.getY(), range, maxObjects, comparator, and(isVisibleInRange(reference, range, false), filter), action);
     }
 
     public <T extends WorldObject> void forAnyVisibleObject(WorldObject reference, Class<T> clazz, Consumer<T> action, Predicate<T> filter) {
@@ -509,7 +512,7 @@ public final class World {
         if(isNull(region)) {
             return;
         }
-        region.forAnyObjectInSurrounding(clazz, action, and(isVisibleInRange(reference, range, false), filter));
+        region.forAnyObjectInSurrounding(clazz, reference.getX(), reference.getY(), range, action, and(isVisibleInRange(reference, range, false), filter));
     }
 
     public <T extends WorldObject> boolean checkAnyVisibleObjectInRange(WorldObject reference, Class<T> clazz, int range, Predicate<T> filter) {
@@ -519,7 +522,7 @@ public final class World {
             return false;
         }
 
-        return region.hasObjectInSurrounding(clazz, and(isVisibleInRange(reference, range, false), filter));
+        return region.hasObjectInSurrounding(clazz, reference.getX(), reference.getY(), range, and(isVisibleInRange(reference, range, false), filter));
     }
 
     /**
@@ -26,32 +26,50 @@ import org.l2j.gameserver.ai.CtrlIntention;
 import org.l2j.gameserver.model.WorldObject;
 import org.l2j.gameserver.model.actor.Attackable;
 import org.l2j.gameserver.model.actor.Npc;
+import org.l2j.gameserver.model.actor.Playable;
+import org.l2j.gameserver.model.actor.instance.Player;
+import org.l2j.gameserver.model.item.instance.Item;
 import org.l2j.gameserver.taskmanager.RandomAnimationTaskManager;
 import org.l2j.gameserver.util.GameUtils;
 import org.l2j.gameserver.util.MathUtil;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.ScheduledFuture;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static java.lang.Math.abs;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.l2j.gameserver.util.GameUtils.*;
 
 public final class WorldRegion {
 
+    /**
+     * Bit shift defining the size of the cells inside a region. shifting by 9 divides one region into 4x4 cells of 512 units.
+     */
+    private static final int CELL_SHIFT = 9;
+    private static final int CELLS_PER_SIDE = 1 << (World.SHIFT_BY - CELL_SHIFT);
+    private static final int CELL_MASK = CELLS_PER_SIDE - 1;
+    private static final int NO_RANGE = -1;
+
     private final int regionX;
     private final int regionY;
+    private final int cellBaseX;
+    private final int cellBaseY;
     /**
      * Map containing visible objects in this world region.
      */
     private final IntMap<WorldObject> objects = new CHashIntMap<>();
+    /**
+     * Cells splitting this region, lazily created when the first object enters it.
+     */
+    private final Cell[] cells = new Cell[CELLS_PER_SIDE * CELLS_PER_SIDE];
+    private final Object cellLocker = new Object();
     /**
      * Map containing nearby regions forming this world region's effective area.
      */
@@ -64,10 +82,12 @@ public final class WorldRegion {
     WorldRegion(int regionX, int regionY) {
         this.regionX = regionX;
         this.regionY = regionY;
+        this.cellBaseX = (regionX - World.OFFSET_X) << (World.SHIFT_BY - CELL_SHIFT);
+        this.cellBaseY = (regionY - World.OFFSET_Y) << (World.SHIFT_BY - CELL_SHIFT);
     }
 
     private boolean areNeighborsEmpty() {
-        return checkEachSurroundingRegion(w -> !(w.isActive() && w.objects.values().stream().anyMatch(GameUtils::isPlayable)));
+        return checkEachSurroundingRegion(w -> !(w.isActive() && w.hasObject(Playable.class, GameUtils::isPlayable)));
     }
 
     /**
@@ -82,6 +102,7 @@ public final class WorldRegion {
         }
 
         objects.put(object.getObjectId(), object);
+        relocate(object);
 
         if (isPlayable(object)) {
             // If this is the first player to enter the region, activate self and neighbors.
@@ -91,6 +112,40 @@ public final class WorldRegion {
         }
     }
 
+    /**
+     * Moves the object to the cell matching its current position.
+     * Nothing is done when the object is already on the right cell, so it's safe to call on every position update.
+     *
+     * @param object the object that has moved inside this region
+     */
+    void relocate(WorldObject object) {
+        final int objectId = object.getObjectId();
+        final int kind = ObjectKind.of(object);
+        final int index = cellIndex(object.getX(), object.getY());
+
+        var cell = cells[index];
+        if(nonNull(cell) && cell.contains(kind, objectId)) {
+            return;
+        }
+
+        synchronized (cellLocker) {
+            if(isNull(objects.get(objectId))) {
+                return;
+            }
+
+            for (int i = 0; i < cells.length; i++) {
+                if(i != index && nonNull(cells[i])) {
+                    cells[i].remove(kind, objectId);
+                }
+            }
+
+            if(isNull(cell = cells[index])) {
+                cells[index] = cell = new Cell();
+            }
+            cell.put(kind, object);
+        }
+    }
+
     /**
      * Immediately sets self as active and starts a timer to set neighbors as active this timer is to avoid turning on neighbors in the case when a person just teleported into a region and then teleported out immediately...there is no reason to activate all the neighbors in that case.
      */
@@ -182,7 +237,16 @@ public final class WorldRegion {
             return;
         }
 
-        objects.remove(object.getObjectId());
+        synchronized (cellLocker) {
+            objects.remove(object.getObjectId());
+
+            final int kind = ObjectKind.of(object);
+            for (Cell cell : cells) {
+                if(nonNull(cell)) {
+                    cell.remove(kind, object.getObjectId());
+                }
+            }
+        }
 
         if (isPlayable(object)) {
             if (areNeighborsEmpty() && !Config.GRIDS_ALWAYS_ON) {
@@ -201,37 +265,53 @@ public final class WorldRegion {
     }
 
     void forEachSurroundingRegion(Consumer<WorldRegion> action) {
-        Arrays.stream(surroundingRegions).forEach(action);
+        for (WorldRegion worldRegion : surroundingRegions) {
+            action.accept(worldRegion);
+        }
     }
 
     <T extends WorldObject> void forEachObject(Class<T> clazz, Consumer<T> action, Predicate<T> filter) {
-        regionToWorldObjectStream(this).filter(applyInstanceFilter(clazz, filter)).map(clazz::cast).forEach(action);
+        visitObjects(clazz, 0, 0, NO_RANGE, filter, object -> {
+            action.accept(object);
+            return true;
+        });
     }
 
     <T extends WorldObject> void forEachObjectInSurrounding(Class<T> clazz, Consumer<T> action, Predicate<T> filter) {
-        filteredParallelSurroundingObjects(clazz, filter).forEach(action);
-    }
-
-    private <T extends WorldObject> Stream<T> filteredParallelSurroundingObjects(Class<T> clazz, Predicate<T> filter) {
-        return Arrays.stream(surroundingRegions)
-                .flatMap(WorldRegion::regionToWorldObjectStream)
-                .filter(applyInstanceFilter(clazz, filter)).map(clazz::cast);
+        forEachObjectInSurrounding(clazz, 0, 0, NO_RANGE, action, filter);
     }
 
-    <T extends WorldObject> void forEachObjectInSurroundingLimiting(Class<T> clazz, int limit, Predicate<T> filter, Consumer<T> action) {
-        filteredParallelSurroundingObjects(clazz, filter).limit(limit).forEach(action);
+    <T extends WorldObject> void forEachObjectInSurrounding(Class<T> clazz, int x, int y, int range, Consumer<T> action, Predicate<T> filter) {
+        visitSurrounding(clazz, x, y, range, filter, object -> {
+            action.accept(object);
+            return true;
+        });
     }
 
-    <T extends WorldObject> void forEachOrderedObjectInSurrounding(Class<T> clazz, int maxObjects, Comparator<T> comparator, Predicate<T> filter, Consumer<? super T> action) {
-        filteredSurroundingObjects(clazz, filter).sorted(comparator).limit(maxObjects).forEach(action);
-    }
-
-    private <T extends WorldObject> Stream<T> filteredSurroundingObjects(Class<T> clazz, Predicate<T> filter) {
-        return Arrays.stream(surroundingRegions).flatMap(r -> r.objects.values().stream()).filter(applyInstanceFilter(clazz, filter)).map(clazz::cast);
+    <T extends WorldObject> void forEachObjectInSurroundingLimiting(Class<T> clazz, int x, int y, int range, int limit, Predicate<T> filter, Consumer<T> action) {
+        if(limit <= 0) {
+            return;
+        }
+        final int[] count = { 0 };
+        visitSurrounding(clazz, x, y, range, filter, object -> {
+            action.accept(object);
+            return ++count[0] < limit;
+        });
+    }
+
+    <T extends WorldObject> void forEachOrderedObjectInSurrounding(Class<T> clazz, int x, int y, int range, int maxObjects, Comparator<T> comparator, Predicate<T> filter, Consumer<? super T> action) {
+        final var result = findAllObjectsInSurrounding(clazz, x, y, range, filter);
+        result.sort(comparator);
+        for (int i = 0; i < result.size() && i < maxObjects; i++) {
+            action.accept(result.get(i));
+        }
     }
 
-    <T extends WorldObject> void forAnyObjectInSurrounding(Class<T> clazz, Consumer<T> action, Predicate<T> filter) {
-        filteredParallelSurroundingObjects(clazz, filter).findAny().ifPresent(action);
+    <T extends WorldObject> void forAnyObjectInSurrounding(Class<T> clazz, int x, int y, int range, Consumer<T> action, Predicate<T> filter) {
+        final T object = findAnyObjectInSurrounding(clazz, x, y, range, filter);
+        if(nonNull(object)) {
+            action.accept(object);
+        }
     }
 
     WorldObject findObjectInSurrounding(WorldObject reference, int objectId, int range) {
@@ -247,24 +327,90 @@ public final class WorldRegion {
         return null;
     }
 
-    <T extends WorldObject> List<T> findAllObjectsInSurrounding(Class<T> clazz, Predicate<T> filter) {
-        return filteredSurroundingObjects(clazz, filter).collect(Collectors.toList());
+    <T extends WorldObject> List<T> findAllObjectsInSurrounding(Class<T> clazz, int x, int y, int range, Predicate<T> filter) {
+        final List<T> result = new ArrayList<>();
+        visitSurrounding(clazz, x, y, range, filter, result::add);
+        return result;
     }
 
-    <T extends WorldObject> T findAnyObjectInSurrounding(Class<T> clazz, Predicate<T> filter) {
-        return  filteredParallelSurroundingObjects(clazz, filter).findAny().orElse(null);
+    <T extends WorldObject> T findAnyObjectInSurrounding(Class<T> clazz, int x, int y, int range, Predicate<T> filter) {
+        final List<T> result = new ArrayList<>(1);
+        visitSurrounding(clazz, x, y, range, filter, object -> !result.add(object));
+        return result.isEmpty() ? null : result.get(0);
     }
 
-    <T extends WorldObject> T findFirstObjectInSurrounding(Class<T> clazz, Predicate<T> filter, Comparator<T> comparator) {
-        return filteredSurroundingObjects(clazz, filter).min(comparator).orElse(null);
+    <T extends WorldObject> T findFirstObjectInSurrounding(Class<T> clazz, int x, int y, int range, Predicate<T> filter, Comparator<T> comparator) {
+        final List<T> first = new ArrayList<>(1);
+        visitSurrounding(clazz, x, y, range, filter, object -> {
+            if(first.isEmpty()) {
+                first.add(object);
+            } else if(comparator.compare(object, first.get(0)) < 0) {
+                first.set(0, object);
+            }
+            return true;
+        });
+        return first.isEmpty() ? null : first.get(0);
     }
 
     <T extends WorldObject> boolean hasObjectInSurrounding(Class<T> clazz, Predicate<T> filter) {
-        return Arrays.stream(surroundingRegions).flatMap(WorldRegion::regionToWorldObjectStream).anyMatch(applyInstanceFilter(clazz, filter));
+        return hasObjectInSurrounding(clazz, 0, 0, NO_RANGE, filter);
+    }
+
+    <T extends WorldObject> boolean hasObjectInSurrounding(Class<T> clazz, int x, int y, int range, Predicate<T> filter) {
+        return !visitSurrounding(clazz, x, y, range, filter, object -> false);
     }
 
-    <T extends WorldObject> long countObjectInSurrounding(Class<T> clazz, Predicate<T> filter) {
-        return filteredParallelSurroundingObjects(clazz, filter).count();
+    private <T extends WorldObject> boolean hasObject(Class<T> clazz, Predicate<T> filter) {
+        return !visitObjects(clazz, 0, 0, NO_RANGE, filter, object -> false);
+    }
+
+    /**
+     * Visits the objects of the surrounding regions.
+     *
+     * @param clazz the class of the objects to be visited
+     * @param x the x coordinate of the center of the visited area
+     * @param y the y coordinate of the center of the visited area
+     * @param range the radius of the visited area, when negative all objects of the surrounding regions are visited
+     * @param filter the filter applied to the objects
+     * @param visitor the visitor, returns false to stop the visiting
+     * @return false if the visitor has stopped the visiting, true otherwise
+     */
+    private <T extends WorldObject> boolean visitSurrounding(Class<T> clazz, int x, int y, int range, Predicate<T> filter, Predicate<T> visitor) {
+        for (WorldRegion region : surroundingRegions) {
+            if(!region.visitObjects(clazz, x, y, range, filter, visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private <T extends WorldObject> boolean visitObjects(Class<T> clazz, int x, int y, int range, Predicate<T> filter, Predicate<T> visitor) {
+        int minCellX = 0;
+        int minCellY = 0;
+        int maxCellX = CELL_MASK;
+        int maxCellY = CELL_MASK;
+
+        if(range >= 0) {
+            minCellX = max(minCellX, ((x - range) >> CELL_SHIFT) - cellBaseX);
+            maxCellX = min(maxCellX, ((x + range) >> CELL_SHIFT) - cellBaseX);
+            minCellY = max(minCellY, ((y - range) >> CELL_SHIFT) - cellBaseY);
+            maxCellY = min(maxCellY, ((y + range) >> CELL_SHIFT) - cellBaseY);
+        }
+
+        final int kinds = ObjectKind.maskOf(clazz);
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                final var cell = cells[cellX * CELLS_PER_SIDE + cellY];
+                if(nonNull(cell) && !cell.visit(kinds, clazz, filter, visitor)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private int cellIndex(int x, int y) {
+        return ((x >> CELL_SHIFT) & CELL_MASK) * CELLS_PER_SIDE + ((y >> CELL_SHIFT) & CELL_MASK);
     }
 
     WorldObject getObject(int objectId) {
@@ -300,18 +446,107 @@ public final class WorldRegion {
         return active;
     }
 
-
-    private static <T extends WorldObject> Predicate<? super WorldObject> applyInstanceFilter(Class<T> clazz, Predicate<T> filter) {
-        return object -> clazz.isInstance(object) && filter.test(clazz.cast(object));
+    @Override
+    public String toString() {
+        return "(" + regionX + ", " + regionY + ")";
     }
 
-    private static Stream<? extends WorldObject> regionToWorldObjectStream(WorldRegion region) {
-        return region.objects.values().parallelStream();
+    /**
+     * Buckets of objects by kind, so queries only touch the objects of the requested class
+     */
+    private static final class ObjectKind {
+        private static final int PLAYER = 0;
+        private static final int ATTACKABLE = 1;
+        private static final int NPC = 2;
+        private static final int ITEM = 3;
+        private static final int OTHER = 4;
+        private static final int COUNT = 5;
+
+        private static final Class<?>[] KIND_CLASSES = { Player.class, Attackable.class, Npc.class, Item.class };
+
+        private static final ClassValue<Integer> MASKS = new ClassValue<>() {
+            @Override
+            protected Integer computeValue(Class<?> clazz) {
+                if(Player.class.isAssignableFrom(clazz)) {
+                    return 1 << PLAYER;
+                } else if(Attackable.class.isAssignableFrom(clazz)) {
+                    return 1 << ATTACKABLE;
+                } else if(Npc.class.isAssignableFrom(clazz)) {
+                    return 1 << NPC | 1 << ATTACKABLE;
+                } else if(Item.class.isAssignableFrom(clazz)) {
+                    return 1 << ITEM;
+                }
+
+                int mask = 1 << OTHER;
+                for (int kind = 0; kind < KIND_CLASSES.length; kind++) {
+                    if(clazz.isAssignableFrom(KIND_CLASSES[kind])) {
+                        mask |= 1 << kind;
+                    }
+                }
+                return mask;
+            }
+        };
+
+        private static int of(WorldObject object) {
+            if(object instanceof Player) {
+                return PLAYER;
+            } else if(object instanceof Attackable) {
+                return ATTACKABLE;
+            } else if(object instanceof Npc) {
+                return NPC;
+            } else if(object instanceof Item) {
+                return ITEM;
+            }
+            return OTHER;
+        }
+
+        private static int maskOf(Class<?> clazz) {
+            return MASKS.get(clazz);
+        }
     }
 
-    @Override
-    public String toString() {
-        return "(" + regionX + ", " + regionY + ")";
+    private static final class Cell {
+        @SuppressWarnings("unchecked")
+        private final IntMap<WorldObject>[] buckets = new IntMap[ObjectKind.COUNT];
+
+        private boolean contains(int kind, int objectId) {
+            final var bucket = buckets[kind];
+            return nonNull(bucket) && nonNull(bucket.get(objectId));
+        }
+
+        private void put(int kind, WorldObject object) {
+            var bucket = buckets[kind];
+            if(isNull(bucket)) {
+                buckets[kind] = bucket = new CHashIntMap<>();
+            }
+            bucket.put(object.getObjectId(), object);
+        }
+
+        private void remove(int kind, int objectId) {
+            final var bucket = buckets[kind];
+            if(nonNull(bucket)) {
+                bucket.remove(objectId);
+            }
+        }
+
+        private <T extends WorldObject> boolean visit(int kinds, Class<T> clazz, Predicate<T> filter, Predicate<T> visitor) {
+            for (int kind = 0; kind < ObjectKind.COUNT; kind++) {
+                final var bucket = buckets[kind];
+                if((kinds & 1 << kind) == 0 || isNull(bucket) || bucket.isEmpty()) {
+                    continue;
+                }
+
+                for (WorldObject object : bucket.values()) {
+                    if(clazz.isInstance(object)) {
+                        final T casted = clazz.cast(object);
+                        if(filter.test(casted) && !visitor.test(casted)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        }
     }
 
     /**
@@ -18,21 +18,29 @@
  */
 package org.l2j.gameserver.world;
 
+import org.l2j.commons.threading.PriorityThreadFactory;
 import org.l2j.gameserver.model.actor.Creature;
 import org.l2j.gameserver.model.events.EventDispatcher;
 import org.l2j.gameserver.model.events.impl.OnDayNightChange;
 import org.l2j.gameserver.model.skills.CommonSkill;
 import org.l2j.gameserver.network.SystemMessageId;
 import org.l2j.gameserver.network.serverpackets.SystemMessage;
+import org.l2j.gameserver.settings.ServerSettings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static org.l2j.commons.configuration.Configurator.getSettings;
 
 /**
  * World Time controller class.
@@ -49,10 +57,25 @@ public final class WorldTimeController extends Thread {
     private static final int MILLIS_PER_IN_GAME_DAY = (3600000 * 24) / IN_GAME_DAYS_PER_DAY;
     private static final int SECONDS_PER_IN_GAME_DAY = MILLIS_PER_IN_GAME_DAY / 1000;
     private static final int TICKS_PER_IN_GAME_DAY = SECONDS_PER_IN_GAME_DAY * TICKS_PER_SECOND;
+    private static final long NANOS_IN_TICK = TimeUnit.MILLISECONDS.toNanos(MILLIS_IN_TICK);
+    /**
+     * Amount of moving creatures from which the movement is updated in parallel.
+     */
+    private static final int PARALLEL_MOVEMENT_THRESHOLD = 64;
+    private static final int SHARDS_PER_THREAD = 4;
 
     private final Set<Creature> movingObjects = ConcurrentHashMap.newKeySet();
     private final Set<Creature> shadowSenseCharacters = ConcurrentHashMap.newKeySet();
 
+    private final ExecutorService movementExecutor;
+    private final List<List<Creature>> movementShards;
+
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong overrunTicks = new AtomicLong();
+    private volatile long lastTickDuration;
+    private volatile long maxTickDuration;
+    private volatile int lastMovingCount;
+
     private final long referenceTime;
     private volatile boolean shutdown = false;
 
@@ -62,6 +85,15 @@ public final class WorldTimeController extends Thread {
         setPriority(MAX_PRIORITY);
 
         referenceTime = LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        final int threads = getSettings(ServerSettings.class).movementThreadPoolSize();
+        movementExecutor = Executors.newFixedThreadPool(threads, new PriorityThreadFactory("MovementThreadPool", MAX_PRIORITY));
+
+        final int shards = threads * SHARDS_PER_THREAD;
+        movementShards = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            movementShards.add(new ArrayList<>());
+        }
     }
 
     public static void init() {
@@ -118,11 +150,107 @@ public final class WorldTimeController extends Thread {
      * </ul>
      */
     private void moveObjects() {
-        movingObjects.removeIf(Creature::updatePosition);
+        final long start = nanoTime();
+        lastMovingCount = movingObjects.size();
+
+        if(lastMovingCount < PARALLEL_MOVEMENT_THRESHOLD) {
+            movingObjects.removeIf(Creature::updatePosition);
+        } else {
+            moveObjectsInShards();
+        }
+
+        updateTickStatistics(nanoTime() - start);
+    }
+
+    /**
+     * Split the moving creatures by world region, so all creatures of the same region are updated by the same thread,
+     * keeping the region switching of each region ordered. Then the shards are updated in parallel.
+     */
+    private void moveObjectsInShards() {
+        for (Creature creature : movingObjects) {
+            movementShards.get(shardOf(creature)).add(creature);
+        }
+
+        final List<Callable<Void>> tasks = new ArrayList<>(movementShards.size());
+        for (List<Creature> shard : movementShards) {
+            if(!shard.isEmpty()) {
+                tasks.add(() -> moveShard(shard));
+            }
+        }
+
+        try {
+            for (Future<Void> future : movementExecutor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    LOGGER.warn(e.getCause().getLocalizedMessage(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            movementShards.forEach(List::clear);
+        }
+    }
+
+    private Void moveShard(List<Creature> shard) {
+        for (Creature creature : shard) {
+            try {
+                if (creature.updatePosition()) {
+                    movingObjects.remove(creature);
+                }
+            } catch (Exception e) {
+                LOGGER.warn("Error updating position of {}", creature, e);
+            }
+        }
+        return null;
+    }
+
+    private int shardOf(Creature creature) {
+        return (Objects.hashCode(creature.getWorldRegion()) & Integer.MAX_VALUE) % movementShards.size();
+    }
+
+    private void updateTickStatistics(long duration) {
+        ticks.incrementAndGet();
+        lastTickDuration = duration;
+        if(duration > maxTickDuration) {
+            maxTickDuration = duration;
+        }
+
+        if(duration > NANOS_IN_TICK) {
+            overrunTicks.incrementAndGet();
+        }
     }
 
     public final void stopTimer() {
         shutdown = true;
+        movementExecutor.shutdown();
+    }
+
+    public long getTicks() {
+        return ticks.get();
+    }
+
+    public long getOverrunTicks() {
+        return overrunTicks.get();
+    }
+
+    public long getLastTickDuration() {
+        return TimeUnit.NANOSECONDS.toMillis(lastTickDuration);
+    }
+
+    public long getMaxTickDuration() {
+        return TimeUnit.NANOSECONDS.toMillis(maxTickDuration);
+    }
+
+    public CharSequence getStats() {
+        return new StringBuilder("World Time Controller\n")
+                .append("=================================================\n")
+                .append("\tMoving Creatures: ...... ").append(lastMovingCount).append("\n")
+                .append("\tTicks: ................. ").append(getTicks()).append("\n")
+                .append("\tOverrun Ticks: ......... ").append(getOverrunTicks()).append("\n")
+                .append("\tLast Tick Duration: .... ").append(getLastTickDuration()).append(" ms\n")
+                .append("\tMax Tick Duration: ..... ").append(getMaxTickDuration()).append(" ms\n");
     }
 
     @Override